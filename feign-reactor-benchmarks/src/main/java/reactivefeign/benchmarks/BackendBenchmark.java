@@ -0,0 +1,76 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import reactivefeign.ReactiveFeign;
+import reactivefeign.jetty.JettyReactiveFeign;
+import reactivefeign.webclient.WebReactiveFeign;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end Mono and Flux calls against embedded local server for each backend.
+ * Reports throughput and latency percentiles, run with -prof gc for allocation rate.
+ *
+ * @author Sergii Karpenko
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BackendBenchmark {
+
+  @Param({"webclient", "jetty"})
+  private String backend;
+
+  private OrderServer server;
+  private OrderApi client;
+
+  @Setup
+  public void setup() throws Exception {
+    server = new OrderServer().start();
+    client = builder().target(OrderApi.class, server.url());
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    server.stop();
+  }
+
+  private ReactiveFeign.Builder<OrderApi> builder() {
+    switch (backend) {
+      case "webclient":
+        return WebReactiveFeign.builder();
+      case "jetty":
+        return JettyReactiveFeign.builder();
+      default:
+        throw new IllegalArgumentException("Unknown backend: " + backend);
+    }
+  }
+
+  @Benchmark
+  public OrderApi.Order mono() {
+    return client.findOrder(1).block();
+  }
+
+  @Benchmark
+  public List<OrderApi.Order> flux() {
+    return client.findOrders().collectList().block();
+  }
+}
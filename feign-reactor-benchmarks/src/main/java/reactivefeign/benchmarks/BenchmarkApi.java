@@ -0,0 +1,36 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import feign.Headers;
+import feign.Param;
+import feign.RequestLine;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author Sergii Karpenko
+ */
+@Headers({ "Accept: application/json" })
+public interface BenchmarkApi {
+
+  @RequestLine("GET /icecream/orders/{orderId}?flavor={flavor}")
+  @Headers({ "Authorization: Bearer {token}" })
+  Mono<String> findOrder(@Param("orderId") long orderId,
+                         @Param("flavor") String flavor,
+                         @Param("token") String token);
+
+  @RequestLine("GET /icecream/flavors")
+  Flux<String> getAvailableFlavors();
+}
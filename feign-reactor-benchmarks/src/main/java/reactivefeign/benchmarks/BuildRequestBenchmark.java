@@ -0,0 +1,88 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import feign.Contract;
+import feign.MethodMetadata;
+import feign.Target;
+import org.openjdk.jmh.annotations.*;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.methodhandler.PublisherClientMethodHandler;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link PublisherClientMethodHandler#buildRequest(Object[])}:
+ * path, query and headers expansion and request allocation.
+ *
+ * @author Sergii Karpenko
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BuildRequestBenchmark {
+
+  private static final String URL = "http://localhost:8080";
+
+  private RequestBuilder findOrder;
+  private RequestBuilder getAvailableFlavors;
+  private Object[] findOrderArgs;
+
+  @Setup
+  public void setup() {
+    Target<BenchmarkApi> target = new Target.HardCodedTarget<>(BenchmarkApi.class, URL);
+    for (MethodMetadata metadata : new Contract.Default().parseAndValidatateMetadata(BenchmarkApi.class)) {
+      if (metadata.configKey().startsWith("BenchmarkApi#findOrder")) {
+        findOrder = new RequestBuilder(target, metadata);
+      } else {
+        getAvailableFlavors = new RequestBuilder(target, metadata);
+      }
+    }
+    findOrderArgs = new Object[]{12345L, "vanilla", "4b4f2162048b2d8f2950ebd29fd604232bf5b2e4"};
+  }
+
+  @Benchmark
+  public ReactiveHttpRequest buildRequestWithParameters() {
+    return findOrder.buildRequest(findOrderArgs);
+  }
+
+  @Benchmark
+  public ReactiveHttpRequest buildConstantRequest() {
+    return getAvailableFlavors.buildRequest(new Object[0]);
+  }
+
+  @Benchmark
+  public String buildRequestAndUri() {
+    return findOrder.buildRequest(findOrderArgs).uriString();
+  }
+
+  /**
+   * Exposes protected request building of handler
+   */
+  private static class RequestBuilder extends PublisherClientMethodHandler {
+
+    private RequestBuilder(Target target, MethodMetadata methodMetadata) {
+      super(target, methodMetadata, request -> Mono.empty());
+    }
+
+    @Override
+    public ReactiveHttpRequest buildRequest(Object[] argv) {
+      return super.buildRequest(argv);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import feign.Contract;
+import feign.MethodMetadata;
+import feign.Target;
+import org.openjdk.jmh.annotations.*;
+import org.reactivestreams.Publisher;
+import reactivefeign.cloud.CloudReactiveFeign;
+import reactivefeign.cloud.methodhandler.CircuitBreakerMethodHandlerFactory;
+import reactivefeign.cloud.methodhandler.HystrixMethodHandlerFactory;
+import reactivefeign.methodhandler.MethodHandler;
+import reactivefeign.methodhandler.MethodHandlerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of guarding call by Hystrix command (bridged to RxJava 1 and back)
+ * vs Reactor native circuit breaker, over method handler that answers immediately.
+ * Run with -prof gc to see allocations per call.
+ *
+ * @author Sergii Karpenko
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CircuitBreakerBenchmark {
+
+  private static final String URL = "http://localhost:8080";
+  private static final Object[] FIND_ORDER_ARGS = {1L, "vanilla", "token"};
+  private static final Object[] NO_ARGS = {};
+
+  private MethodHandler hystrixMono;
+  private MethodHandler hystrixFlux;
+  private MethodHandler circuitBreakerMono;
+  private MethodHandler circuitBreakerFlux;
+
+  @Setup
+  public void setup() {
+    Target<BenchmarkApi> target = new Target.HardCodedTarget<>(BenchmarkApi.class, URL);
+    List<MethodMetadata> metadata = new Contract.Default().parseAndValidatateMetadata(BenchmarkApi.class);
+    MethodMetadata findOrder = metadata.stream()
+        .filter(md -> md.configKey().startsWith("BenchmarkApi#findOrder")).findFirst().get();
+    MethodMetadata getFlavors = metadata.stream()
+        .filter(md -> md.configKey().startsWith("BenchmarkApi#getAvailableFlavors")).findFirst().get();
+
+    MethodHandlerFactory hystrix = new HystrixMethodHandlerFactory(
+        new NoOpMethodHandlerFactory(), new CloudReactiveFeign.DefaultSetterFactory(), null);
+    MethodHandlerFactory circuitBreaker = new CircuitBreakerMethodHandlerFactory(
+        new NoOpMethodHandlerFactory(), new CloudReactiveFeign.DefaultCircuitBreakerFactory(), null);
+
+    hystrixMono = hystrix.create(target, findOrder);
+    hystrixFlux = hystrix.create(target, getFlavors);
+    circuitBreakerMono = circuitBreaker.create(target, findOrder);
+    circuitBreakerFlux = circuitBreaker.create(target, getFlavors);
+  }
+
+  @Benchmark
+  public Object hystrixMono() throws Throwable {
+    return ((Mono<?>) hystrixMono.invoke(FIND_ORDER_ARGS)).block();
+  }
+
+  @Benchmark
+  public Object circuitBreakerMono() throws Throwable {
+    return ((Mono<?>) circuitBreakerMono.invoke(FIND_ORDER_ARGS)).block();
+  }
+
+  @Benchmark
+  public Object hystrixFlux() throws Throwable {
+    return ((Flux<?>) hystrixFlux.invoke(NO_ARGS)).blockLast();
+  }
+
+  @Benchmark
+  public Object circuitBreakerFlux() throws Throwable {
+    return ((Flux<?>) circuitBreakerFlux.invoke(NO_ARGS)).blockLast();
+  }
+
+  private static class NoOpMethodHandlerFactory implements MethodHandlerFactory {
+
+    private static final Publisher<Object> MONO = Mono.just(NoOpReactiveFeign.BODY);
+    private static final Publisher<Object> FLUX = Flux.just(NoOpReactiveFeign.BODY);
+
+    @Override
+    public MethodHandler create(Target target, MethodMetadata metadata) {
+      Publisher<Object> body = metadata.returnType().getTypeName().startsWith(Flux.class.getName())
+          ? FLUX : MONO;
+      return argv -> body;
+    }
+
+    @Override
+    public MethodHandler createDefault(Method method) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
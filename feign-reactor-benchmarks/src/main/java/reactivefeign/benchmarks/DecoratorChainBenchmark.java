@@ -0,0 +1,87 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import feign.codec.ErrorDecoder;
+import org.openjdk.jmh.annotations.*;
+import reactivefeign.ReactiveRetryers;
+import reactivefeign.client.statushandler.ReactiveStatusHandlers;
+import reactor.core.Scannable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of decorators applied by ReactiveFeign.Builder#buildReactiveClientFactory
+ * over in-memory no-op transport: bare chain (logger, status handler) vs all decorators enabled.
+ * {@code optimizedChain=false} applies every decorator as separate stage as it was before chain
+ * optimization, number of assembled operators per call is printed on setup.
+ * Run with -prof gc to see allocations per call.
+ *
+ * @author Sergii Karpenko
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DecoratorChainBenchmark {
+
+  private static final String URL = "http://localhost:8080";
+  private static final String TOKEN = "4b4f2162048b2d8f2950ebd29fd604232bf5b2e4";
+
+  @Param({"true", "false"})
+  private boolean optimizedChain;
+
+  private BenchmarkApi defaultClient;
+  private BenchmarkApi decoratedClient;
+
+  @Setup
+  public void setup() {
+    defaultClient = NoOpReactiveFeign.<BenchmarkApi>builder(optimizedChain)
+        .target(BenchmarkApi.class, URL);
+
+    decoratedClient = NoOpReactiveFeign.<BenchmarkApi>builder(optimizedChain)
+        .requestInterceptor(request -> request)
+        .responseMapper((metadata, response) -> response)
+        .decode404()
+        .statusHandler(ReactiveStatusHandlers.defaultFeign(new ErrorDecoder.Default()))
+        .retryWhen(ReactiveRetryers.retry(1))
+        .target(BenchmarkApi.class, URL);
+
+    System.out.println("optimizedChain=" + optimizedChain
+        + ", default chain operators: " + operators(defaultClient.findOrder(1, "vanilla", TOKEN))
+        + ", decorated chain operators: " + operators(decoratedClient.findOrder(1, "vanilla", TOKEN)));
+  }
+
+  private static long operators(Mono<String> assembly) {
+    return Scannable.from(assembly).parents().count() + 1;
+  }
+
+  @Benchmark
+  public String defaultChain() {
+    return defaultClient.findOrder(1, "vanilla", TOKEN).block();
+  }
+
+  @Benchmark
+  public String decoratedChain() {
+    return decoratedClient.findOrder(1, "vanilla", TOKEN).block();
+  }
+
+  @Benchmark
+  public Mono<String> decoratedChainAssembly() {
+    return decoratedClient.findOrder(1, "vanilla", TOKEN);
+  }
+}
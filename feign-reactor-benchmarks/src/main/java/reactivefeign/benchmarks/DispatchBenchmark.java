@@ -0,0 +1,83 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link java.lang.reflect.Proxy} based dispatch with client generated at runtime
+ * and client generated at compile time over in-memory no-op transport.
+ *
+ * @author Sergii Karpenko
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatchBenchmark {
+
+  private static final String URL = "http://localhost:8080";
+  private static final String TOKEN = "4b4f2162048b2d8f2950ebd29fd604232bf5b2e4";
+
+  private BenchmarkApi proxyClient;
+  private BenchmarkApi generatedClient;
+  private BenchmarkApi compiledClient;
+
+  @Setup
+  public void setup() {
+    proxyClient = NoOpReactiveFeign.<BenchmarkApi>builder()
+        .target(BenchmarkApi.class, URL);
+    generatedClient = NoOpReactiveFeign.<BenchmarkApi>builder()
+        .enableGeneratedDispatch()
+        .target(BenchmarkApi.class, URL);
+    compiledClient = NoOpReactiveFeign.<BenchmarkApi>builder()
+        .enableGeneratedClients()
+        .target(BenchmarkApi.class, URL);
+  }
+
+  @Benchmark
+  public Mono<String> proxyDispatch() {
+    return proxyClient.findOrder(1, "vanilla", TOKEN);
+  }
+
+  @Benchmark
+  public Mono<String> generatedDispatch() {
+    return generatedClient.findOrder(1, "vanilla", TOKEN);
+  }
+
+  @Benchmark
+  public Mono<String> compiledDispatch() {
+    return compiledClient.findOrder(1, "vanilla", TOKEN);
+  }
+
+  @Benchmark
+  public String proxyCall() {
+    return proxyClient.findOrder(1, "vanilla", TOKEN).block();
+  }
+
+  @Benchmark
+  public String generatedCall() {
+    return generatedClient.findOrder(1, "vanilla", TOKEN).block();
+  }
+
+  @Benchmark
+  public String compiledCall() {
+    return compiledClient.findOrder(1, "vanilla", TOKEN).block();
+  }
+}
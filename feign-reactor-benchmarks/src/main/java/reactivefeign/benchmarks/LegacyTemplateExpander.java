@@ -0,0 +1,64 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Lambda based template expander as it was implemented in PublisherClientMethodHandler
+ * before templates were compiled. Kept as a baseline for benchmarks.
+ *
+ * @author Sergii Karpenko
+ */
+class LegacyTemplateExpander {
+
+  private static final Pattern PATTERN = Pattern.compile("\\{([^}]+)\\}");
+
+  static Function<Map<String, ?>, String> buildExpandFunction(String template) {
+    List<Function<Map<String, ?>, String>> chunks = new ArrayList<>();
+    Matcher matcher = PATTERN.matcher(template);
+    int previousMatchEnd = 0;
+    while (matcher.find()) {
+      String textChunk = template.substring(previousMatchEnd, matcher.start());
+      if (textChunk.length() > 0) {
+        chunks.add(data -> textChunk);
+      }
+
+      String substitute = matcher.group(1);
+      chunks.add(data -> {
+        Object substitution = data.get(substitute);
+        if (substitution != null) {
+          return substitution.toString();
+        } else {
+          return substitute;
+        }
+      });
+      previousMatchEnd = matcher.end();
+    }
+
+    String textChunk = template.substring(previousMatchEnd, template.length());
+    if (textChunk.length() > 0) {
+      chunks.add(data -> textChunk);
+    }
+
+    return traceData -> chunks.stream().map(chunk -> chunk.apply(traceData))
+        .collect(Collectors.joining());
+  }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import org.reactivestreams.Publisher;
+import reactivefeign.ReactiveFeign;
+import reactivefeign.ReactiveOptions;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static reactivefeign.utils.FeignUtils.returnPublisherType;
+
+/**
+ * In-memory transport that answers every request with same body without any I/O.
+ * Allows to measure overhead of reactive feign itself.
+ *
+ * @author Sergii Karpenko
+ */
+public class NoOpReactiveFeign {
+
+  public static final String BODY = "vanilla";
+
+  public static <T> ReactiveFeign.Builder<T> builder() {
+    return builder(true);
+  }
+
+  /**
+   * @param optimizeDecoratorChain if false every decorator is applied as separate stage
+   */
+  public static <T> ReactiveFeign.Builder<T> builder(boolean optimizeDecoratorChain) {
+    return new ReactiveFeign.Builder<T>(){
+
+      {
+        this.optimizeDecoratorChain = optimizeDecoratorChain;
+        clientFactory(methodMetadata -> {
+          ReactiveHttpResponse response = new NoOpReactiveHttpResponse(
+              returnPublisherType(methodMetadata) == Flux.class);
+          Mono<ReactiveHttpResponse> responseMono = Mono.just(response);
+          return request -> responseMono;
+        });
+      }
+
+      @Override
+      public ReactiveFeign.Builder<T> options(ReactiveOptions options) {
+        return this;
+      }
+    };
+  }
+
+  private static class NoOpReactiveHttpResponse implements ReactiveHttpResponse {
+
+    private final Publisher<?> body;
+
+    private NoOpReactiveHttpResponse(boolean flux) {
+      this.body = flux ? Flux.just(BODY) : Mono.just(BODY);
+    }
+
+    @Override
+    public int status() {
+      return 200;
+    }
+
+    @Override
+    public Map<String, List<String>> headers() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public Publisher<?> body() {
+      return body;
+    }
+
+    @Override
+    public Mono<byte[]> bodyData() {
+      return Mono.empty();
+    }
+  }
+}
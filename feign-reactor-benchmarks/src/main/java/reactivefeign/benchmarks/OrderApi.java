@@ -0,0 +1,60 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import feign.Param;
+import feign.RequestLine;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * @author Sergii Karpenko
+ */
+public interface OrderApi {
+
+  @RequestLine("GET /orders/{orderId}")
+  Mono<Order> findOrder(@Param("orderId") long orderId);
+
+  @RequestLine("GET /orders")
+  Flux<Order> findOrders();
+
+  class Order {
+    private long id;
+    private String flavor;
+
+    public Order() {
+    }
+
+    public Order(long id, String flavor) {
+      this.id = id;
+      this.flavor = flavor;
+    }
+
+    public long getId() {
+      return id;
+    }
+
+    public void setId(long id) {
+      this.id = id;
+    }
+
+    public String getFlavor() {
+      return flavor;
+    }
+
+    public void setFlavor(String flavor) {
+      this.flavor = flavor;
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Embedded server answering {@link OrderApi} requests with pre-rendered json,
+ * so benchmark measures client side only.
+ *
+ * @author Sergii Karpenko
+ */
+public class OrderServer {
+
+  private static final int FLUX_SIZE = 10;
+
+  private static final byte[] ORDER = order(1).getBytes(StandardCharsets.UTF_8);
+  private static final byte[] ORDERS = orders().getBytes(StandardCharsets.UTF_8);
+
+  private final Server server = new Server(0);
+
+  public OrderServer() {
+    server.setHandler(new AbstractHandler() {
+      @Override
+      public void handle(String target, Request baseRequest,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] body = target.equals("/orders") ? ORDERS : ORDER;
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/json");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        baseRequest.setHandled(true);
+      }
+    });
+  }
+
+  public OrderServer start() throws Exception {
+    server.start();
+    return this;
+  }
+
+  public void stop() throws Exception {
+    server.stop();
+  }
+
+  public String url() {
+    return "http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+  }
+
+  private static String order(long id) {
+    return "{\"id\":" + id + ",\"flavor\":\"vanilla\"}";
+  }
+
+  private static String orders() {
+    StringBuilder orders = new StringBuilder("[");
+    for (int i = 1; i <= FLUX_SIZE; i++) {
+      if (i > 1) {
+        orders.append(',');
+      }
+      orders.append(order(i));
+    }
+    return orders.append(']').toString();
+  }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first request of new client in fresh JVM: contract parsed by reflection
+ * and {@link java.lang.reflect.Proxy} vs metadata and client generated at compile time.
+ * Every fork measures single cold invocation, so run with many forks.
+ *
+ * @author Sergii Karpenko
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, batchSize = 1)
+@Fork(20)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+  private static final String URL = "http://localhost:8080";
+  private static final String TOKEN = "4b4f2162048b2d8f2950ebd29fd604232bf5b2e4";
+
+  @Benchmark
+  public String reflectionFirstRequest() {
+    return NoOpReactiveFeign.<BenchmarkApi>builder()
+        .target(BenchmarkApi.class, URL)
+        .findOrder(1, "vanilla", TOKEN).block();
+  }
+
+  @Benchmark
+  public String generatedFirstRequest() {
+    return NoOpReactiveFeign.<BenchmarkApi>builder()
+        .enableGeneratedClients()
+        .target(BenchmarkApi.class, URL)
+        .findOrder(1, "vanilla", TOKEN).block();
+  }
+}
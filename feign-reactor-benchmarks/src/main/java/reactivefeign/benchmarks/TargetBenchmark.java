@@ -0,0 +1,60 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import reactivefeign.CompiledInterface;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of creating client for new target: full builder run vs binding of compiled interface.
+ * Run with -prof gc to compare allocation per client.
+ *
+ * @author Sergii Karpenko
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TargetBenchmark {
+
+  private static final String URL = "http://localhost:";
+
+  private CompiledInterface<BenchmarkApi> compiledInterface;
+  private int port;
+
+  @Setup
+  public void setup() {
+    compiledInterface = NoOpReactiveFeign.<BenchmarkApi>builder()
+        .compile(BenchmarkApi.class);
+  }
+
+  @Benchmark
+  public BenchmarkApi builderTarget() {
+    return NoOpReactiveFeign.<BenchmarkApi>builder()
+        .target(BenchmarkApi.class, URL + nextPort());
+  }
+
+  @Benchmark
+  public BenchmarkApi compiledTarget() {
+    return compiledInterface.target(URL + nextPort());
+  }
+
+  private int nextPort() {
+    return 1024 + (port++ & 0x3fff);
+  }
+}
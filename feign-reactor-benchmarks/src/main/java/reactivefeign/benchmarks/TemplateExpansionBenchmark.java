@@ -0,0 +1,102 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import reactivefeign.template.CompiledTemplate;
+import reactivefeign.template.UriEncoding;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Compares lambda based template expansion over per call substitutions map
+ * with {@link CompiledTemplate} bound to argument indexes.
+ *
+ * @author Sergii Karpenko
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateExpansionBenchmark {
+
+  private static final String PATH = "/icecream/orders/{orderId}/items/{itemId}";
+  private static final String HEADER = "Bearer {token}";
+
+  private Object[] argv;
+  private Map<Integer, Collection<String>> indexToName;
+
+  private Function<Map<String, ?>, String> legacyPath;
+  private Function<Map<String, ?>, String> legacyHeader;
+
+  private CompiledTemplate compiledPath;
+  private CompiledTemplate compiledHeader;
+
+  @Setup
+  public void setup() {
+    argv = new Object[]{12345L, "vanilla", "4b4f2162048b2d8f2950ebd29fd604232bf5b2e4"};
+
+    indexToName = new HashMap<>();
+    indexToName.put(0, singletonList("orderId"));
+    indexToName.put(1, singletonList("itemId"));
+    indexToName.put(2, singletonList("token"));
+
+    Map<String, Integer> argIndexes = new HashMap<>();
+    indexToName.forEach((index, names) -> names.forEach(name -> argIndexes.put(name, index)));
+
+    legacyPath = LegacyTemplateExpander.buildExpandFunction(PATH);
+    legacyHeader = LegacyTemplateExpander.buildExpandFunction(HEADER);
+
+    compiledPath = CompiledTemplate.compile(PATH, argIndexes, UriEncoding.PATH);
+    compiledHeader = CompiledTemplate.compile(HEADER, argIndexes, UriEncoding.NONE);
+  }
+
+  private Map<String, ?> substitutions() {
+    return indexToName.entrySet().stream()
+        .flatMap(e -> e.getValue().stream()
+            .map(v -> new AbstractMap.SimpleImmutableEntry<>(e.getKey(), v)))
+        .collect(Collectors.toMap(Map.Entry::getValue,
+            entry -> argv[entry.getKey()]));
+  }
+
+  @Benchmark
+  public String legacyPath() {
+    return legacyPath.apply(substitutions());
+  }
+
+  @Benchmark
+  public String compiledPath() {
+    return compiledPath.expand(argv);
+  }
+
+  @Benchmark
+  public String legacyHeader() {
+    return legacyHeader.apply(substitutions());
+  }
+
+  @Benchmark
+  public String compiledHeader() {
+    return compiledHeader.expand(argv);
+  }
+}
@@ -5,6 +5,7 @@ import com.netflix.client.RetryHandler;
 import com.netflix.hystrix.HystrixCommandGroupKey;
 import com.netflix.hystrix.HystrixCommandKey;
 import com.netflix.hystrix.HystrixObservableCommand;
+import com.netflix.loadbalancer.ILoadBalancer;
 import com.netflix.loadbalancer.reactive.LoadBalancerCommand;
 import feign.Contract;
 import feign.InvocationHandlerFactory;
@@ -19,23 +20,32 @@ import reactivefeign.ReactiveRetryPolicy;
 import reactivefeign.client.ReactiveHttpRequestInterceptor;
 import reactivefeign.client.ReactiveHttpResponse;
 import reactivefeign.client.statushandler.ReactiveStatusHandler;
+import reactivefeign.cloud.circuitbreaker.CircuitBreaker;
+import reactivefeign.cloud.loadbalancer.P2cLoadBalancer;
+import reactivefeign.cloud.loadbalancer.ServerListSupplier;
+import reactivefeign.cloud.methodhandler.CircuitBreakerMethodHandlerFactory;
 import reactivefeign.cloud.methodhandler.HystrixMethodHandlerFactory;
+import reactivefeign.cloud.publisher.LoadBalancerPublisherClient;
 import reactivefeign.cloud.publisher.RibbonPublisherClient;
+import reactivefeign.cloud.publisher.ServicePublisherClient;
+import reactivefeign.metrics.MethodMetrics;
 import reactivefeign.methodhandler.MethodHandlerFactory;
 import reactivefeign.publisher.PublisherClientFactory;
 import reactivefeign.publisher.PublisherHttpClient;
 import reactivefeign.webclient.WebReactiveFeign;
 
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static feign.Util.checkNotNull;
 import static reactivefeign.utils.FeignUtils.returnPublisherType;
 
 /**
- * Allows to specify ribbon {@link LoadBalancerCommand}
- * and HystrixObservableCommand.Setter with fallback factory.
+ * Allows to specify ribbon {@link LoadBalancerCommand} or Reactor native {@link P2cLoadBalancer}
+ * and HystrixObservableCommand.Setter or {@link CircuitBreaker} with fallback factory.
  *
  * @author Sergii Karpenko
  */
@@ -59,8 +69,11 @@ public class CloudReactiveFeign extends ReactiveFeign {
 
         private boolean hystrixEnabled = true;
         private SetterFactory commandSetterFactory = new DefaultSetterFactory();
+        private CircuitBreakerFactory circuitBreakerFactory;
         private Function<Throwable, ? extends T> fallbackFactory;
         private Function<String, LoadBalancerCommand<Object>> loadBalancerCommandFactory = s -> null;
+        private Function<String, ILoadBalancer> loadBalancerFactory = s -> null;
+        private Function<String, ServerListSupplier> serverListSupplierFactory;
 
         protected Builder() {
             super();
@@ -79,6 +92,23 @@ public class CloudReactiveFeign extends ReactiveFeign {
             return this;
         }
 
+        /**
+         * Guards methods by Reactor native {@link CircuitBreaker} instead of Hystrix command.
+         */
+        public Builder<T> enableCircuitBreaker() {
+            return enableCircuitBreaker(new DefaultCircuitBreakerFactory());
+        }
+
+        /**
+         * Guards methods by Reactor native {@link CircuitBreaker} instead of Hystrix command.
+         *
+         * @param circuitBreakerFactory asked for circuit breaker of every method of target
+         */
+        public Builder<T> enableCircuitBreaker(CircuitBreakerFactory circuitBreakerFactory) {
+            this.circuitBreakerFactory = checkNotNull(circuitBreakerFactory, "circuitBreakerFactory must not be null");
+            return this;
+        }
+
         public Builder<T> setFallback(T fallback) {
             return setFallbackFactory(throwable -> fallback);
         }
@@ -89,10 +119,12 @@ public class CloudReactiveFeign extends ReactiveFeign {
         }
 
         public Builder<T> enableLoadBalancer(){
-            return setLoadBalancerCommandFactory(serviceName ->
+            setLoadBalancerCommandFactory(serviceName ->
                     LoadBalancerCommand.builder()
                             .withLoadBalancer(ClientFactory.getNamedLoadBalancer(serviceName))
                             .build());
+            this.loadBalancerFactory = ClientFactory::getNamedLoadBalancer;
+            return this;
         }
 
         public Builder<T> enableLoadBalancer(RetryHandler retryHandler){
@@ -100,48 +132,93 @@ public class CloudReactiveFeign extends ReactiveFeign {
                 logger.warn("Use retryWhen(ReactiveRetryPolicy retryPolicy) " +
                         "as it allow to configure retry delays (backoff)");
             }
-            return setLoadBalancerCommandFactory(serviceName ->
+            setLoadBalancerCommandFactory(serviceName ->
                     LoadBalancerCommand.builder()
                     .withLoadBalancer(ClientFactory.getNamedLoadBalancer(serviceName))
                     .withRetryHandler(retryHandler)
                     .build());
+            this.loadBalancerFactory = ClientFactory::getNamedLoadBalancer;
+            return this;
         }
 
 
         public Builder<T> setLoadBalancerCommandFactory(
                 Function<String, LoadBalancerCommand<Object>> loadBalancerCommandFactory) {
             this.loadBalancerCommandFactory = loadBalancerCommandFactory;
+            // load balancer of custom command is unknown, so server uris are not pruned
+            this.loadBalancerFactory = s -> null;
+            return this;
+        }
+
+        /**
+         * Balances requests by Reactor native {@link P2cLoadBalancer} instead of ribbon.
+         * Servers are picked by power of two choices over requests in flight and latency EWMA,
+         * stats are shared by all methods of service.
+         *
+         * @param serverListSupplierFactory asked for servers of service name of target
+         */
+        public Builder<T> enableReactiveLoadBalancer(
+                Function<String, ServerListSupplier> serverListSupplierFactory) {
+            this.serverListSupplierFactory = checkNotNull(serverListSupplierFactory,
+                    "serverListSupplierFactory must not be null");
             return this;
         }
 
         @Override
         protected MethodHandlerFactory buildReactiveMethodHandlerFactory() {
             MethodHandlerFactory methodHandlerFactory = super.buildReactiveMethodHandlerFactory();
+            if (circuitBreakerFactory != null) {
+                return new CircuitBreakerMethodHandlerFactory(
+                        methodHandlerFactory,
+                        circuitBreakerFactory,
+                        (Function<Throwable, Object>) fallbackFactory,
+                        this::methodMetrics);
+            }
             return hystrixEnabled
                     ? new HystrixMethodHandlerFactory(
 					methodHandlerFactory,
                     commandSetterFactory,
-                    (Function<Throwable, Object>) fallbackFactory)
+                    (Function<Throwable, Object>) fallbackFactory,
+                    this::methodMetrics)
                     : methodHandlerFactory;
         }
 
+        /**
+         * Load balancer is resolved by service name that is host of target url,
+         * so compiled interface binds it to each target separately.
+         */
         @Override
         protected PublisherClientFactory buildReactiveClientFactory() {
             PublisherClientFactory publisherClientFactory = super.buildReactiveClientFactory();
+            Function<String, ServerListSupplier> serverListSupplierFactory = this.serverListSupplierFactory;
+            Function<String, LoadBalancerCommand<Object>> loadBalancerCommandFactory = this.loadBalancerCommandFactory;
+            Function<String, ILoadBalancer> loadBalancerFactory = this.loadBalancerFactory;
+            // stats of reactive load balancer are shared by all methods of service
+            ConcurrentMap<String, P2cLoadBalancer> loadBalancers = new ConcurrentHashMap<>();
             return methodMetadata -> {
                 PublisherHttpClient publisherClient = publisherClientFactory.apply(methodMetadata);
-                String serviceName = extractServiceName(target.url());
-                return new RibbonPublisherClient(loadBalancerCommandFactory.apply(serviceName),
-                        publisherClient, returnPublisherType(methodMetadata));
+                Type publisherType = returnPublisherType(methodMetadata);
+                MethodMetrics methodMetrics = methodMetrics(methodMetadata);
+                return new ServicePublisherClient(serviceName -> super.decorateCall(
+                        serverListSupplierFactory != null
+                                ? new LoadBalancerPublisherClient(
+                                loadBalancers.computeIfAbsent(serviceName,
+                                        name -> new P2cLoadBalancer(serverListSupplierFactory.apply(name))),
+                                publisherClient, publisherType, methodMetrics)
+                                : new RibbonPublisherClient(loadBalancerCommandFactory.apply(serviceName),
+                                loadBalancerFactory.apply(serviceName),
+                                publisherClient, publisherType, methodMetrics),
+                        methodMetadata));
             };
         }
 
-        private String extractServiceName(String url){
-            try {
-                return new URI(url).getHost();
-            } catch (URISyntaxException e) {
-                throw new IllegalArgumentException("Can't extract service name from url", e);
-            }
+        /**
+         * Call decorators are applied on top of load balancer, so backup request goes to other server
+         * and call timeout covers requests to all servers.
+         */
+        @Override
+        protected PublisherHttpClient decorateCall(PublisherHttpClient publisherClient, MethodMetadata methodMetadata) {
+            return publisherClient;
         }
 
         @Override
@@ -192,6 +269,17 @@ public class CloudReactiveFeign extends ReactiveFeign {
         HystrixObservableCommand.Setter create(Target<?> target, MethodMetadata methodMetadata);
     }
 
+    public interface CircuitBreakerFactory {
+        CircuitBreaker create(Target<?> target, MethodMetadata methodMetadata);
+    }
+
+    public static class DefaultCircuitBreakerFactory implements CircuitBreakerFactory {
+        @Override
+        public CircuitBreaker create(Target<?> target, MethodMetadata methodMetadata) {
+            return new CircuitBreaker(methodMetadata.configKey());
+        }
+    }
+
     public static class DefaultSetterFactory implements SetterFactory {
         @Override
         public HystrixObservableCommand.Setter create(Target<?> target, MethodMetadata methodMetadata) {
@@ -0,0 +1,308 @@
+package reactivefeign.cloud.circuitbreaker;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Lock-free circuit breaker that decorates {@link Mono} and {@link Flux} directly.
+ * <ul>
+ *   <li>CLOSED: outcomes of last ringBufferSize calls are kept in ring buffer,
+ *   breaker opens when at least minimumCalls are recorded and failure rate reaches threshold</li>
+ *   <li>OPEN: calls are rejected with {@link CircuitBreakerOpenException} till wait duration passes</li>
+ *   <li>HALF_OPEN: halfOpenCalls probe calls are let through, breaker closes when all of them succeed
+ *   and opens again on first failure</li>
+ * </ul>
+ * Every state is separate object switched by CAS, so outcome of call is recorded by state that admitted it
+ * and late outcomes of calls admitted by previous state are ignored.
+ * Call that is cancelled is not recorded.
+ * Outcome is recorded before terminal signal goes downstream, so caller that got result sees state updated by it.
+ *
+ * @author Sergii Karpenko
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int SUCCESS = 1;
+    private static final int FAILURE = 2;
+
+    private final String name;
+    private final float failureRateThreshold;
+    private final int ringBufferSize;
+    private final int minimumCalls;
+    private final long waitInOpenNanos;
+    private final int halfOpenCalls;
+
+    private final AtomicReference<StateHolder> state;
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Opens on 50% of failures among last 100 calls (at least 20), probes with 5 calls after 10 seconds
+     */
+    public CircuitBreaker(String name) {
+        this(name, 50, 100, 20, Duration.ofSeconds(10), 5);
+    }
+
+    /**
+     * @param failureRateThreshold percent of failed calls that opens breaker
+     * @param ringBufferSize number of last calls failure rate is calculated on
+     * @param minimumCalls calls to be recorded before failure rate is checked
+     * @param waitInOpenState time to reject calls before probing
+     * @param halfOpenCalls number of successful probe calls that close breaker
+     */
+    public CircuitBreaker(String name, float failureRateThreshold, int ringBufferSize, int minimumCalls,
+                          Duration waitInOpenState, int halfOpenCalls) {
+        if (failureRateThreshold <= 0 || failureRateThreshold > 100) {
+            throw new IllegalArgumentException("failureRateThreshold should be in (0, 100]: " + failureRateThreshold);
+        }
+        if (ringBufferSize <= 0 || minimumCalls <= 0 || minimumCalls > ringBufferSize) {
+            throw new IllegalArgumentException("Should be 0 < minimumCalls <= ringBufferSize");
+        }
+        if (halfOpenCalls <= 0) {
+            throw new IllegalArgumentException("halfOpenCalls should be positive: " + halfOpenCalls);
+        }
+        this.name = checkNotNull(name, "name must not be null");
+        this.failureRateThreshold = failureRateThreshold;
+        this.ringBufferSize = ringBufferSize;
+        this.minimumCalls = minimumCalls;
+        this.waitInOpenNanos = checkNotNull(waitInOpenState, "waitInOpenState must not be null").toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.state = new AtomicReference<>(new Closed());
+    }
+
+    public <T> Mono<T> decorate(Mono<T> call) {
+        return Mono.defer(() -> {
+            StateHolder admitted = acquire();
+            if (admitted == null) {
+                return Mono.error(new CircuitBreakerOpenException(name));
+            }
+            Outcome outcome = new Outcome(admitted);
+            return call
+                    .doOnSuccess(result -> outcome.success())
+                    .doOnError(error -> outcome.failure())
+                    .doOnCancel(outcome::cancel);
+        });
+    }
+
+    public <T> Flux<T> decorate(Flux<T> call) {
+        return Flux.defer(() -> {
+            StateHolder admitted = acquire();
+            if (admitted == null) {
+                return Flux.error(new CircuitBreakerOpenException(name));
+            }
+            Outcome outcome = new Outcome(admitted);
+            return call
+                    .doOnComplete(outcome::success)
+                    .doOnError(error -> outcome.failure())
+                    .doOnCancel(outcome::cancel);
+        });
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public State state() {
+        return state.get().state();
+    }
+
+    /**
+     * @return percent of failed calls in ring buffer of closed breaker, -1 if not enough calls recorded
+     */
+    public float failureRate() {
+        StateHolder current = state.get();
+        return current instanceof Closed ? ((Closed) current).failureRate() : -1;
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    private StateHolder acquire() {
+        for (;;) {
+            StateHolder current = state.get();
+            if (current.tryAcquire()) {
+                return current;
+            }
+            if (!(current instanceof Open) || !((Open) current).waitPassed()) {
+                rejected.increment();
+                return null;
+            }
+            state.compareAndSet(current, new HalfOpen());
+        }
+    }
+
+    private void transition(StateHolder from, StateHolder to) {
+        state.compareAndSet(from, to);
+    }
+
+    private abstract class StateHolder {
+
+        abstract State state();
+
+        abstract boolean tryAcquire();
+
+        abstract void onSuccess();
+
+        abstract void onFailure();
+
+        void onCancel() {
+        }
+    }
+
+    /**
+     * Outcome of single admitted call, recorded once as cancel may follow value of {@link Mono}
+     */
+    private static final class Outcome {
+
+        private final StateHolder admitted;
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private Outcome(StateHolder admitted) {
+            this.admitted = admitted;
+        }
+
+        void success() {
+            if (recorded.compareAndSet(false, true)) {
+                admitted.onSuccess();
+            }
+        }
+
+        void failure() {
+            if (recorded.compareAndSet(false, true)) {
+                admitted.onFailure();
+            }
+        }
+
+        void cancel() {
+            if (recorded.compareAndSet(false, true)) {
+                admitted.onCancel();
+            }
+        }
+    }
+
+    private class Closed extends StateHolder {
+
+        private final AtomicIntegerArray ring = new AtomicIntegerArray(ringBufferSize);
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        State state() {
+            return State.CLOSED;
+        }
+
+        @Override
+        boolean tryAcquire() {
+            return true;
+        }
+
+        @Override
+        void onSuccess() {
+            record(false);
+        }
+
+        @Override
+        void onFailure() {
+            record(true);
+        }
+
+        private void record(boolean failure) {
+            long callNo = calls.getAndIncrement();
+            int previous = ring.getAndSet((int) (callNo % ringBufferSize), failure ? FAILURE : SUCCESS);
+            int delta = (failure ? 1 : 0) - (previous == FAILURE ? 1 : 0);
+            int failed = delta != 0 ? failures.addAndGet(delta) : failures.get();
+
+            long recorded = Math.min(callNo + 1, ringBufferSize);
+            if (failure && recorded >= minimumCalls && failed * 100f >= failureRateThreshold * recorded) {
+                transition(this, new Open());
+            }
+        }
+
+        float failureRate() {
+            long recorded = Math.min(calls.get(), ringBufferSize);
+            return recorded >= minimumCalls ? failures.get() * 100f / recorded : -1;
+        }
+    }
+
+    private class Open extends StateHolder {
+
+        private final long openedAt = System.nanoTime();
+
+        @Override
+        State state() {
+            return State.OPEN;
+        }
+
+        @Override
+        boolean tryAcquire() {
+            return false;
+        }
+
+        boolean waitPassed() {
+            return System.nanoTime() - openedAt >= waitInOpenNanos;
+        }
+
+        @Override
+        void onSuccess() {
+        }
+
+        @Override
+        void onFailure() {
+        }
+    }
+
+    private class HalfOpen extends StateHolder {
+
+        private final AtomicInteger permits = new AtomicInteger(halfOpenCalls);
+        private final AtomicInteger successes = new AtomicInteger();
+
+        @Override
+        State state() {
+            return State.HALF_OPEN;
+        }
+
+        @Override
+        boolean tryAcquire() {
+            for (;;) {
+                int available = permits.get();
+                if (available <= 0) {
+                    return false;
+                }
+                if (permits.compareAndSet(available, available - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        void onSuccess() {
+            if (successes.incrementAndGet() >= halfOpenCalls) {
+                transition(this, new Closed());
+            }
+        }
+
+        @Override
+        void onFailure() {
+            transition(this, new Open());
+        }
+
+        @Override
+        void onCancel() {
+            // probe didn't tell anything, so another call may probe instead
+            permits.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package reactivefeign.cloud.circuitbreaker;
+
+/**
+ * Call was rejected as {@link CircuitBreaker} is open or all its half-open probes are taken.
+ *
+ * @author Sergii Karpenko
+ */
+public class CircuitBreakerOpenException extends RuntimeException {
+
+    public CircuitBreakerOpenException(String circuitBreakerName) {
+        // rejections are expected while breaker is open, so stack trace is not filled
+        super("Circuit breaker is open: " + circuitBreakerName, null, false, false);
+    }
+}
@@ -0,0 +1,73 @@
+package reactivefeign.cloud.loadbalancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static feign.Util.checkNotNull;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Reads servers from file, one "host:port" per line. Blank lines and lines starting with '#' are skipped.
+ * File is reloaded if its modification time changed, checked at most once per check interval.
+ * If file can't be read previous servers are kept.
+ *
+ * @author Sergii Karpenko
+ */
+public class FileServerListSupplier implements ServerListSupplier {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileServerListSupplier.class);
+
+    private final Path file;
+    private final long checkIntervalNanos;
+
+    private volatile List<ServerInstance> servers;
+    private volatile long lastModified;
+    private volatile long nextCheck;
+
+    public FileServerListSupplier(Path file, Duration checkInterval) {
+        this.file = checkNotNull(file, "file must not be null");
+        this.checkIntervalNanos = checkNotNull(checkInterval, "checkInterval must not be null").toNanos();
+        try {
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't read servers from " + file, e);
+        }
+    }
+
+    @Override
+    public List<ServerInstance> servers() {
+        long now = System.nanoTime();
+        if (now - nextCheck >= 0) {
+            // concurrent checks are harmless, they read the same file
+            nextCheck = now + checkIntervalNanos;
+            try {
+                if (Files.getLastModifiedTime(file).toMillis() != lastModified) {
+                    load();
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Can't reload servers from {}, keeping previous ones", file, e);
+            }
+        }
+        return servers;
+    }
+
+    private void load() throws IOException {
+        long modified = Files.getLastModifiedTime(file).toMillis();
+        List<ServerInstance> loaded = Files.readAllLines(file).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(ServerInstance::parse)
+                .collect(toList());
+        servers = Collections.unmodifiableList(loaded);
+        lastModified = modified;
+        nextCheck = System.nanoTime() + checkIntervalNanos;
+    }
+}
@@ -0,0 +1,13 @@
+package reactivefeign.cloud.loadbalancer;
+
+/**
+ * Server list of service is empty.
+ *
+ * @author Sergii Karpenko
+ */
+public class NoAvailableServerException extends RuntimeException {
+
+    public NoAvailableServerException() {
+        super("Load balancer has no available server", null, false, false);
+    }
+}
@@ -0,0 +1,116 @@
+package reactivefeign.cloud.loadbalancer;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Power of two choices: picks two random servers and sends request to the one with lower cost,
+ * cost is latency EWMA multiplied by requests in flight + 1.
+ * Unlike round robin it moves load away from slow and overloaded servers,
+ * and unlike picking least loaded of all servers it doesn't herd all clients to the same one.
+ * <p>
+ * Stats are kept per server and should be shared by all methods of target.
+ * Stats of servers that are no longer returned by supplier are dropped.
+ *
+ * @author Sergii Karpenko
+ */
+public class P2cLoadBalancer {
+
+    private final ServerListSupplier serverListSupplier;
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentMap<ServerInstance, ServerStats> stats = new ConcurrentHashMap<>();
+    private volatile List<ServerInstance> lastServers;
+
+    /**
+     * Latency decays in 10 seconds, failure counts as 1 second response
+     */
+    public P2cLoadBalancer(ServerListSupplier serverListSupplier) {
+        this(serverListSupplier, Duration.ofSeconds(10), Duration.ofSeconds(1));
+    }
+
+    /**
+     * @param decayTime time constant of latency EWMA, older samples weigh less
+     * @param failurePenalty min latency sample of failed request, so fast failing server is not preferred
+     */
+    public P2cLoadBalancer(ServerListSupplier serverListSupplier, Duration decayTime, Duration failurePenalty) {
+        this(serverListSupplier, decayTime, failurePenalty, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock source of time in nanos, {@link System#nanoTime()} by default
+     */
+    public P2cLoadBalancer(ServerListSupplier serverListSupplier, Duration decayTime, Duration failurePenalty,
+                           LongSupplier nanoClock) {
+        this.nanoClock = checkNotNull(nanoClock, "nanoClock must not be null");
+        this.serverListSupplier = checkNotNull(serverListSupplier, "serverListSupplier must not be null");
+        this.decayNanos = checkNotNull(decayTime, "decayTime must not be null").toNanos();
+        this.failurePenaltyNanos = checkNotNull(failurePenalty, "failurePenalty must not be null").toNanos();
+        if (decayNanos <= 0) {
+            throw new IllegalArgumentException("decayTime should be positive: " + decayTime);
+        }
+    }
+
+    /**
+     * @return stats of chosen server to report request to
+     * @throws NoAvailableServerException if server list is empty
+     */
+    public ServerStats choose() {
+        List<ServerInstance> servers = serverListSupplier.servers();
+        int size = servers.size();
+        if (size == 0) {
+            throw new NoAvailableServerException();
+        }
+        if (servers != lastServers) {
+            lastServers = servers;
+            stats.keySet().retainAll(new HashSet<>(servers));
+        }
+        if (size == 1) {
+            return stats(servers.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServerStats firstStats = stats(servers.get(first));
+        ServerStats secondStats = stats(servers.get(second));
+        long now = nanoClock.getAsLong();
+        return firstStats.cost(now) <= secondStats.cost(now) ? firstStats : secondStats;
+    }
+
+    /**
+     * @return servers last choice was made from, same instance till supplier returns other list,
+     * null before first choice
+     */
+    public List<ServerInstance> servers() {
+        return lastServers;
+    }
+
+    /**
+     * @return stats of server or null if it wasn't chosen yet
+     */
+    public ServerStats stats(String hostPort) {
+        return stats.get(ServerInstance.parse(hostPort));
+    }
+
+    private ServerStats stats(ServerInstance server) {
+        ServerStats serverStats = stats.get(server);
+        if (serverStats == null) {
+            serverStats = stats.computeIfAbsent(server,
+                    instance -> new ServerStats(instance, decayNanos, failurePenaltyNanos, nanoClock));
+        }
+        return serverStats;
+    }
+}
@@ -0,0 +1,68 @@
+package reactivefeign.cloud.loadbalancer;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Host and port of single server of service.
+ *
+ * @author Sergii Karpenko
+ */
+public final class ServerInstance {
+
+    private final String host;
+    private final int port;
+    private final String hostPort;
+
+    public ServerInstance(String host, int port) {
+        this.host = checkNotNull(host, "host must not be null");
+        if (port <= 0 || port > 0xFFFF) {
+            throw new IllegalArgumentException("Invalid port: " + port);
+        }
+        this.port = port;
+        this.hostPort = host + ":" + port;
+    }
+
+    /**
+     * @param hostPort server in "host:port" form
+     */
+    public static ServerInstance parse(String hostPort) {
+        int separator = hostPort.lastIndexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Server should be defined as host:port, got: " + hostPort);
+        }
+        try {
+            return new ServerInstance(hostPort.substring(0, separator),
+                    Integer.parseInt(hostPort.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid port of server: " + hostPort, e);
+        }
+    }
+
+    public String host() {
+        return host;
+    }
+
+    public int port() {
+        return port;
+    }
+
+    public String hostPort() {
+        return hostPort;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o
+                || o instanceof ServerInstance && hostPort.equals(((ServerInstance) o).hostPort);
+    }
+
+    @Override
+    public int hashCode() {
+        return hostPort.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return hostPort;
+    }
+}
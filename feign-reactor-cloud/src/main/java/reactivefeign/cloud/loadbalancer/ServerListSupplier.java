@@ -0,0 +1,42 @@
+package reactivefeign.cloud.loadbalancer;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Source of servers of service for {@link P2cLoadBalancer}.
+ *
+ * @author Sergii Karpenko
+ */
+@FunctionalInterface
+public interface ServerListSupplier {
+
+    /**
+     * Called on every pick, so should be cheap.
+     * Should return the same list instance until servers change.
+     */
+    List<ServerInstance> servers();
+
+    /**
+     * @param hostPorts servers in "host:port" form
+     */
+    static ServerListSupplier of(String... hostPorts) {
+        List<ServerInstance> servers = Collections.unmodifiableList(Arrays.stream(hostPorts)
+                .map(ServerInstance::parse)
+                .collect(toList()));
+        return () -> servers;
+    }
+
+    /**
+     * Servers are read from file line by line in "host:port" form,
+     * file is checked for modification at most once a second.
+     */
+    static ServerListSupplier fromFile(Path file) {
+        return new FileServerListSupplier(file, Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,126 @@
+package reactivefeign.cloud.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Requests in flight and peak EWMA of latency of single server, updated by CAS.
+ * Latency rises to any slower sample at once and decays to faster samples and over idle time,
+ * so slow server is avoided immediately and probed again later.
+ *
+ * @author Sergii Karpenko
+ */
+public final class ServerStats {
+
+    private static final Ewma NO_SAMPLES = new Ewma(0, 0);
+    // unsampled server gets single probe request at a time
+    private static final double PROBE_PENALTY = Double.MAX_VALUE / 2;
+
+    private final ServerInstance server;
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicReference<Ewma> latency = new AtomicReference<>(NO_SAMPLES);
+
+    ServerStats(ServerInstance server, long decayNanos, long failurePenaltyNanos, LongSupplier nanoClock) {
+        this.server = server;
+        this.decayNanos = decayNanos;
+        this.failurePenaltyNanos = failurePenaltyNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    public ServerInstance server() {
+        return server;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return current latency estimate in nanos, 0 if there were no samples
+     */
+    public double latencyNanos() {
+        return latencyNanos(nanoClock.getAsLong());
+    }
+
+    /**
+     * @return start time of request to pass to {@link #finish} or {@link #cancel}
+     */
+    public long start() {
+        inFlight.incrementAndGet();
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * Request completed, failed requests are sampled at least with failure penalty.
+     */
+    public void finish(long startNanos, boolean failed) {
+        inFlight.decrementAndGet();
+        long now = nanoClock.getAsLong();
+        long rtt = now - startNanos;
+        observe(failed ? Math.max(rtt, failurePenaltyNanos) : rtt, now);
+    }
+
+    /**
+     * Request was cancelled, so its time is not sampled
+     */
+    public void cancel() {
+        inFlight.decrementAndGet();
+    }
+
+    double cost(long now) {
+        int requests = inFlight.get();
+        if (latency.get() == NO_SAMPLES) {
+            return requests == 0 ? 0 : PROBE_PENALTY + requests;
+        }
+        return latencyNanos(now) * (requests + 1);
+    }
+
+    private double latencyNanos(long now) {
+        Ewma current = latency.get();
+        return current == NO_SAMPLES ? 0 : current.decayed(now, decayNanos);
+    }
+
+    private void observe(long rttNanos, long now) {
+        for (;;) {
+            Ewma current = latency.get();
+            double value;
+            if (current == NO_SAMPLES) {
+                value = rttNanos;
+            } else {
+                double decayed = current.decayed(now, decayNanos);
+                value = rttNanos > decayed ? rttNanos : current.next(rttNanos, now, decayNanos);
+            }
+            if (latency.compareAndSet(current, new Ewma(value, now))) {
+                return;
+            }
+        }
+    }
+
+    private static final class Ewma {
+        private final double value;
+        private final long stamp;
+
+        private Ewma(double value, long stamp) {
+            this.value = value;
+            this.stamp = stamp;
+        }
+
+        private double weight(long now, long decayNanos) {
+            return Math.exp(-Math.max(now - stamp, 0) / (double) decayNanos);
+        }
+
+        private double decayed(long now, long decayNanos) {
+            return value * weight(now, decayNanos);
+        }
+
+        private double next(long sample, long now, long decayNanos) {
+            double weight = weight(now, decayNanos);
+            return value * weight + sample * (1 - weight);
+        }
+    }
+}
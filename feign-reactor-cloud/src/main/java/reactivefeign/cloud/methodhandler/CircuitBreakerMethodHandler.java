@@ -0,0 +1,101 @@
+package reactivefeign.cloud.methodhandler;
+
+import feign.MethodMetadata;
+import feign.Target;
+import org.reactivestreams.Publisher;
+import org.springframework.lang.Nullable;
+import reactivefeign.cloud.circuitbreaker.CircuitBreaker;
+import reactivefeign.cloud.circuitbreaker.CircuitBreakerOpenException;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.methodhandler.MethodHandler;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static feign.Feign.configKey;
+import static feign.Util.checkNotNull;
+
+/**
+ * Guards calls by {@link CircuitBreaker} and falls back on any error, including rejection by open breaker.
+ * Works on Mono and Flux directly, so Reactor context and scheduling are kept as is.
+ *
+ * @author Sergii Karpenko
+ */
+public class CircuitBreakerMethodHandler implements MethodHandler {
+
+    private final Method method;
+    private final Type returnPublisherType;
+    private final MethodHandler methodHandler;
+    private final CircuitBreaker circuitBreaker;
+    private final Function<Throwable, Object> fallbackFactory;
+    private final MethodMetrics methodMetrics;
+
+    CircuitBreakerMethodHandler(
+            Target target, MethodMetadata methodMetadata,
+            MethodHandler methodHandler,
+            CircuitBreaker circuitBreaker,
+            @Nullable
+                    Function<Throwable, Object> fallbackFactory,
+            MethodMetrics methodMetrics) {
+        checkNotNull(target, "target must be not null");
+
+        checkNotNull(methodMetadata, "methodMetadata must be not null");
+        method = Arrays.stream(target.type().getMethods())
+                .filter(method -> configKey(target.type(), method).equals(methodMetadata.configKey()))
+                .findFirst().orElseThrow(() -> new IllegalArgumentException());
+        method.setAccessible(true);
+
+        returnPublisherType = ((ParameterizedType) methodMetadata.returnType()).getRawType();
+        this.methodHandler = checkNotNull(methodHandler, "methodHandler must be not null");
+        this.circuitBreaker = checkNotNull(circuitBreaker, "circuitBreaker must be not null");
+        this.fallbackFactory = fallbackFactory;
+        this.methodMetrics = checkNotNull(methodMetrics, "methodMetrics must be not null");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Publisher<Object> invoke(final Object[] argv) {
+        Publisher<Object> publisher;
+        try {
+            publisher = (Publisher<Object>) methodHandler.invoke(argv);
+        } catch (Throwable throwable) {
+            publisher = Mono.error(throwable);
+        }
+
+        if(returnPublisherType == Mono.class){
+            return circuitBreaker.decorate(Mono.from(publisher))
+                    .onErrorResume(throwable -> Mono.from(fallback(throwable, argv)));
+        } else if(returnPublisherType == Flux.class){
+            return circuitBreaker.decorate(Flux.from(publisher))
+                    .onErrorResume(throwable -> fallback(throwable, argv));
+        } else {
+            throw new IllegalArgumentException("Unknown returnPublisherType: " + returnPublisherType);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Publisher<Object> fallback(Throwable throwable, Object[] argv) {
+        if (throwable instanceof CircuitBreakerOpenException) {
+            methodMetrics.requestRejected();
+        }
+        if (fallbackFactory == null) {
+            return Mono.error(throwable);
+        }
+        methodMetrics.fallback();
+        try {
+            Object fallback = fallbackFactory.apply(throwable);
+            return (Publisher<Object>) getFallbackValue(fallback, method, argv);
+        } catch (Throwable e) {
+            return Mono.error(e);
+        }
+    }
+
+    protected Object getFallbackValue(Object target, Method method, Object[] argv) throws Throwable {
+        return method.invoke(target, argv);
+    }
+}
@@ -0,0 +1,65 @@
+package reactivefeign.cloud.methodhandler;
+
+import feign.MethodMetadata;
+import feign.Target;
+import org.springframework.lang.Nullable;
+import reactivefeign.cloud.CloudReactiveFeign;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.methodhandler.MethodHandler;
+import reactivefeign.methodhandler.MethodHandlerFactory;
+
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+import static feign.Util.checkNotNull;
+
+public class CircuitBreakerMethodHandlerFactory implements MethodHandlerFactory {
+
+    private final MethodHandlerFactory methodHandlerFactory;
+    private final CloudReactiveFeign.CircuitBreakerFactory circuitBreakerFactory;
+    private final Function<Throwable, Object> fallbackFactory;
+    private final Function<MethodMetadata, MethodMetrics> methodMetrics;
+
+    public CircuitBreakerMethodHandlerFactory(MethodHandlerFactory methodHandlerFactory,
+                                              CloudReactiveFeign.CircuitBreakerFactory circuitBreakerFactory,
+                                              @Nullable Function<Throwable, Object> fallbackFactory) {
+        this(methodHandlerFactory, circuitBreakerFactory, fallbackFactory, metadata -> MethodMetrics.NOOP);
+    }
+
+    public CircuitBreakerMethodHandlerFactory(MethodHandlerFactory methodHandlerFactory,
+                                              CloudReactiveFeign.CircuitBreakerFactory circuitBreakerFactory,
+                                              @Nullable Function<Throwable, Object> fallbackFactory,
+                                              Function<MethodMetadata, MethodMetrics> methodMetrics) {
+        this.methodHandlerFactory = checkNotNull(methodHandlerFactory, "methodHandlerFactory must not be null");
+        this.circuitBreakerFactory = checkNotNull(circuitBreakerFactory, "circuitBreakerFactory must not be null");
+        this.fallbackFactory = fallbackFactory;
+        this.methodMetrics = checkNotNull(methodMetrics, "methodMetrics must not be null");
+    }
+
+    @Override
+    public MethodHandler create(final Target target, final MethodMetadata metadata) {
+        return new CircuitBreakerMethodHandler(
+                target, metadata,
+                methodHandlerFactory.create(target, metadata),
+                circuitBreakerFactory.create(target, metadata),
+                fallbackFactory,
+                methodMetrics.apply(metadata));
+    }
+
+    @Override
+    public Function<Target, MethodHandler> compile(final MethodMetadata metadata) {
+        Function<Target, MethodHandler> compiled = methodHandlerFactory.compile(metadata);
+        MethodMetrics metrics = methodMetrics.apply(metadata);
+        return target -> new CircuitBreakerMethodHandler(
+                target, metadata,
+                compiled.apply(target),
+                circuitBreakerFactory.create(target, metadata),
+                fallbackFactory,
+                metrics);
+    }
+
+    @Override
+    public MethodHandler createDefault(Method method) {
+        return methodHandlerFactory.createDefault(method);
+    }
+}
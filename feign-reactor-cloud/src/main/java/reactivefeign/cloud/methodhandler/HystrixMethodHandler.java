@@ -6,9 +6,11 @@ import feign.Target;
 import org.reactivestreams.Publisher;
 import org.springframework.lang.Nullable;
 import reactivefeign.cloud.CloudReactiveFeign;
+import reactivefeign.metrics.MethodMetrics;
 import reactivefeign.methodhandler.MethodHandler;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 import rx.Observable;
 import rx.RxReactiveStreams;
 
@@ -31,13 +33,15 @@ public class HystrixMethodHandler implements MethodHandler {
     private final MethodHandler methodHandler;
     private final Function<Throwable, Object> fallbackFactory;
     private final HystrixObservableCommand.Setter hystrixObservableCommandSetter;
+    private final MethodMetrics methodMetrics;
 
     HystrixMethodHandler(
             Target target, MethodMetadata methodMetadata,
             MethodHandler methodHandler,
             CloudReactiveFeign.SetterFactory setterFactory,
             @Nullable
-                    Function<Throwable, Object> fallbackFactory) {
+                    Function<Throwable, Object> fallbackFactory,
+            MethodMetrics methodMetrics) {
         checkNotNull(target, "target must be not null");
 
         checkNotNull(methodMetadata, "methodMetadata must be not null");
@@ -51,18 +55,31 @@ public class HystrixMethodHandler implements MethodHandler {
         this.fallbackFactory = fallbackFactory;
         checkNotNull(setterFactory, "setterFactory must be not null");
         hystrixObservableCommandSetter = setterFactory.create(target, methodMetadata);
+        this.methodMetrics = checkNotNull(methodMetrics, "methodMetrics must be not null");
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Publisher<Object> invoke(final Object[] argv) {
+        // Reactor context doesn't pass through Rx, so it's captured here and restored for inner publisher
+        if(returnPublisherType == Mono.class){
+            return Mono.subscriberContext().flatMap(context ->
+                    Mono.from(RxReactiveStreams.toPublisher(command(argv, context).toSingle())));
+        } else if(returnPublisherType == Flux.class){
+            return Mono.subscriberContext().flatMapMany(context ->
+                    Flux.from(RxReactiveStreams.toPublisher(command(argv, context))));
+        } else {
+            throw new IllegalArgumentException("Unknown returnPublisherType: " + returnPublisherType);
+        }
+    }
 
-        Observable<Object> observable = new HystrixObservableCommand<Object>(hystrixObservableCommandSetter) {
+    @SuppressWarnings("unchecked")
+    private Observable<Object> command(final Object[] argv, Context context) {
+        return new HystrixObservableCommand<Object>(hystrixObservableCommandSetter) {
             @Override
             protected Observable<Object> construct() {
-                Publisher publisher;
+                Publisher<Object> publisher;
                 try {
-                    publisher = (Publisher) methodHandler.invoke(argv);
+                    publisher = withContext((Publisher<Object>) methodHandler.invoke(argv), context);
                 } catch (Throwable throwable) {
                     publisher = Mono.error(throwable);
                 }
@@ -72,6 +89,7 @@ public class HystrixMethodHandler implements MethodHandler {
             @Override
             protected Observable<Object> resumeWithFallback() {
                 if (fallbackFactory != null) {
+                    methodMetrics.fallback();
                     Object fallback = fallbackFactory.apply(getExecutionException());
                     try {
                         Object fallbackValue = getFallbackValue(fallback, method, argv);
@@ -85,13 +103,14 @@ public class HystrixMethodHandler implements MethodHandler {
                 }
             }
         }.toObservable();
+    }
 
-        if(returnPublisherType == Mono.class){
-            return Mono.from(RxReactiveStreams.toPublisher(observable.toSingle()));
-        } else if(returnPublisherType == Flux.class){
-            return Flux.from(RxReactiveStreams.toPublisher(observable));
+    @SuppressWarnings("unchecked")
+    private static Publisher<Object> withContext(Publisher<Object> publisher, Context context) {
+        if (publisher instanceof Mono) {
+            return ((Mono<Object>) publisher).subscriberContext(context);
         } else {
-            throw new IllegalArgumentException("Unknown returnPublisherType: " + returnPublisherType);
+            return Flux.from(publisher).subscriberContext(context);
         }
     }
 
@@ -4,6 +4,7 @@ import feign.MethodMetadata;
 import feign.Target;
 import org.springframework.lang.Nullable;
 import reactivefeign.cloud.CloudReactiveFeign;
+import reactivefeign.metrics.MethodMetrics;
 import reactivefeign.methodhandler.MethodHandler;
 import reactivefeign.methodhandler.MethodHandlerFactory;
 
@@ -17,13 +18,22 @@ public class HystrixMethodHandlerFactory implements MethodHandlerFactory {
     private final MethodHandlerFactory methodHandlerFactory;
     private final CloudReactiveFeign.SetterFactory commandSetterFactory;
     private final Function<Throwable, Object> fallbackFactory;
+    private final Function<MethodMetadata, MethodMetrics> methodMetrics;
 
     public HystrixMethodHandlerFactory(MethodHandlerFactory methodHandlerFactory,
                                        CloudReactiveFeign.SetterFactory commandSetterFactory,
                                        @Nullable Function<Throwable, Object> fallbackFactory) {
+        this(methodHandlerFactory, commandSetterFactory, fallbackFactory, metadata -> MethodMetrics.NOOP);
+    }
+
+    public HystrixMethodHandlerFactory(MethodHandlerFactory methodHandlerFactory,
+                                       CloudReactiveFeign.SetterFactory commandSetterFactory,
+                                       @Nullable Function<Throwable, Object> fallbackFactory,
+                                       Function<MethodMetadata, MethodMetrics> methodMetrics) {
         this.methodHandlerFactory = checkNotNull(methodHandlerFactory, "methodHandlerFactory must not be null");
         this.commandSetterFactory = checkNotNull(commandSetterFactory, "hystrixObservableCommandSetter must not be null");
         this.fallbackFactory = fallbackFactory;
+        this.methodMetrics = checkNotNull(methodMetrics, "methodMetrics must not be null");
     }
 
     @Override
@@ -32,7 +42,20 @@ public class HystrixMethodHandlerFactory implements MethodHandlerFactory {
                 target, metadata,
                 methodHandlerFactory.create(target, metadata),
                 commandSetterFactory,
-                fallbackFactory);
+                fallbackFactory,
+                methodMetrics.apply(metadata));
+    }
+
+    @Override
+    public Function<Target, MethodHandler> compile(final MethodMetadata metadata) {
+        Function<Target, MethodHandler> compiled = methodHandlerFactory.compile(metadata);
+        MethodMetrics metrics = methodMetrics.apply(metadata);
+        return target -> new HystrixMethodHandler(
+                target, metadata,
+                compiled.apply(target),
+                commandSetterFactory,
+                fallbackFactory,
+                metrics);
     }
 
     @Override
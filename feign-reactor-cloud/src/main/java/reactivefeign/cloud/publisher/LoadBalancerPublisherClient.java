@@ -0,0 +1,167 @@
+package reactivefeign.cloud.publisher;
+
+import feign.FeignException;
+import org.reactivestreams.Publisher;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.client.ReadTimeoutException;
+import reactivefeign.cloud.loadbalancer.P2cLoadBalancer;
+import reactivefeign.cloud.loadbalancer.ServerInstance;
+import reactivefeign.cloud.loadbalancer.ServerStats;
+import reactivefeign.hedging.HedgedCall;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.publisher.PublisherHttpClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends request to server chosen by {@link P2cLoadBalancer} and reports its outcome back,
+ * no Rx bridge is involved so Reactor context passes as is.
+ *
+ * @author Sergii Karpenko
+ */
+public class LoadBalancerPublisherClient implements PublisherHttpClient {
+
+    private static final int SERVER_ERROR = 500;
+
+    private final P2cLoadBalancer loadBalancer;
+    private final PublisherHttpClient publisherClient;
+    private final Type publisherType;
+    private final MethodMetrics methodMetrics;
+    private final ServerBaseUris<ServerInstance> serverBaseUris = new ServerBaseUris<>();
+    private volatile List<ServerInstance> knownServers;
+
+    public LoadBalancerPublisherClient(P2cLoadBalancer loadBalancer,
+                                       PublisherHttpClient publisherClient,
+                                       Type publisherType,
+                                       MethodMetrics methodMetrics) {
+        this.loadBalancer = loadBalancer;
+        this.publisherClient = publisherClient;
+        this.publisherType = publisherType;
+        this.methodMetrics = methodMetrics;
+    }
+
+    @Override
+    public Publisher<?> executeRequest(ReactiveHttpRequest request) {
+        if(publisherType == Mono.class){
+            return Mono.subscriberContext().flatMap(context -> Mono.from(submit(request, context)));
+        } else if(publisherType == Flux.class){
+            return Mono.subscriberContext().flatMapMany(context -> Flux.from(submit(request, context)));
+        } else {
+            throw new IllegalArgumentException("Unknown publisherType: " + publisherType);
+        }
+    }
+
+    private Publisher<?> submit(ReactiveHttpRequest request, Context context) {
+        HedgedCall hedgedCall = context.getOrDefault(HedgedCall.class, null);
+        ServerStats serverStats;
+        try {
+            serverStats = choose(hedgedCall);
+        } catch (RuntimeException e) {
+            return Mono.error(e);
+        }
+        ServerInstance server = serverStats.server();
+
+        methodMetrics.loadBalancerPick(server.hostPort());
+
+        ReactiveHttpRequest lbRequest = loadBalanceRequest(request, server);
+
+        long start = serverStats.start();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Publisher<?> publisher;
+        try {
+            publisher = publisherClient.executeRequest(lbRequest);
+        } catch (RuntimeException e) {
+            serverStats.finish(start, isServerFailure(e));
+            releaseServer(hedgedCall, server);
+            return Mono.error(e);
+        }
+        // server is released before termination is propagated, as retry to it is subscribed on error
+        return publisher instanceof Mono
+                ? ((Mono<?>) publisher)
+                    .doOnError(error::set)
+                    .doOnTerminate(() -> releaseServer(hedgedCall, server))
+                    .doOnCancel(() -> releaseServer(hedgedCall, server))
+                    .doFinally(signal -> report(serverStats, start, signal, error.get()))
+                : Flux.from(publisher)
+                    .doOnError(error::set)
+                    .doOnTerminate(() -> releaseServer(hedgedCall, server))
+                    .doOnCancel(() -> releaseServer(hedgedCall, server))
+                    .doFinally(signal -> report(serverStats, start, signal, error.get()));
+    }
+
+    /**
+     * Backup request of hedged call is sent to other server than primary one,
+     * one more pick is done if random one is the same.
+     */
+    private ServerStats choose(HedgedCall hedgedCall) {
+        ServerStats serverStats = loadBalancer.choose();
+        if (hedgedCall == null || hedgedCall.useServer(serverStats.server().hostPort())) {
+            return serverStats;
+        }
+        serverStats = loadBalancer.choose();
+        if (hedgedCall.useServer(serverStats.server().hostPort())) {
+            return serverStats;
+        }
+        throw new RibbonPublisherClient.SameServerHedgeException(serverStats.server().hostPort());
+    }
+
+    private static void releaseServer(HedgedCall hedgedCall, ServerInstance server) {
+        if (hedgedCall != null) {
+            hedgedCall.releaseServer(server.hostPort());
+        }
+    }
+
+    private static void report(ServerStats serverStats, long start, SignalType signal, Throwable error) {
+        if (signal == SignalType.ON_ERROR) {
+            serverStats.finish(start, isServerFailure(error));
+        } else if (signal == SignalType.CANCEL) {
+            serverStats.cancel();
+        } else {
+            serverStats.finish(start, false);
+        }
+    }
+
+    /**
+     * Only transport errors and server errors tell about health of server,
+     * client errors and deadline of caller don't.
+     */
+    private static boolean isServerFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            // retryable exception has no status, its cause tells what happened
+            if (cause instanceof FeignException && ((FeignException) cause).status() > 0) {
+                return ((FeignException) cause).status() >= SERVER_ERROR;
+            }
+            if (cause instanceof IOException
+                    || cause instanceof ReadTimeoutException
+                    || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replaces host and port of base uri only, expanded path and query are kept as is.
+     * Base uri for each request base uri and server is built once,
+     * uris of servers removed from server list are dropped when it changes.
+     */
+    protected ReactiveHttpRequest loadBalanceRequest(ReactiveHttpRequest request, ServerInstance server) {
+        List<ServerInstance> servers = loadBalancer.servers();
+        if (servers != null && servers != knownServers) {
+            // uri of removed server built concurrently may stay till next change, it's just a few bytes
+            knownServers = servers;
+            serverBaseUris.retainServers(new HashSet<>(servers));
+        }
+        return request.withBaseUri(serverBaseUris.serverBaseUri(
+                request.baseUri(), server, server.host(), server.port()));
+    }
+}
@@ -1,19 +1,25 @@
 package reactivefeign.cloud.publisher;
 
+import com.netflix.loadbalancer.ILoadBalancer;
 import com.netflix.loadbalancer.Server;
 import com.netflix.loadbalancer.reactive.LoadBalancerCommand;
 import org.reactivestreams.Publisher;
 import org.springframework.lang.Nullable;
 import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.hedging.HedgedCall;
+import reactivefeign.metrics.MethodMetrics;
 import reactivefeign.publisher.PublisherHttpClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 import rx.Observable;
 import rx.RxReactiveStreams;
 
 import java.lang.reflect.Type;
-import java.net.URI;
-import java.net.URISyntaxException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Sergii Karpenko
@@ -23,33 +29,47 @@ public class RibbonPublisherClient implements PublisherHttpClient {
     private final LoadBalancerCommand<Object> loadBalancerCommand;
     private final PublisherHttpClient publisherClient;
     private final Type publisherType;
+    private final MethodMetrics methodMetrics;
+    private final ILoadBalancer loadBalancer;
+    private final ServerBaseUris<String> serverBaseUris = new ServerBaseUris<>();
+    private final Set<String> knownServers = ConcurrentHashMap.newKeySet();
 
     public RibbonPublisherClient(@Nullable LoadBalancerCommand<Object> loadBalancerCommand,
                                  PublisherHttpClient publisherClient,
                                  Type publisherType) {
+        this(loadBalancerCommand, publisherClient, publisherType, MethodMetrics.NOOP);
+    }
+
+    public RibbonPublisherClient(@Nullable LoadBalancerCommand<Object> loadBalancerCommand,
+                                 PublisherHttpClient publisherClient,
+                                 Type publisherType,
+                                 MethodMetrics methodMetrics) {
+        this(loadBalancerCommand, null, publisherClient, publisherType, methodMetrics);
+    }
+
+    /**
+     * @param loadBalancer load balancer of command, if known, uris of servers removed from it are dropped
+     */
+    public RibbonPublisherClient(@Nullable LoadBalancerCommand<Object> loadBalancerCommand,
+                                 @Nullable ILoadBalancer loadBalancer,
+                                 PublisherHttpClient publisherClient,
+                                 Type publisherType,
+                                 MethodMetrics methodMetrics) {
         this.loadBalancerCommand = loadBalancerCommand;
+        this.loadBalancer = loadBalancer;
         this.publisherClient = publisherClient;
         this.publisherType = publisherType;
+        this.methodMetrics = methodMetrics;
     }
 
     @Override
     public Publisher<?> executeRequest(ReactiveHttpRequest request) {
 
         if (loadBalancerCommand != null) {
-            Observable<?> observable = loadBalancerCommand.submit(server -> {
-
-                ReactiveHttpRequest lbRequest = loadBalanceRequest(request, server);
-
-                Publisher<Object> publisher = (Publisher<Object>)publisherClient.executeRequest(lbRequest);
-                return RxReactiveStreams.toObservable(publisher);
-            });
-
-            Publisher<?> publisher = RxReactiveStreams.toPublisher(observable);
-
             if(publisherType == Mono.class){
-                return Mono.from(publisher);
+                return Mono.subscriberContext().flatMap(context -> Mono.from(submit(request, context)));
             } else if(publisherType == Flux.class){
-                return Flux.from(publisher);
+                return Mono.subscriberContext().flatMapMany(context -> Flux.from(submit(request, context)));
             } else {
                 throw new IllegalArgumentException("Unknown publisherType: " + publisherType);
             }
@@ -58,14 +78,78 @@ public class RibbonPublisherClient implements PublisherHttpClient {
         }
     }
 
+    /**
+     * Reactor context doesn't pass through Rx, so it's restored for inner publisher.
+     */
+    private Publisher<?> submit(ReactiveHttpRequest request, Context context) {
+        HedgedCall hedgedCall = context.getOrDefault(HedgedCall.class, null);
+        Observable<?> observable = loadBalancerCommand.submit(server -> {
+            String hostPort = server.getHostPort();
+            if (hedgedCall != null && !hedgedCall.useServer(hostPort)) {
+                // backup request to same server would not help, primary one decides
+                return Observable.error(new SameServerHedgeException(hostPort));
+            }
+
+            methodMetrics.loadBalancerPick(hostPort);
+
+            ReactiveHttpRequest lbRequest = loadBalanceRequest(request, server);
+
+            Publisher<Object> publisher;
+            try {
+                publisher = (Publisher<Object>)publisherClient.executeRequest(lbRequest);
+            } catch (RuntimeException e) {
+                releaseServer(hedgedCall, hostPort);
+                throw e;
+            }
+            // server is released before termination is propagated, as retry to it is subscribed on error
+            return RxReactiveStreams.toObservable(publisher instanceof Mono
+                    ? ((Mono<Object>) publisher)
+                        .doOnTerminate(() -> releaseServer(hedgedCall, hostPort))
+                        .doOnCancel(() -> releaseServer(hedgedCall, hostPort))
+                        .subscriberContext(context)
+                    : Flux.from(publisher)
+                        .doOnTerminate(() -> releaseServer(hedgedCall, hostPort))
+                        .doOnCancel(() -> releaseServer(hedgedCall, hostPort))
+                        .subscriberContext(context));
+        });
+
+        return RxReactiveStreams.toPublisher(observable);
+    }
+
+    private static void releaseServer(@Nullable HedgedCall hedgedCall, String hostPort) {
+        if (hedgedCall != null) {
+            hedgedCall.releaseServer(hostPort);
+        }
+    }
+
+    /**
+     * Replaces host and port of base uri only, expanded path and query are kept as is.
+     * Base uri for each server is built once per base uri of request.
+     * Server that was not seen before means that server list changed,
+     * so uris of servers no longer in list are dropped.
+     */
     protected ReactiveHttpRequest loadBalanceRequest(ReactiveHttpRequest request, Server server) {
-        URI uri = request.uri();
-        try {
-            URI lbUrl = new URI(uri.getScheme(), uri.getUserInfo(), server.getHost(), server.getPort(),
-                    uri.getPath(), uri.getQuery(), uri.getFragment());
-            return new ReactiveHttpRequest(request.method(), lbUrl, request.headers(), request.body());
-        } catch (URISyntaxException e) {
-            throw new IllegalArgumentException(e);
+        String hostPort = server.getHostPort();
+        if (loadBalancer != null && !knownServers.contains(hostPort)) {
+            retainServers(loadBalancer.getServerList(false));
+            knownServers.add(hostPort);
+        }
+        return request.withBaseUri(serverBaseUris.serverBaseUri(
+                request.baseUri(), hostPort, server.getHost(), server.getPort()));
+    }
+
+    private void retainServers(List<Server> servers) {
+        Set<String> hostPorts = new HashSet<>(servers.size());
+        for (Server server : servers) {
+            hostPorts.add(server.getHostPort());
+        }
+        knownServers.retainAll(hostPorts);
+        serverBaseUris.retainServers(hostPorts);
+    }
+
+    public static class SameServerHedgeException extends RuntimeException {
+        SameServerHedgeException(String server) {
+            super("Other request of hedged call is already sent to " + server, null, false, false);
         }
     }
 }
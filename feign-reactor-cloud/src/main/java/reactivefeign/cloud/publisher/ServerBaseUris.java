@@ -0,0 +1,47 @@
+package reactivefeign.cloud.publisher;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Base uris with host and port replaced by server ones, built once per request base uri and server.
+ *
+ * @param <S> server identity
+ *
+ * @author Sergii Karpenko
+ */
+final class ServerBaseUris<S> {
+
+    private final ConcurrentMap<URI, ConcurrentMap<S, URI>> uris = new ConcurrentHashMap<>();
+
+    URI serverBaseUri(URI baseUri, S server, String host, int port) {
+        ConcurrentMap<S, URI> serverUris = uris.get(baseUri);
+        if (serverUris == null) {
+            serverUris = uris.computeIfAbsent(baseUri, uri -> new ConcurrentHashMap<>());
+        }
+        URI serverUri = serverUris.get(server);
+        if (serverUri == null) {
+            serverUri = serverUris.computeIfAbsent(server, s -> {
+                try {
+                    return new URI(baseUri.getScheme(), baseUri.getUserInfo(), host, port,
+                            baseUri.getPath(), baseUri.getQuery(), baseUri.getFragment());
+                } catch (URISyntaxException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            });
+        }
+        return serverUri;
+    }
+
+    /**
+     * Drops uris of servers that are no longer in server list
+     */
+    void retainServers(Collection<S> servers) {
+        for (ConcurrentMap<S, URI> serverUris : uris.values()) {
+            serverUris.keySet().retainAll(servers);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package reactivefeign.cloud.publisher;
+
+import org.reactivestreams.Publisher;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.publisher.PublisherHttpClient;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Routes request to client of service named by host of request base uri.
+ * Client of each service is created on first request, so publisher client compiled once
+ * is bound to load balancer of every target it's used with.
+ *
+ * @author Sergii Karpenko
+ */
+public class ServicePublisherClient implements PublisherHttpClient {
+
+    private final Function<String, PublisherHttpClient> serviceClientFactory;
+    private final ConcurrentMap<String, PublisherHttpClient> serviceClients = new ConcurrentHashMap<>();
+
+    public ServicePublisherClient(Function<String, PublisherHttpClient> serviceClientFactory) {
+        this.serviceClientFactory = checkNotNull(serviceClientFactory, "serviceClientFactory must not be null");
+    }
+
+    @Override
+    public Publisher<?> executeRequest(ReactiveHttpRequest request) {
+        String serviceName = request.host();
+        if (serviceName == null) {
+            throw new IllegalArgumentException("Can't extract service name from url " + request.baseUri());
+        }
+        PublisherHttpClient serviceClient = serviceClients.get(serviceName);
+        if (serviceClient == null) {
+            serviceClient = serviceClients.computeIfAbsent(serviceName, serviceClientFactory);
+        }
+        return serviceClient.executeRequest(request);
+    }
+}
@@ -0,0 +1,156 @@
+package reactivefeign.cloud;
+
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import feign.MethodMetadata;
+import feign.Target;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.cloud.circuitbreaker.CircuitBreaker;
+import reactivefeign.cloud.circuitbreaker.CircuitBreakerOpenException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.apache.http.HttpStatus.SC_SERVICE_UNAVAILABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sergii Karpenko
+ */
+public class CircuitBreakerReactiveHttpClientTest {
+
+    public static final int WAIT_IN_OPEN = 100;
+    public static final int MINIMUM_CALLS = 1;
+    public static final String FALLBACK = "fallback";
+    public static final String SUCCESS = "success!";
+
+    @ClassRule
+    public static WireMockClassRule server = new WireMockClassRule(wireMockConfig().dynamicPort());
+
+    private AtomicReference<CircuitBreaker> lastCircuitBreaker = new AtomicReference<>();
+
+    @Before
+    public void resetServers() {
+        server.resetAll();
+    }
+
+    @Test
+    public void shouldFailAsNoFallback() {
+
+        LoadBalancingReactiveHttpClientTest.mockSuccessAfterSeveralAttempts(server, "/", 1, 598,
+                aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(SUCCESS));
+
+        LoadBalancingReactiveHttpClientTest.TestInterface client = CloudReactiveFeign.<LoadBalancingReactiveHttpClientTest.TestInterface>builder()
+                .enableCircuitBreaker(getCircuitBreakerFactory())
+                .target(LoadBalancingReactiveHttpClientTest.TestInterface.class, "http://localhost:" + server.port());
+
+        Object result = callMany(client, 1).get(0);
+        assertThat(result).isInstanceOf(Throwable.class)
+                .isNotInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void shouldNotFailDueToFallback() {
+
+        LoadBalancingReactiveHttpClientTest.mockSuccessAfterSeveralAttempts(server, "/", 1, 598,
+                aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(SUCCESS));
+
+        LoadBalancingReactiveHttpClientTest.TestInterface client = CloudReactiveFeign.<LoadBalancingReactiveHttpClientTest.TestInterface>builder()
+                .enableCircuitBreaker(getCircuitBreakerFactory())
+                .setFallback(() -> Mono.just(FALLBACK))
+                .target(LoadBalancingReactiveHttpClientTest.TestInterface.class, "http://localhost:" + server.port());
+
+        String result = client.get().block();
+        assertThat(result).isEqualTo(FALLBACK);
+    }
+
+    @Test
+    public void shouldOpenCircuitBreakerAndCloseAfterWait() throws InterruptedException {
+
+        int callsNo = MINIMUM_CALLS + 1;
+        LoadBalancingReactiveHttpClientTest.mockSuccessAfterSeveralAttempts(server, "/", MINIMUM_CALLS, SC_SERVICE_UNAVAILABLE,
+                aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(SUCCESS));
+
+        LoadBalancingReactiveHttpClientTest.TestInterface client = CloudReactiveFeign.<LoadBalancingReactiveHttpClientTest.TestInterface>builder()
+                .enableCircuitBreaker(getCircuitBreakerFactory())
+                .target(LoadBalancingReactiveHttpClientTest.TestInterface.class, "http://localhost:" + server.port());
+
+        //check that circuit breaker get opened on minimum calls
+        List<Object> results = callMany(client, callsNo);
+
+        assertThat(server.getAllServeEvents().size()).isLessThan(callsNo);
+        assertThat(results.get(0)).isNotInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(results.get(results.size() - 1)).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(lastCircuitBreaker.get().state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(lastCircuitBreaker.get().rejected()).isEqualTo(1);
+
+        //wait to circuit breaker get half open
+        Thread.sleep(WAIT_IN_OPEN);
+
+        //check that circuit breaker get closed again
+        List<Object> resultsAfterWait = callMany(client, callsNo);
+
+        assertThat(resultsAfterWait).containsOnly(SUCCESS);
+        assertThat(lastCircuitBreaker.get().state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    public void shouldFallbackWhenOpen() {
+
+        server.stubFor(get(urlEqualTo("/"))
+                .willReturn(aResponse().withStatus(SC_SERVICE_UNAVAILABLE)));
+
+        AtomicReference<Throwable> lastError = new AtomicReference<>();
+        LoadBalancingReactiveHttpClientTest.TestInterface client = CloudReactiveFeign.<LoadBalancingReactiveHttpClientTest.TestInterface>builder()
+                .enableCircuitBreaker(getCircuitBreakerFactory())
+                .setFallbackFactory(throwable -> {
+                    lastError.set(throwable);
+                    return () -> Mono.just(FALLBACK);
+                })
+                .target(LoadBalancingReactiveHttpClientTest.TestInterface.class, "http://localhost:" + server.port());
+
+        assertThat(callMany(client, 3)).containsOnly(FALLBACK);
+        assertThat(lastError.get()).isInstanceOf(CircuitBreakerOpenException.class);
+        assertThat(server.getAllServeEvents()).hasSize(1);
+    }
+
+    private static List<Object> callMany(LoadBalancingReactiveHttpClientTest.TestInterface client, int callsNo) {
+        return IntStream.range(0, callsNo).mapToObj(i -> {
+            try {
+                return client.get().block();
+            } catch (Throwable t) {
+                return t;
+            }
+        }).collect(Collectors.toList());
+    }
+
+    CloudReactiveFeign.CircuitBreakerFactory getCircuitBreakerFactory() {
+        return new CloudReactiveFeign.CircuitBreakerFactory() {
+            @Override
+            public CircuitBreaker create(Target<?> target, MethodMetadata methodMetadata) {
+                CircuitBreaker circuitBreaker = new CircuitBreaker(methodMetadata.configKey(),
+                        50, 10, MINIMUM_CALLS, Duration.ofMillis(WAIT_IN_OPEN), 1);
+                lastCircuitBreaker.set(circuitBreaker);
+                return circuitBreaker;
+            }
+        };
+    }
+}
@@ -16,9 +16,11 @@ import feign.RequestLine;
 import feign.RetryableException;
 import org.junit.*;
 import org.junit.rules.ExpectedException;
+import reactivefeign.hedging.HedgingPolicy;
 import reactivefeign.publisher.RetryPublisherHttpClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.stream.Stream;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
@@ -138,6 +140,32 @@ public class LoadBalancingReactiveHttpClientTest {
 
     }
 
+    @Test
+    public void shouldRetryOnSameServerOfHedgedCall() {
+        String body = "success!";
+        Stream.of(server1, server2).forEach(server -> {
+            mockSuccessAfterSeveralAttempts(server, "/", 2, 503,
+                    aResponse()
+                            .withStatus(200)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody(body));
+        });
+
+        RetryHandler retryHandler = new RequestSpecificRetryHandler(true, true,
+                new DefaultLoadBalancerRetryHandler(2, 0, true), null);
+
+        // delay is long enough not to send backup, retries of primary request use the same server
+        TestInterface client = CloudReactiveFeign.<TestInterface>builder()
+                .enableLoadBalancer(retryHandler)
+                .setHystrixCommandSetterFactory(getSetterFactoryWithTimeoutDisabled())
+                .hedgeRequests(HedgingPolicy.fixedDelay(Duration.ofSeconds(10), 1.0))
+                .target(TestInterface.class, "http://" + serviceName);
+
+        assertThat(client.get().block()).isEqualTo(body);
+        assertThat(server1.getAllServeEvents().size() == 3
+                ^ server2.getAllServeEvents().size() == 3).isTrue();
+    }
+
     private void loadBalancingWithRetry(int failedAttemptsNo, int retryOnSame, int retryOnNext) {
         String body = "success!";
         Stream.of(server1, server2).forEach(server -> {
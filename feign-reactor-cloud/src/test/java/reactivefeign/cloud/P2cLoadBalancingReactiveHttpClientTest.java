@@ -0,0 +1,204 @@
+package reactivefeign.cloud;
+
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.CompiledInterface;
+import reactivefeign.cloud.loadbalancer.FileServerListSupplier;
+import reactivefeign.cloud.loadbalancer.NoAvailableServerException;
+import reactivefeign.cloud.loadbalancer.P2cLoadBalancer;
+import reactivefeign.cloud.loadbalancer.ServerListSupplier;
+import reactivefeign.cloud.loadbalancer.ServerStats;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static reactivefeign.cloud.LoadBalancingReactiveHttpClientTest.mockSuccess;
+
+/**
+ * @author Sergii Karpenko
+ */
+public class P2cLoadBalancingReactiveHttpClientTest {
+
+    private static final String BODY = "success!";
+    private static final String SERVICE_NAME = "P2cLoadBalancingTest";
+
+    @ClassRule
+    public static WireMockClassRule server1 = new WireMockClassRule(wireMockConfig().dynamicPort());
+    @ClassRule
+    public static WireMockClassRule server2 = new WireMockClassRule(wireMockConfig().dynamicPort());
+
+    private Path serversFile;
+
+    @Before
+    public void resetServers() throws IOException {
+        server1.resetAll();
+        server2.resetAll();
+        serversFile = Files.createTempFile("servers", ".txt");
+    }
+
+    @After
+    public void deleteServersFile() throws IOException {
+        Files.deleteIfExists(serversFile);
+    }
+
+    @Test
+    public void shouldSendRequestsToBothServers() {
+        mockSuccess(server1, BODY);
+        mockSuccess(server2, BODY);
+
+        LoadBalancingReactiveHttpClientTest.TestInterface client = client(serviceName ->
+                ServerListSupplier.of("localhost:" + server1.port(), "localhost:" + server2.port()));
+
+        assertThat(client.get().block()).isEqualTo(BODY);
+        assertThat(client.get().block()).isEqualTo(BODY);
+
+        // unsampled server is preferred by idle one, so each server gets probe request
+        server1.verify(1, getRequestedFor(urlEqualTo("/")));
+        server2.verify(1, getRequestedFor(urlEqualTo("/")));
+    }
+
+    @Test
+    public void shouldAvoidSlowServer() {
+        String fastServer = "localhost:" + server1.port();
+        String slowServer = "localhost:" + server2.port();
+        // latencies are set by clock, so choices don't depend on timing of test run
+        AtomicLong nanos = new AtomicLong();
+        P2cLoadBalancer loadBalancer = new P2cLoadBalancer(ServerListSupplier.of(fastServer, slowServer),
+                Duration.ofSeconds(10), Duration.ofSeconds(1), nanos::get);
+
+        int slowRequests = 0;
+        for (int i = 0; i < 20; i++) {
+            ServerStats serverStats = loadBalancer.choose();
+            long start = serverStats.start();
+            boolean slow = serverStats.server().hostPort().equals(slowServer);
+            nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(slow ? 300 : 10));
+            serverStats.finish(start, false);
+            if (slow) {
+                slowRequests++;
+            }
+        }
+
+        // only probe request goes to slow server
+        assertThat(slowRequests).isEqualTo(1);
+        assertThat(loadBalancer.stats(slowServer).latencyNanos())
+                .isGreaterThan(loadBalancer.stats(fastServer).latencyNanos());
+    }
+
+    @Test
+    public void shouldReloadServersFromFile() throws IOException, InterruptedException {
+        mockSuccess(server1, BODY);
+        mockSuccess(server2, BODY);
+
+        writeServers("localhost:" + server1.port(), FileTime.fromMillis(1000));
+        LoadBalancingReactiveHttpClientTest.TestInterface client = client(serviceName ->
+                new FileServerListSupplier(serversFile, Duration.ofMillis(10)));
+
+        assertThat(client.get().block()).isEqualTo(BODY);
+        server1.verify(1, getRequestedFor(urlEqualTo("/")));
+
+        writeServers("localhost:" + server2.port(), FileTime.fromMillis(2000));
+        Thread.sleep(50);
+
+        assertThat(client.get().block()).isEqualTo(BODY);
+        server1.verify(1, getRequestedFor(urlEqualTo("/")));
+        server2.verify(1, getRequestedFor(urlEqualTo("/")));
+    }
+
+    @Test
+    public void shouldBindCompiledInterfaceToLoadBalancerOfEachTarget() {
+        mockSuccess(server1, BODY);
+        mockSuccess(server2, BODY);
+
+        CloudReactiveFeign.Builder<LoadBalancingReactiveHttpClientTest.TestInterface> builder =
+                CloudReactiveFeign.<LoadBalancingReactiveHttpClientTest.TestInterface>builder()
+                        .enableReactiveLoadBalancer(serviceName -> ServerListSupplier.of("localhost:"
+                                + (serviceName.equals("service1") ? server1.port() : server2.port())));
+        builder.disableHystrix();
+        CompiledInterface<LoadBalancingReactiveHttpClientTest.TestInterface> compiled =
+                builder.compile(LoadBalancingReactiveHttpClientTest.TestInterface.class);
+
+        assertThat(compiled.target("http://service1").get().block()).isEqualTo(BODY);
+        assertThat(compiled.target("http://service2").get().block()).isEqualTo(BODY);
+
+        server1.verify(1, getRequestedFor(urlEqualTo("/")));
+        server2.verify(1, getRequestedFor(urlEqualTo("/")));
+    }
+
+    @Test
+    public void shouldKeepBaseUriPathOfEachTarget() {
+        mockSuccessAt(server1, "/v1/", "v1");
+        mockSuccessAt(server1, "/v2/", "v2");
+
+        CloudReactiveFeign.Builder<LoadBalancingReactiveHttpClientTest.TestInterface> builder =
+                CloudReactiveFeign.<LoadBalancingReactiveHttpClientTest.TestInterface>builder()
+                        .enableReactiveLoadBalancer(serviceName -> ServerListSupplier.of("localhost:" + server1.port()));
+        builder.disableHystrix();
+        CompiledInterface<LoadBalancingReactiveHttpClientTest.TestInterface> compiled =
+                builder.compile(LoadBalancingReactiveHttpClientTest.TestInterface.class);
+
+        // same server of same service, base uris differ by path only
+        assertThat(compiled.target("http://" + SERVICE_NAME + "/v1").get().block()).isEqualTo("v1");
+        assertThat(compiled.target("http://" + SERVICE_NAME + "/v2").get().block()).isEqualTo("v2");
+    }
+
+    @Test
+    public void shouldFailIfNoServers() {
+        LoadBalancingReactiveHttpClientTest.TestInterface client = client(serviceName -> Collections::emptyList);
+
+        assertThatThrownBy(() -> client.get().block())
+                .isInstanceOf(NoAvailableServerException.class);
+    }
+
+    @Test
+    public void shouldNotChooseBusyUnsampledServer() {
+        P2cLoadBalancer loadBalancer = new P2cLoadBalancer(
+                ServerListSupplier.of("localhost:" + server1.port(), "localhost:" + server2.port()));
+
+        ServerStats busy = loadBalancer.choose();
+        busy.start();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(loadBalancer.choose()).isNotSameAs(busy);
+        }
+        assertThat(busy.inFlight()).isEqualTo(1);
+    }
+
+    private LoadBalancingReactiveHttpClientTest.TestInterface client(
+            Function<String, ServerListSupplier> serverListSupplierFactory) {
+        CloudReactiveFeign.Builder<LoadBalancingReactiveHttpClientTest.TestInterface> builder =
+                CloudReactiveFeign.<LoadBalancingReactiveHttpClientTest.TestInterface>builder()
+                        .enableReactiveLoadBalancer(serverListSupplierFactory);
+        builder.disableHystrix();
+        return builder.target(LoadBalancingReactiveHttpClientTest.TestInterface.class, "http://" + SERVICE_NAME);
+    }
+
+    private static void mockSuccessAt(WireMockClassRule server, String url, String body) {
+        server.stubFor(get(urlEqualTo(url))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(body)));
+    }
+
+    private void writeServers(String server, FileTime modified) throws IOException {
+        Files.write(serversFile, Collections.singletonList(server));
+        Files.setLastModifiedTime(serversFile, modified);
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import feign.Feign;
+import feign.Target;
+import reactivefeign.methodhandler.MethodHandler;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static feign.Util.checkArgument;
+
+/**
+ * Feign interface with parsed contract, compiled request templates and decorated clients,
+ * that are shared by all clients created from it. Binding to target creates only
+ * method handlers holding the target and client instance itself.
+ * <p>
+ * Immutable and thread safe.
+ *
+ * @author Sergii Karpenko
+ */
+public final class CompiledInterface<T> {
+
+  private final ReactiveFeign reactiveFeign;
+  private final Class<T> apiType;
+  private final Method[] methods;
+  private final String[] configKeys;
+  private final String[] handlerKeys;
+  private final Function<Target, MethodHandler>[] handlerFactories;
+
+  @SuppressWarnings("unchecked")
+  CompiledInterface(ReactiveFeign reactiveFeign, Class<T> apiType,
+                    Map<String, Function<Target, MethodHandler>> handlerFactories) {
+    this.reactiveFeign = reactiveFeign;
+    this.apiType = apiType;
+    this.methods = apiType.getMethods();
+    this.configKeys = new String[methods.length];
+    for (int i = 0; i < methods.length; i++) {
+      configKeys[i] = Feign.configKey(apiType, methods[i]);
+    }
+    this.handlerKeys = handlerFactories.keySet().toArray(new String[0]);
+    this.handlerFactories = handlerFactories.values().toArray(new Function[0]);
+  }
+
+  public Class<T> type() {
+    return apiType;
+  }
+
+  /**
+   * Creates client for target url.
+   *
+   * @param url base URL
+   * @return built client
+   */
+  public T target(final String url) {
+    return target(new Target.HardCodedTarget<>(apiType, url));
+  }
+
+  /**
+   * Creates client for target.
+   *
+   * @param target target instance
+   * @return built client
+   */
+  public T target(final Target<T> target) {
+    checkArgument(target.type() == apiType,
+        "Target type %s differs from compiled interface %s", target.type(), apiType);
+
+    Map<String, MethodHandler> nameToHandler = new HashMap<>(handlerKeys.length * 4 / 3 + 1);
+    for (int i = 0; i < handlerKeys.length; i++) {
+      nameToHandler.put(handlerKeys[i], handlerFactories[i].apply(target));
+    }
+    return reactiveFeign.newInstance(target, methods, configKeys, nameToHandler);
+  }
+}
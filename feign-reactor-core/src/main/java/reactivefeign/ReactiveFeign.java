@@ -16,16 +16,40 @@ package reactivefeign;
 import feign.*;
 import feign.codec.ErrorDecoder;
 import org.reactivestreams.Publisher;
+import reactivefeign.bulkhead.Bulkhead;
+import reactivefeign.bulkhead.BulkheadPublisherHttpClient;
+import reactivefeign.cache.HttpCacheable;
+import reactivefeign.cache.ResponseCache;
 import reactivefeign.client.ReactiveHttpClient;
+import reactivefeign.client.ReactiveHttpClientChain;
 import reactivefeign.client.ReactiveHttpRequestInterceptor;
 import reactivefeign.client.ReactiveHttpResponse;
 import reactivefeign.client.statushandler.ReactiveStatusHandler;
 import reactivefeign.client.statushandler.ReactiveStatusHandlers;
+import reactivefeign.deadline.CallTimeout;
+import reactivefeign.deadline.Deadline;
+import reactivefeign.dispatch.GeneratedClientFactory;
+import reactivefeign.generated.GeneratedClients;
+import reactivefeign.generated.GeneratedContract;
+import reactivefeign.hedging.HedgedCallReactiveHttpClient;
+import reactivefeign.hedging.HedgingPolicy;
+import reactivefeign.hedging.HedgingPublisherHttpClient;
+import reactivefeign.limiter.AdaptiveConcurrencyLimiter;
+import reactivefeign.metrics.CompositeMetrics;
+import reactivefeign.metrics.LatencyMetrics;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.metrics.ReactiveMetrics;
 import reactivefeign.methodhandler.MethodHandler;
 import reactivefeign.methodhandler.DefaultMethodHandler;
 import reactivefeign.methodhandler.MethodHandlerFactory;
 import reactivefeign.methodhandler.ReactiveMethodHandlerFactory;
 import reactivefeign.publisher.*;
+import reactivefeign.ratelimit.RateLimiter;
+import reactivefeign.ratelimit.RateLimiterReactiveHttpClient;
+import reactivefeign.retry.BodyNotReplayableException;
+import reactivefeign.retry.BodyReplay;
+import reactivefeign.retry.RetryBudget;
+import reactivefeign.retry.RetryBudgetExceededException;
 import reactivefeign.utils.Pair;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -38,18 +62,26 @@ import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static feign.Util.checkNotNull;
 import static feign.Util.isDefault;
+import static java.util.Arrays.asList;
+import static reactivefeign.cache.CachingReactiveHttpClient.cache;
 import static reactivefeign.client.InterceptorReactiveHttpClient.intercept;
+import static reactivefeign.client.LoggerReactiveHttpClient.isLogEnabled;
 import static reactivefeign.client.LoggerReactiveHttpClient.log;
 import static reactivefeign.client.ResponseMappers.ignore404;
-import static reactivefeign.client.ResponseMappers.mapResponse;
-import static reactivefeign.client.StatusHandlerReactiveHttpClient.handleStatus;
+import static reactivefeign.client.StatusHandlerReactiveHttpClient.statusMapper;
+import static reactivefeign.deadline.DeadlinePublisherHttpClient.callTimeout;
+import static reactivefeign.deadline.DeadlinePublisherHttpClient.hasCallTimeout;
+import static reactivefeign.deadline.DeadlineReactiveHttpClient.deadline;
+import static reactivefeign.limiter.LimiterReactiveHttpClient.limit;
+import static reactivefeign.metrics.MetricsReactiveHttpClient.measure;
+import static reactivefeign.utils.FeignUtils.methodTag;
 import static reactivefeign.utils.FeignUtils.returnPublisherType;
 import static reactivefeign.utils.MultiValueMapUtils.addOrdered;
 
@@ -63,28 +95,78 @@ public class ReactiveFeign {
 
   private final ParseHandlersByName targetToHandlersByName;
   private final InvocationHandlerFactory factory;
+  private final boolean generatedDispatch;
+  private final boolean generatedClients;
 
   protected ReactiveFeign(
       final ParseHandlersByName targetToHandlersByName,
       final InvocationHandlerFactory factory) {
+    this(targetToHandlersByName, factory, false);
+  }
+
+  protected ReactiveFeign(
+      final ParseHandlersByName targetToHandlersByName,
+      final InvocationHandlerFactory factory,
+      final boolean generatedDispatch) {
+    this(targetToHandlersByName, factory, generatedDispatch, false);
+  }
+
+  protected ReactiveFeign(
+      final ParseHandlersByName targetToHandlersByName,
+      final InvocationHandlerFactory factory,
+      final boolean generatedDispatch,
+      final boolean generatedClients) {
     this.targetToHandlersByName = targetToHandlersByName;
     this.factory = factory;
+    this.generatedDispatch = generatedDispatch;
+    this.generatedClients = generatedClients;
   }
 
-  @SuppressWarnings("unchecked")
   public <T> T newInstance(Target<T> target) {
-    final Map<String, MethodHandler> nameToHandler = targetToHandlersByName.apply(target);
+    return compile(target.type()).target(target);
+  }
+
+  /**
+   * Parses contract and builds target independent part of method handlers once.
+   *
+   * @param apiType API interface
+   * @return thread safe factory of clients for any number of targets
+   */
+  public <T> CompiledInterface<T> compile(Class<T> apiType) {
+    return new CompiledInterface<>(this, apiType, targetToHandlersByName.compile(apiType));
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> T newInstance(Target<T> target, Method[] methods, String[] configKeys,
+                    Map<String, MethodHandler> nameToHandler) {
+
+    if (generatedClients) {
+      Optional<T> generatedClient = GeneratedClients.newInstance(target, nameToHandler);
+      if (generatedClient.isPresent()) {
+        return generatedClient.get();
+      }
+    }
+
+    if (generatedDispatch && GeneratedClientFactory.isSupported(target.type())) {
+      final Map<Method, InvocationHandlerFactory.MethodHandler> methodToHandler = new LinkedHashMap<>();
+      for (int i = 0; i < methods.length; i++) {
+        if (!isDefault(methods[i])) {
+          methodToHandler.put(methods[i], nameToHandler.get(configKeys[i]));
+        }
+      }
+      return GeneratedClientFactory.newInstance(target, methodToHandler);
+    }
+
     final Map<Method, InvocationHandlerFactory.MethodHandler> methodToHandler = new LinkedHashMap<>();
     final List<DefaultMethodHandler> defaultMethodHandlers = new LinkedList<>();
 
-    for (final Method method : target.type().getMethods()) {
-      if (isDefault(method)) {
-        final DefaultMethodHandler handler = new DefaultMethodHandler(method);
+    for (int i = 0; i < methods.length; i++) {
+      if (isDefault(methods[i])) {
+        final DefaultMethodHandler handler = new DefaultMethodHandler(methods[i]);
         defaultMethodHandlers.add(handler);
-        methodToHandler.put(method, handler);
+        methodToHandler.put(methods[i], handler);
       } else {
-        methodToHandler.put(method,
-                nameToHandler.get(Feign.configKey(target.type(), method)));
+        methodToHandler.put(methods[i], nameToHandler.get(configKeys[i]));
       }
     }
 
@@ -112,9 +194,28 @@ public class ReactiveFeign {
     protected InvocationHandlerFactory invocationHandlerFactory =
         new ReactiveInvocationHandler.Factory();
     protected boolean decode404 = false;
+    protected boolean generatedDispatch = false;
+    protected boolean generatedClients = false;
+    protected boolean optimizeDecoratorChain = true;
     protected Target<T> target;
+    protected ReactiveMetrics metrics;
+    protected Class<?> apiType;
+
+    private boolean defaultContract;
 
     private Function<Flux<Throwable>, Flux<Throwable>> retryFunction;
+    private RetryBudget retryBudget;
+    private BodyReplay bodyReplay;
+    private CoalescingStats coalescingStats;
+    private List<String> coalescingKeyHeaders;
+    private ResponseCache responseCache;
+    private Function<MethodMetadata, Bulkhead> bulkheads;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private RateLimiter rateLimiter;
+    private Function<MethodMetadata, RateLimiter> methodRateLimiters;
+    private HedgingPolicy hedgingPolicy;
+    private boolean deadlines;
+    private String remainingTimeHeader;
 
     protected Builder(){
       contract(new Contract.Default());
@@ -135,6 +236,7 @@ public class ReactiveFeign {
      */
     public Builder<T> contract(final Contract contract) {
       this.contract = new ReactiveContract(contract);
+      this.defaultContract = contract.getClass() == Contract.Default.class;
       return this;
     }
 
@@ -168,6 +270,36 @@ public class ReactiveFeign {
       return this;
     }
 
+    /**
+     * Client will be instance of class generated for feign interface instead of
+     * {@link Proxy}, that calls method handlers directly without lookup by {@link Method}.
+     * Requires byte-buddy on classpath. Non public interfaces still use {@link Proxy}.
+     *
+     * @return this builder
+     */
+    public Builder<T> enableGeneratedDispatch() {
+      try {
+        Class.forName("net.bytebuddy.ByteBuddy", false, ReactiveFeign.class.getClassLoader());
+      } catch (ClassNotFoundException e) {
+        throw new IllegalStateException("Generated dispatch requires byte-buddy on classpath", e);
+      }
+      this.generatedDispatch = true;
+      return this;
+    }
+
+    /**
+     * Client classes and metadata generated at compile time by feign-reactor-processor
+     * are used when present for {@link Contract.Default}, so contract is not parsed by reflection.
+     * Interfaces not supported by processor (custom expanders, generic methods, etc.)
+     * and builders with custom {@link InvocationHandlerFactory} still use {@link Proxy}.
+     *
+     * @return this builder
+     */
+    public Builder<T> enableGeneratedClients() {
+      this.generatedClients = true;
+      return this;
+    }
+
     public Builder<T> statusHandler(ReactiveStatusHandler statusHandler) {
       this.statusHandler = statusHandler;
       return this;
@@ -184,6 +316,162 @@ public class ReactiveFeign {
       return this;
     }
 
+    /**
+     * Concurrent identical GET requests of methods returning {@link Mono} share single call.
+     * Requests are identical if they have same uri and same values of key headers.
+     * Request interceptor of coalesced methods is applied once per call before key is built,
+     * so headers it sets (like Authorization) may be key headers, and it's not repeated on retries.
+     *
+     * @param stats counters of coalesced requests
+     * @param keyHeaders headers that distinguish requests with same uri, like Authorization
+     * @return this builder
+     */
+    public Builder<T> coalesceRequests(CoalescingStats stats, String... keyHeaders) {
+      this.coalescingStats = checkNotNull(stats, "stats must not be null");
+      this.coalescingKeyHeaders = asList(keyHeaders);
+      return this;
+    }
+
+    public Builder<T> coalesceRequests(String... keyHeaders) {
+      return coalesceRequests(new CoalescingStats(), keyHeaders);
+    }
+
+    /**
+     * Responses of GET methods annotated with {@link HttpCacheable} are stored in cache
+     * and served according to Cache-Control and ETag headers.
+     * Request interceptor of these methods is applied before cache,
+     * so headers it sets select response variant by Vary.
+     *
+     * @param responseCache cache shared by all cacheable methods
+     * @return this builder
+     */
+    public Builder<T> cacheResponses(ResponseCache responseCache) {
+      this.responseCache = checkNotNull(responseCache, "responseCache must not be null");
+      return this;
+    }
+
+    /**
+     * Reports events of all client layers into metrics: requests in flight, time to headers
+     * and to last element of body by status, failures, retries, fallbacks and load balancer picks.
+     * If metrics (or {@link #latencyMetrics}) are already set, events are reported to all of them.
+     *
+     * @param metrics asked for per method recorders once when client is built
+     * @return this builder
+     */
+    public Builder<T> metrics(ReactiveMetrics metrics) {
+      checkNotNull(metrics, "metrics must not be null");
+      this.metrics = this.metrics != null ? CompositeMetrics.of(this.metrics, metrics) : metrics;
+      return this;
+    }
+
+    /**
+     * Records time to response headers and to last element of body of every method
+     * into per-method histograms, together with metrics set by {@link #metrics} if any.
+     *
+     * @param latencyMetrics histograms keyed by method tag, may be shared between clients
+     * @return this builder
+     */
+    public Builder<T> latencyMetrics(LatencyMetrics latencyMetrics) {
+      return metrics(latencyMetrics);
+    }
+
+    /**
+     * Limits concurrent calls of all methods of client by single bulkhead.
+     *
+     * @param bulkhead permits shared by all methods
+     * @return this builder
+     */
+    public Builder<T> bulkhead(Bulkhead bulkhead) {
+      checkNotNull(bulkhead, "bulkhead must not be null");
+      return bulkhead(methodMetadata -> bulkhead);
+    }
+
+    /**
+     * Limits concurrent calls per method. Permit is held till call terminates
+     * including all retries and whole body of {@link Flux}.
+     *
+     * @param bulkheads asked for bulkhead of each method once when client is built,
+     *                  may return same instance for several methods or null for no limit
+     * @return this builder
+     */
+    public Builder<T> bulkhead(Function<MethodMetadata, Bulkhead> bulkheads) {
+      this.bulkheads = checkNotNull(bulkheads, "bulkheads must not be null");
+      return this;
+    }
+
+    /**
+     * Sheds requests over concurrency limit that is adapted to round trip times of target.
+     * Every retry is admitted separately. Responses served by {@link #cacheResponses} pass
+     * through limiter as well and are sampled as fast calls.
+     *
+     * @param concurrencyLimiter limiter shared by all methods of target
+     * @return this builder
+     */
+    public Builder<T> adaptiveConcurrency(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+      this.concurrencyLimiter = checkNotNull(concurrencyLimiter, "concurrencyLimiter must not be null");
+      return this;
+    }
+
+    /**
+     * Limits rate of requests to target. Every retry takes token,
+     * responses served by {@link #cacheResponses} don't.
+     *
+     * @param rateLimiter token bucket shared by all methods
+     * @return this builder
+     */
+    public Builder<T> rateLimit(RateLimiter rateLimiter) {
+      this.rateLimiter = checkNotNull(rateLimiter, "rateLimiter must not be null");
+      return this;
+    }
+
+    /**
+     * Limits rate of requests per method, in addition to limit of target if any.
+     * Token of method is taken first.
+     *
+     * @param methodRateLimiters asked for rate limiter of each method once when client is built,
+     *                           may return null for no limit
+     * @return this builder
+     */
+    public Builder<T> rateLimitMethods(Function<MethodMetadata, RateLimiter> methodRateLimiters) {
+      this.methodRateLimiters = checkNotNull(methodRateLimiters, "methodRateLimiters must not be null");
+      return this;
+    }
+
+    /**
+     * Idempotent calls of methods returning {@link Mono} that don't complete within delay
+     * of policy send backup request, the first response wins.
+     *
+     * @param hedgingPolicy delay, budget and stats of backup requests
+     * @return this builder
+     */
+    public Builder<T> hedgeRequests(HedgingPolicy hedgingPolicy) {
+      this.hedgingPolicy = checkNotNull(hedgingPolicy, "hedgingPolicy must not be null");
+      return this;
+    }
+
+    /**
+     * Every request gets only time left till {@link Deadline} that caller put in Reactor context,
+     * retries stop when it has passed. Methods annotated with {@link CallTimeout}
+     * have deadline even if this is not enabled.
+     *
+     * @return this builder
+     */
+    public Builder<T> deadlines() {
+      this.deadlines = true;
+      return this;
+    }
+
+    /**
+     * Same as {@link #deadlines()} and also sends time left in milliseconds to server.
+     *
+     * @param remainingTimeHeader name of header with time left
+     * @return this builder
+     */
+    public Builder<T> deadlines(String remainingTimeHeader) {
+      this.remainingTimeHeader = checkNotNull(remainingTimeHeader, "remainingTimeHeader must not be null");
+      return deadlines();
+    }
+
     public Builder<T> retryWhen(Function<Flux<Throwable>, Flux<Throwable>> retryFunction) {
       this.retryFunction = retryFunction;
       return this;
@@ -193,6 +481,30 @@ public class ReactiveFeign {
       return retryWhen(retryPolicy.toRetryFunction());
     }
 
+    /**
+     * Retries wanted by {@link #retryWhen} are done only while budget allows,
+     * otherwise call fails with {@link RetryBudgetExceededException}.
+     *
+     * @param retryBudget budget shared by all methods of target
+     * @return this builder
+     */
+    public Builder<T> retryBudget(RetryBudget retryBudget) {
+      this.retryBudget = checkNotNull(retryBudget, "retryBudget must not be null");
+      return this;
+    }
+
+    /**
+     * Request bodies that can't be resubscribed are buffered by first attempt, so retries send the same body.
+     * Retries of call with body larger than buffer fail with {@link BodyNotReplayableException}.
+     *
+     * @param bodyReplay max size of buffered body
+     * @return this builder
+     */
+    public Builder<T> bufferBodiesForRetry(BodyReplay bodyReplay) {
+      this.bodyReplay = checkNotNull(bodyReplay, "bodyReplay must not be null");
+      return this;
+    }
+
     /**
      * Defines target and builds client.
      *
@@ -212,13 +524,35 @@ public class ReactiveFeign {
      */
     public T target(final Target<T> target) {
       this.target = target;
+      this.apiType = target.type();
       return build().newInstance(target);
     }
 
+    /**
+     * Builds everything that doesn't depend on target once: parsed contract,
+     * compiled templates and decorated clients. Binding result to target creates only
+     * small per target handlers, so this should be used when many clients of same interface
+     * with different urls are needed.
+     *
+     * @param apiType API interface
+     * @return thread safe factory of clients
+     */
+    public CompiledInterface<T> compile(final Class<T> apiType) {
+      this.apiType = apiType;
+      return build().compile(apiType);
+    }
+
     protected ReactiveFeign build() {
+      boolean useGeneratedClients = generatedClients && defaultContract
+          // generated clients call method handlers directly
+          && invocationHandlerFactory.getClass() == ReactiveInvocationHandler.Factory.class;
       final ParseHandlersByName handlersByName = new ParseHandlersByName(
-              contract, buildReactiveMethodHandlerFactory());
-      return new ReactiveFeign(handlersByName, invocationHandlerFactory);
+              useGeneratedClients
+                  ? new ReactiveContract(new GeneratedContract(new Contract.Default()))
+                  : contract,
+              buildReactiveMethodHandlerFactory());
+      return new ReactiveFeign(handlersByName, invocationHandlerFactory,
+              generatedDispatch, useGeneratedClients);
     }
 
     protected MethodHandlerFactory buildReactiveMethodHandlerFactory() {
@@ -231,31 +565,93 @@ public class ReactiveFeign {
         checkNotNull(clientFactory,
                 "clientFactory wasn't provided in ReactiveFeign builder");
 
-        ReactiveHttpClient reactiveClient = clientFactory.apply(methodMetadata);
+        ReactiveHttpClientChain chain = new ReactiveHttpClientChain(optimizeDecoratorChain);
+
+        // innermost, so backup request is not sent once response headers are received
+        if (hedgingPolicy != null && returnPublisherType(methodMetadata) == Mono.class) {
+          chain.decorate(HedgedCallReactiveHttpClient::reportResponses);
+        }
+
+        boolean coalesce = coalescingStats != null && returnPublisherType(methodMetadata) == Mono.class;
+        boolean cacheResponses = responseCache != null && returnPublisherType(methodMetadata) == Mono.class;
+
+        // coalesced and cached requests are intercepted before key is built
+        if (requestInterceptor != null && !coalesce && !cacheResponses) {
+          chain.decorate(client -> intercept(client, requestInterceptor));
+        }
 
-        if (requestInterceptor != null) {
-          reactiveClient = intercept(reactiveClient, requestInterceptor);
+        if (metrics != null) {
+          chain.decorate(client -> measure(client, methodMetadata, metrics));
         }
 
-        reactiveClient = log(reactiveClient, methodMetadata);
+        chain.decorate(client -> log(client, methodMetadata), isLogEnabled());
+
+        // outside of logging and metrics, so waiting for token is not counted as request time
+        if (rateLimiter != null) {
+          chain.decorate(client -> RateLimiterReactiveHttpClient.rateLimit(
+              client, rateLimiter, methodMetrics(methodMetadata)));
+        }
+
+        RateLimiter methodRateLimiter = methodRateLimiters != null
+            ? methodRateLimiters.apply(methodMetadata) : null;
+        if (methodRateLimiter != null) {
+          chain.decorate(client -> RateLimiterReactiveHttpClient.rateLimit(
+              client, methodRateLimiter, methodMetrics(methodMetadata)));
+        }
+
+        if (cacheResponses) {
+          chain.decorate(client -> cache(client, methodMetadata, apiType, responseCache));
+          if (requestInterceptor != null && !coalesce) {
+            chain.decorate(client -> intercept(client, requestInterceptor));
+          }
+        }
 
         if (responseMapper != null) {
-          reactiveClient = mapResponse(reactiveClient, methodMetadata, responseMapper);
+          chain.mapResponse(response -> responseMapper.apply(methodMetadata, response));
         }
 
         if (decode404) {
-          reactiveClient = mapResponse(reactiveClient, methodMetadata, ignore404());
+          BiFunction<MethodMetadata, ReactiveHttpResponse, ReactiveHttpResponse> ignore404 = ignore404();
+          chain.mapResponse(response -> ignore404.apply(methodMetadata, response));
         }
 
         if (statusHandler != null) {
-          reactiveClient = handleStatus(reactiveClient, methodMetadata, statusHandler);
+          chain.mapResponse(statusMapper(methodMetadata, statusHandler));
         }
 
+        if (concurrencyLimiter != null) {
+          // outside of status handling, so permit is released by replaced error body as well
+          chain.decorate(client -> limit(client, concurrencyLimiter, methodMetrics(methodMetadata)));
+        }
+
+        if (deadlines || hasCallTimeout(apiType, methodMetadata)) {
+          chain.decorate(client -> deadline(client, methodMetadata, remainingTimeHeader));
+        }
+
+        ReactiveHttpClient reactiveClient = chain.apply(clientFactory.apply(methodMetadata));
+
         reactivefeign.publisher.PublisherHttpClient publisherClient = toPublisher(reactiveClient, methodMetadata);
         if (retryFunction != null) {
           publisherClient = retry(publisherClient, methodMetadata, retryFunction);
         }
 
+        Bulkhead bulkhead = bulkheads != null ? bulkheads.apply(methodMetadata) : null;
+        if (bulkhead != null) {
+          publisherClient = new BulkheadPublisherHttpClient(
+                  publisherClient, methodMetadata, bulkhead, methodMetrics(methodMetadata));
+        }
+
+        publisherClient = decorateCall(publisherClient, methodMetadata);
+
+        if (coalesce) {
+          publisherClient = new CoalescingPublisherHttpClient(
+                  publisherClient, coalescingKeyHeaders, coalescingStats);
+          if (requestInterceptor != null) {
+            PublisherHttpClient coalescingClient = publisherClient;
+            publisherClient = request -> coalescingClient.executeRequest(requestInterceptor.apply(request));
+          }
+        }
+
         return publisherClient;
       };
     }
@@ -267,15 +663,36 @@ public class ReactiveFeign {
       Type returnPublisherType = returnPublisherType(methodMetadata);
       if(returnPublisherType == Mono.class){
         return new MonoRetryPublisherHttpClient(
-                (MonoPublisherHttpClient)publisherClient, methodMetadata, retryFunction);
+                (MonoPublisherHttpClient)publisherClient, methodMetadata, retryFunction,
+                methodMetrics(methodMetadata), retryBudget, bodyReplay);
       } else if(returnPublisherType == Flux.class) {
         return new FluxRetryPublisherHttpClient(
-                (FluxPublisherHttpClient)publisherClient, methodMetadata, retryFunction);
+                (FluxPublisherHttpClient)publisherClient, methodMetadata, retryFunction,
+                methodMetrics(methodMetadata), retryBudget, bodyReplay);
       } else {
         throw new IllegalArgumentException("Unknown returnPublisherType: " + returnPublisherType);
       }
     }
 
+    /**
+     * Decorators of whole call: hedging wraps client that sends both primary and backup requests,
+     * so they are retried and admitted by bulkhead independently, and call timeout covers all of them.
+     */
+    protected PublisherHttpClient decorateCall(PublisherHttpClient publisherClient, MethodMetadata methodMetadata) {
+      if (hedgingPolicy != null && returnPublisherType(methodMetadata) == Mono.class) {
+        publisherClient = new HedgingPublisherHttpClient(
+                publisherClient, hedgingPolicy, methodMetrics(methodMetadata));
+      }
+      return callTimeout(publisherClient, methodMetadata, apiType);
+    }
+
+    /**
+     * @return recorder of method events or no-op one if metrics are not set
+     */
+    protected MethodMetrics methodMetrics(MethodMetadata methodMetadata) {
+      return metrics != null ? metrics.method(methodTag(methodMetadata)) : MethodMetrics.NOOP;
+    }
+
     protected PublisherHttpClient toPublisher(ReactiveHttpClient reactiveHttpClient, MethodMetadata methodMetadata){
       Type returnPublisherType = returnPublisherType(methodMetadata);
       if(returnPublisherType == Mono.class){
@@ -297,31 +714,37 @@ public class ReactiveFeign {
       this.factory = factory;
     }
 
-    Map<String, MethodHandler> apply(final Target target) {
-      Map<String, MethodMetadata> metadata = contract.parseAndValidatateMetadata(target.type())
+    /**
+     * @return target independent handler factories by config key
+     */
+    Map<String, Function<Target, MethodHandler>> compile(final Class<?> apiType) {
+      Map<String, MethodMetadata> metadata = contract.parseAndValidatateMetadata(apiType)
               .stream()
               .collect(Collectors.toMap(
                       MethodMetadata::configKey,
                       md -> md
               ));
-      Map<String, Method> configKeyToMethod = Stream.of(target.type().getMethods())
-              .collect(Collectors.toMap(
-                      method -> Feign.configKey(target.type(), method),
-                      method -> method
-              ));
 
-      final Map<String, MethodHandler> result = new LinkedHashMap<>();
+      final Map<String, Function<Target, MethodHandler>> result = new LinkedHashMap<>();
 
-      for (final Map.Entry<String, Method> entry : configKeyToMethod.entrySet()) {
-        String configKey = entry.getKey();
+      for (final Method method : apiType.getMethods()) {
+        String configKey = Feign.configKey(apiType, method);
         MethodMetadata md = metadata.get(configKey);
-        MethodHandler methodHandler = md != null
-                ? factory.create(target, md)
-                : factory.createDefault(entry.getValue());  //isDefault(entry.getValue())
-        result.put(configKey, methodHandler);
+        if (md != null) {
+          result.put(configKey, factory.compile(md));
+        } else {
+          result.put(configKey, target -> factory.createDefault(method));
+        }
       }
 
       return result;
     }
+
+    Map<String, MethodHandler> apply(final Target target) {
+      final Map<String, MethodHandler> result = new LinkedHashMap<>();
+      compile(target.type()).forEach((configKey, handlerFactory) ->
+              result.put(configKey, handlerFactory.apply(target)));
+      return result;
+    }
   }
 }
@@ -14,14 +14,36 @@
 package reactivefeign;
 
 import feign.RetryableException;
+import reactor.core.publisher.Flux;
 
 import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
 
 /**
  * @author Sergii Karpenko
  */
 public class ReactiveRetryers {
 
+  /**
+   * Randomization of exponential backoff delays,
+   * spreads retries of different clients so they don't hit recovering server in lockstep.
+   */
+  public enum Jitter {
+    /**
+     * delay = min(max, base * 2^(attempt - 1))
+     */
+    NONE,
+    /**
+     * delay = random(0, min(max, base * 2^(attempt - 1)))
+     */
+    FULL,
+    /**
+     * delay = min(max, random(base, previousDelay * 3)), previous delay is tracked per call
+     */
+    DECORRELATED
+  }
+
   public static ReactiveRetryPolicy retry(int maxRetries) {
     return (error, attemptNo) -> attemptNo <= maxRetries ? 0 : -1;
   }
@@ -48,4 +70,89 @@ public class ReactiveRetryers {
     };
   }
 
+  /**
+   * Exponential backoff with full jitter.
+   */
+  public static ReactiveRetryPolicy retryWithExponentialBackoff(
+      int maxRetries, long baseDelayInMs, long maxDelayInMs) {
+    return retryWithExponentialBackoff(maxRetries, baseDelayInMs, maxDelayInMs, Jitter.FULL);
+  }
+
+  /**
+   * Delay grows exponentially from baseDelayInMs up to maxDelayInMs and is randomized by jitter.
+   * "Retry-After" header, if present, is used instead but not longer than maxDelayInMs.
+   */
+  public static ReactiveRetryPolicy retryWithExponentialBackoff(
+      int maxRetries, long baseDelayInMs, long maxDelayInMs, Jitter jitter) {
+    if (baseDelayInMs <= 0 || maxDelayInMs < baseDelayInMs) {
+      throw new IllegalArgumentException("Should be 0 < baseDelayInMs <= maxDelayInMs");
+    }
+    return new ExponentialBackoff(maxRetries, baseDelayInMs, maxDelayInMs, jitter);
+  }
+
+  private static class ExponentialBackoff implements ReactiveRetryPolicy {
+
+    private final int maxRetries;
+    private final long baseDelay;
+    private final long maxDelay;
+    private final Jitter jitter;
+
+    private ExponentialBackoff(int maxRetries, long baseDelay, long maxDelay, Jitter jitter) {
+      this.maxRetries = maxRetries;
+      this.baseDelay = baseDelay;
+      this.maxDelay = maxDelay;
+      this.jitter = jitter;
+    }
+
+    @Override
+    public long retryDelay(Throwable error, int attemptNo) {
+      return retryDelay(error, attemptNo, exponentialDelay(attemptNo - 1));
+    }
+
+    @Override
+    public Function<Flux<Throwable>, Flux<Throwable>> toRetryFunction() {
+      if (jitter != Jitter.DECORRELATED) {
+        return ReactiveRetryPolicy.super.toRetryFunction();
+      }
+      // retry function is applied on every subscription, so previous delay belongs to single call
+      return errors -> {
+        long[] previousDelay = {baseDelay};
+        ReactiveRetryPolicy callPolicy = (error, attemptNo) -> {
+          long delay = retryDelay(error, attemptNo, previousDelay[0]);
+          previousDelay[0] = Math.max(delay, baseDelay);
+          return delay;
+        };
+        return callPolicy.toRetryFunction().apply(errors);
+      };
+    }
+
+    private long retryDelay(Throwable error, int attemptNo, long previousDelay) {
+      if (attemptNo > maxRetries) {
+        return -1;
+      }
+      Date retryAfter;
+      if (error instanceof RetryableException
+          && (retryAfter = ((RetryableException) error).retryAfter()) != null) {
+        long delay = retryAfter.getTime() - System.currentTimeMillis();
+        return Math.max(Math.min(delay, maxDelay), 0);
+      }
+
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      switch (jitter) {
+        case NONE:
+          return exponentialDelay(attemptNo);
+        case FULL:
+          return random.nextLong(exponentialDelay(attemptNo) + 1);
+        case DECORRELATED:
+          long upper = Math.min(maxDelay, previousDelay * 3);
+          return upper > baseDelay ? random.nextLong(baseDelay, upper + 1) : upper;
+        default:
+          throw new IllegalStateException("Unknown jitter: " + jitter);
+      }
+    }
+
+    private long exponentialDelay(int attemptNo) {
+      return (long) Math.min(maxDelay, baseDelay * Math.pow(2, Math.max(attemptNo - 1, 0)));
+    }
+  }
 }
@@ -0,0 +1,201 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.bulkhead;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Limits number of concurrent calls. Permits are taken with CAS on single counter,
+ * calls that didn't get permit either fail immediately or wait in bounded queue
+ * until permit is handed over by finished call or wait timeout expires.
+ * Instance may be shared by all methods of client or created per method.
+ *
+ * @author Sergii Karpenko
+ */
+public class Bulkhead {
+
+  private final int maxConcurrent;
+  private final int maxWaiting;
+  private final Duration maxWait;
+
+  private final AtomicInteger available;
+  private final AtomicInteger waiting = new AtomicInteger();
+  private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * Bulkhead that rejects calls as soon as all permits are taken
+   */
+  public Bulkhead(int maxConcurrent) {
+    this(maxConcurrent, 0, Duration.ZERO);
+  }
+
+  /**
+   * @param maxConcurrent calls allowed in flight
+   * @param maxWaiting calls allowed to wait for permit, 0 to reject immediately
+   * @param maxWait how long call waits for permit before rejection
+   */
+  public Bulkhead(int maxConcurrent, int maxWaiting, Duration maxWait) {
+    if (maxConcurrent <= 0) {
+      throw new IllegalArgumentException("maxConcurrent must be positive: " + maxConcurrent);
+    }
+    if (maxWaiting < 0) {
+      throw new IllegalArgumentException("maxWaiting must not be negative: " + maxWaiting);
+    }
+    this.maxConcurrent = maxConcurrent;
+    this.maxWaiting = maxWaiting;
+    this.maxWait = checkNotNull(maxWait, "maxWait must not be null");
+    this.available = new AtomicInteger(maxConcurrent);
+  }
+
+  boolean tryAcquire() {
+    for (;;) {
+      int current = available.get();
+      if (current == 0) {
+        return false;
+      }
+      if (available.compareAndSet(current, current - 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * @return waiter that is granted permit when one is released, fails with
+   * {@link BulkheadFullException} if queue is full or permit wasn't granted in time
+   */
+  Mono<Waiter> waitForPermit() {
+    if (maxWaiting == 0) {
+      return Mono.error(rejection());
+    }
+    return Mono.<Waiter>create(sink -> {
+      if (waiting.incrementAndGet() > maxWaiting) {
+        waiting.decrementAndGet();
+        sink.error(rejection());
+        return;
+      }
+      Waiter waiter = new Waiter(sink);
+      sink.onCancel(waiter::cancel);
+      waiters.offer(waiter);
+      // permit may have been released before waiter was queued
+      drain();
+    }).timeout(maxWait, Mono.defer(() -> Mono.error(rejection())));
+  }
+
+  void release() {
+    available.incrementAndGet();
+    drain();
+  }
+
+  private void drain() {
+    while (!waiters.isEmpty() && tryAcquire()) {
+      Waiter waiter = waiters.poll();
+      if (waiter == null) {
+        available.incrementAndGet();
+        return;
+      }
+      if (!waiter.grant()) {
+        available.incrementAndGet();
+      }
+    }
+  }
+
+  private BulkheadFullException rejection() {
+    rejected.increment();
+    return new BulkheadFullException(maxConcurrent, maxWaiting);
+  }
+
+  public int maxConcurrent() {
+    return maxConcurrent;
+  }
+
+  /**
+   * @return permits not taken by calls in flight
+   */
+  public int available() {
+    return available.get();
+  }
+
+  /**
+   * @return calls waiting for permit
+   */
+  public int waiting() {
+    return waiting.get();
+  }
+
+  /**
+   * @return calls failed with {@link BulkheadFullException}
+   */
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "Bulkhead{maxConcurrent=" + maxConcurrent + ", available=" + available()
+        + ", waiting=" + waiting() + ", rejected=" + rejected() + '}';
+  }
+
+  /**
+   * Queued call. Permit is owned by waiter from grant till activation,
+   * so it's returned if call is cancelled in between.
+   */
+  final class Waiter {
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int ACTIVE = 2;
+    private static final int CANCELLED = 3;
+
+    private final MonoSink<Waiter> sink;
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+
+    private Waiter(MonoSink<Waiter> sink) {
+      this.sink = sink;
+    }
+
+    private boolean grant() {
+      if (state.compareAndSet(WAITING, GRANTED)) {
+        waiting.decrementAndGet();
+        sink.success(this);
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * @return true if caller took over granted permit and must release it
+     */
+    boolean activate() {
+      return state.compareAndSet(GRANTED, ACTIVE);
+    }
+
+    private void cancel() {
+      if (state.compareAndSet(WAITING, CANCELLED)) {
+        waiting.decrementAndGet();
+        waiters.remove(this);
+      } else if (state.compareAndSet(GRANTED, CANCELLED)) {
+        release();
+      }
+    }
+  }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.bulkhead;
+
+/**
+ * Call was rejected because all permits of {@link Bulkhead} were taken
+ * and it couldn't wait for one.
+ *
+ * @author Sergii Karpenko
+ */
+public class BulkheadFullException extends RuntimeException {
+
+  public BulkheadFullException(int maxConcurrent, int maxWaiting) {
+    // rejections are expected under overload, so stack trace is not filled
+    super("Bulkhead is full, maxConcurrent=" + maxConcurrent + ", maxWaiting=" + maxWaiting,
+        null, false, false);
+  }
+}
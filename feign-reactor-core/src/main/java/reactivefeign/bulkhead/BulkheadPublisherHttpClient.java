@@ -0,0 +1,109 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.bulkhead;
+
+import feign.MethodMetadata;
+import org.reactivestreams.Publisher;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.publisher.PublisherHttpClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static reactivefeign.utils.FeignUtils.returnPublisherType;
+
+/**
+ * Runs calls of method within {@link Bulkhead}. Permit is held till returned publisher terminates,
+ * so for {@link Flux} it covers whole body, and is released on error and cancel as well.
+ * Permit is released before terminal signal goes downstream, so caller may reuse it right away.
+ *
+ * @author Sergii Karpenko
+ */
+public class BulkheadPublisherHttpClient implements PublisherHttpClient {
+
+  private final PublisherHttpClient publisherClient;
+  private final Bulkhead bulkhead;
+  private final MethodMetrics metrics;
+  private final boolean mono;
+
+  public BulkheadPublisherHttpClient(PublisherHttpClient publisherClient, MethodMetadata methodMetadata,
+                                     Bulkhead bulkhead, MethodMetrics metrics) {
+    this.publisherClient = publisherClient;
+    this.bulkhead = bulkhead;
+    this.metrics = metrics;
+    this.mono = returnPublisherType(methodMetadata) == Mono.class;
+  }
+
+  @Override
+  public Publisher<?> executeRequest(ReactiveHttpRequest request) {
+    if (mono) {
+      return Mono.defer(() -> {
+        // permit taken and call subscribed in one step, no window to lose permit on cancel
+        if (bulkhead.tryAcquire()) {
+          return execute(request);
+        }
+        return bulkhead.waitForPermit()
+            .doOnError(BulkheadFullException.class, e -> metrics.requestRejected())
+            .flatMap(waiter -> waiter.activate() ? execute(request) : Mono.empty());
+      });
+    } else {
+      return Flux.defer(() -> {
+        if (bulkhead.tryAcquire()) {
+          return executeMany(request);
+        }
+        return bulkhead.waitForPermit()
+            .doOnError(BulkheadFullException.class, e -> metrics.requestRejected())
+            .flatMapMany(waiter -> waiter.activate() ? executeMany(request) : Flux.empty());
+      });
+    }
+  }
+
+  private Mono<Object> execute(ReactiveHttpRequest request) {
+    Permit permit = new Permit();
+    return Mono.from(call(request))
+        .doOnSuccess(result -> permit.release())
+        .doOnError(error -> permit.release())
+        .doOnCancel(permit::release);
+  }
+
+  private Flux<Object> executeMany(ReactiveHttpRequest request) {
+    Permit permit = new Permit();
+    return Flux.from(call(request))
+        .doOnComplete(permit::release)
+        .doOnError(error -> permit.release())
+        .doOnCancel(permit::release);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Publisher<Object> call(ReactiveHttpRequest request) {
+    try {
+      return (Publisher<Object>) publisherClient.executeRequest(request);
+    } catch (Throwable t) {
+      return Mono.error(t);
+    }
+  }
+
+  private final class Permit {
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private void release() {
+      // cancel may follow value of Mono
+      if (released.compareAndSet(false, true)) {
+        bulkhead.release();
+      }
+    }
+  }
+}
@@ -0,0 +1,315 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.cache;
+
+import feign.Feign;
+import feign.MethodMetadata;
+import org.reactivestreams.Publisher;
+import reactivefeign.cache.ResponseCache.CachedResponse;
+import reactivefeign.client.ReactiveHttpClient;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Serves GET responses from {@link ResponseCache} according to HTTP caching semantics:
+ * fresh entries (by {@code Cache-Control: max-age} and {@code Age}) are returned without request,
+ * stale entries with {@code ETag} are revalidated with {@code If-None-Match}
+ * and 304 Not Modified response is served from cache.
+ * Responses with {@code no-store} are never cached, {@code no-cache} ones are always revalidated.
+ * <p>
+ * Cache is shared by all callers of client, so {@code private} and {@code Vary: *} responses are not stored.
+ * Values of request headers named by {@code Vary} are part of entry key,
+ * cache keeps names of these headers for uri to select variant.
+ *
+ * @author Sergii Karpenko
+ */
+public class CachingReactiveHttpClient implements ReactiveHttpClient {
+
+  static final String CACHE_CONTROL = "Cache-Control";
+  static final String AGE = "Age";
+  static final String ETAG = "ETag";
+  static final String IF_NONE_MATCH = "If-None-Match";
+  static final String VARY = "Vary";
+
+  private static final int OK = 200;
+  private static final int NOT_MODIFIED = 304;
+
+  private final ReactiveHttpClient reactiveClient;
+  private final ResponseCache cache;
+
+  /**
+   * @return client that caches responses if method is annotated with {@link HttpCacheable},
+   * or unchanged client otherwise
+   */
+  public static ReactiveHttpClient cache(ReactiveHttpClient reactiveClient,
+                                         MethodMetadata methodMetadata,
+                                         Class<?> apiType,
+                                         ResponseCache cache) {
+    return isCacheable(apiType, methodMetadata)
+        ? new CachingReactiveHttpClient(reactiveClient, cache)
+        : reactiveClient;
+  }
+
+  private CachingReactiveHttpClient(ReactiveHttpClient reactiveClient, ResponseCache cache) {
+    this.reactiveClient = reactiveClient;
+    this.cache = cache;
+  }
+
+  static boolean isCacheable(Class<?> apiType, MethodMetadata methodMetadata) {
+    if (apiType == null) {
+      return false;
+    }
+    for (Method method : apiType.getMethods()) {
+      if (method.isAnnotationPresent(HttpCacheable.class)
+          && Feign.configKey(apiType, method).equals(methodMetadata.configKey())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Mono<ReactiveHttpResponse> executeRequest(ReactiveHttpRequest request) {
+    if (!"GET".equals(request.method())) {
+      return reactiveClient.executeRequest(request);
+    }
+
+    return Mono.defer(() -> {
+      String uri = request.uriString();
+      String key = uri;
+      List<String> varyHeaders = cache.varyHeaders(uri);
+      if (varyHeaders != null) {
+        key = variantKey(uri, varyHeaders, request.headers());
+      }
+      CachedResponse cached = cache.get(key);
+      if (cached == null) {
+        return fetch(uri, request);
+      }
+      if (cached.isFresh(System.nanoTime())) {
+        cache.stats().recordHit();
+        return Mono.<ReactiveHttpResponse>just(new CachedReactiveHttpResponse(cached));
+      }
+      if (cached.etag != null) {
+        return revalidate(uri, key, request, cached);
+      }
+      return fetch(uri, request);
+    });
+  }
+
+  private Mono<ReactiveHttpResponse> fetch(String uri, ReactiveHttpRequest request) {
+    return reactiveClient.executeRequest(request)
+        .flatMap(response -> store(uri, request, response));
+  }
+
+  private Mono<ReactiveHttpResponse> revalidate(String uri, String key, ReactiveHttpRequest request,
+                                                CachedResponse cached) {
+    Map<String, List<String>> headers = new LinkedHashMap<>(request.headers());
+    headers.put(IF_NONE_MATCH, singletonList(cached.etag));
+    ReactiveHttpRequest conditional = new ReactiveHttpRequest(
+        request.method(), request.baseUri(), request.pathAndQuery(), headers, request.body());
+
+    return reactiveClient.executeRequest(conditional)
+        .flatMap(response -> {
+          if (response.status() != NOT_MODIFIED) {
+            return store(uri, request, response);
+          }
+          CacheControl cacheControl = CacheControl.parse(response.headers());
+          CachedResponse refreshed = cached.revalidated(cacheControl.expiresAtNanos());
+          cache.replace(key, cached, refreshed);
+          cache.stats().recordRevalidation();
+          //release 304 response, it has no body
+          return Mono.from(response.body())
+              .onErrorResume(throwable -> Mono.empty())
+              .then(Mono.<ReactiveHttpResponse>just(new CachedReactiveHttpResponse(refreshed)));
+        });
+  }
+
+  private Mono<ReactiveHttpResponse> store(String uri, ReactiveHttpRequest request,
+                                           ReactiveHttpResponse response) {
+    cache.stats().recordMiss();
+    if (response.status() != OK) {
+      cache.remove(uri);
+      return Mono.just(response);
+    }
+
+    CacheControl cacheControl = CacheControl.parse(response.headers());
+    String etag = header(response.headers(), ETAG);
+    List<String> varyHeaders = varyHeaders(response.headers());
+    if (cacheControl.noStore || cacheControl.privateResponse
+        || varyHeaders.contains("*")
+        || (cacheControl.maxAgeSeconds <= 0 && etag == null)) {
+      cache.remove(uri);
+      return Mono.just(response);
+    }
+
+    return Mono.from(response.body())
+        .map(Optional::<Object>of)
+        .defaultIfEmpty(Optional.empty())
+        .<ReactiveHttpResponse>map(body -> {
+          CachedResponse cached = new CachedResponse(response.status(),
+              response.headers(), body.orElse(null), etag, cacheControl.expiresAtNanos());
+          if (varyHeaders.isEmpty()) {
+            cache.put(uri, cached);
+          } else {
+            cache.putVariant(uri, varyHeaders,
+                variantKey(uri, varyHeaders, request.headers()), cached);
+          }
+          return new CachedReactiveHttpResponse(cached);
+        });
+  }
+
+  /**
+   * @return lower case names of headers listed in Vary response header
+   */
+  static List<String> varyHeaders(Map<String, List<String>> responseHeaders) {
+    String vary = header(responseHeaders, VARY);
+    if (vary == null) {
+      return Collections.emptyList();
+    }
+    List<String> names = new ArrayList<>();
+    for (String name : vary.split(",")) {
+      name = name.trim().toLowerCase();
+      if (!name.isEmpty()) {
+        names.add(name);
+      }
+    }
+    return names;
+  }
+
+  /**
+   * @return key of response variant selected by values of request headers
+   */
+  static String variantKey(String uri, List<String> varyHeaders, Map<String, List<String>> requestHeaders) {
+    StringBuilder key = new StringBuilder(uri);
+    for (String name : varyHeaders) {
+      String value = header(requestHeaders, name);
+      key.append('\n').append(name).append(':').append(value != null ? value : "");
+    }
+    return key.toString();
+  }
+
+  static String header(Map<String, List<String>> headers, String name) {
+    List<String> values = headers.get(name);
+    if (values == null) {
+      for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+        if (name.equalsIgnoreCase(entry.getKey())) {
+          values = entry.getValue();
+          break;
+        }
+      }
+    }
+    return values == null || values.isEmpty() ? null : String.join(",", values);
+  }
+
+  /**
+   * Freshness directives of response
+   */
+  static final class CacheControl {
+    final boolean noStore;
+    final boolean privateResponse;
+    final long maxAgeSeconds;
+
+    private CacheControl(boolean noStore, boolean privateResponse, long maxAgeSeconds) {
+      this.noStore = noStore;
+      this.privateResponse = privateResponse;
+      this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    static CacheControl parse(Map<String, List<String>> headers) {
+      boolean noStore = false;
+      boolean privateResponse = false;
+      boolean noCache = false;
+      long maxAge = 0;
+
+      String cacheControl = header(headers, CACHE_CONTROL);
+      if (cacheControl != null) {
+        for (String directive : cacheControl.split(",")) {
+          directive = directive.trim().toLowerCase();
+          if (directive.equals("no-store")) {
+            noStore = true;
+          } else if (directive.equals("private") || directive.startsWith("private=")) {
+            privateResponse = true;
+          } else if (directive.equals("no-cache")) {
+            noCache = true;
+          } else if (directive.startsWith("max-age=")) {
+            maxAge = parseSeconds(directive.substring("max-age=".length()));
+          }
+        }
+      }
+
+      String age = header(headers, AGE);
+      if (age != null) {
+        maxAge -= parseSeconds(age);
+      }
+
+      return new CacheControl(noStore, privateResponse, noCache ? 0 : Math.max(maxAge, 0));
+    }
+
+    private static long parseSeconds(String value) {
+      try {
+        return Long.parseLong(value.trim().replace("\"", ""));
+      } catch (NumberFormatException e) {
+        return 0;
+      }
+    }
+
+    long expiresAtNanos() {
+      return System.nanoTime() + TimeUnit.SECONDS.toNanos(maxAgeSeconds);
+    }
+  }
+
+  /**
+   * Response built from cache entry, body is already decoded
+   */
+  static final class CachedReactiveHttpResponse implements ReactiveHttpResponse {
+
+    private final CachedResponse cached;
+
+    CachedReactiveHttpResponse(CachedResponse cached) {
+      this.cached = cached;
+    }
+
+    @Override
+    public int status() {
+      return cached.status;
+    }
+
+    @Override
+    public Map<String, List<String>> headers() {
+      return Collections.unmodifiableMap(cached.headers);
+    }
+
+    @Override
+    public Publisher<?> body() {
+      return Mono.justOrEmpty(cached.body);
+    }
+
+    @Override
+    public Mono<byte[]> bodyData() {
+      return Mono.empty();
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks GET method returning {@link reactor.core.publisher.Mono} which responses may be cached
+ * according to Cache-Control and ETag headers. Has effect only if {@link ResponseCache} is set
+ * on builder.
+ *
+ * @author Sergii Karpenko
+ */
+@Documented
+@Target(METHOD)
+@Retention(RUNTIME)
+public @interface HttpCacheable {
+}
@@ -0,0 +1,348 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.cache;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+import static feign.Util.checkArgument;
+
+/**
+ * Bounded LRU cache of decoded response bodies shared by all cacheable methods of client.
+ * Size of entries is measured by weigher, entries are evicted in least recently used order
+ * when total weight exceeds maximum.
+ * <p>
+ * Lookups don't lock: entries are read from concurrent map and reads are recorded in buffer,
+ * that is applied to access order when cache is modified (or when buffer fills up).
+ * Names of {@code Vary} headers of uri are kept aside of entries, so they don't count in size,
+ * and are dropped together with all variants of uri.
+ *
+ * @author Sergii Karpenko
+ */
+public class ResponseCache {
+
+  private static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+  private static final int READ_BUFFER_MAX_SIZE = 1024;
+
+  private final long maxWeight;
+  private final ToLongFunction<Object> weigher;
+  private final ResponseCacheStats stats = new ResponseCacheStats();
+
+  private final Map<String, Node> entries = new ConcurrentHashMap<>();
+  private final Map<String, Variants> variants = new ConcurrentHashMap<>();
+
+  private final Queue<Node> readBuffer = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger readBufferSize = new AtomicInteger();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  // guarded by lock
+  private final LinkedHashMap<String, Node> accessOrder = new LinkedHashMap<>(16, 0.75f, true);
+  // guarded by lock
+  private long weight;
+
+  /**
+   * @param maxWeight maximum total weight of cached bodies
+   * @param weigher weight of decoded body, for example estimated size in bytes
+   */
+  public ResponseCache(long maxWeight, ToLongFunction<Object> weigher) {
+    checkArgument(maxWeight > 0, "maxWeight should be positive");
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+  }
+
+  /**
+   * Cache limited by number of entries
+   */
+  public ResponseCache(int maxEntries) {
+    this(maxEntries, body -> 1);
+  }
+
+  public ResponseCacheStats stats() {
+    return stats;
+  }
+
+  CachedResponse get(String key) {
+    Node node = entries.get(key);
+    if (node == null) {
+      return null;
+    }
+    afterRead(node);
+    return node.response;
+  }
+
+  /**
+   * @return lower case names of headers that select variant of response for uri,
+   * or null if response of uri doesn't vary
+   */
+  List<String> varyHeaders(String uri) {
+    Variants uriVariants = variants.get(uri);
+    return uriVariants != null ? uriVariants.varyHeaders : null;
+  }
+
+  /**
+   * Stores response that doesn't vary, variants previously stored for uri are dropped.
+   */
+  void put(String uri, CachedResponse response) {
+    long responseWeight = weight(response);
+    if (responseWeight > maxWeight) {
+      return;
+    }
+
+    int evicted;
+    lock.lock();
+    try {
+      drainReadBuffer();
+      removeVariants(uri);
+      evicted = insert(new Node(uri, null, response, responseWeight));
+    } finally {
+      lock.unlock();
+    }
+    recordEvictions(evicted);
+  }
+
+  /**
+   * Stores variant of response for uri selected by values of vary headers.
+   * Entries of uri stored with other vary headers are dropped.
+   */
+  void putVariant(String uri, List<String> varyHeaders, String key, CachedResponse response) {
+    long responseWeight = weight(response);
+    if (responseWeight > maxWeight) {
+      return;
+    }
+
+    int evicted;
+    lock.lock();
+    try {
+      drainReadBuffer();
+      Variants uriVariants = variants.get(uri);
+      if (uriVariants == null || !uriVariants.varyHeaders.equals(varyHeaders)) {
+        removeVariants(uri);
+        removeNode(uri);
+        uriVariants = new Variants(uri, varyHeaders);
+        variants.put(uri, uriVariants);
+      }
+      uriVariants.keys.add(key);
+      evicted = insert(new Node(key, uriVariants, response, responseWeight));
+    } finally {
+      lock.unlock();
+    }
+    recordEvictions(evicted);
+  }
+
+  /**
+   * Replaces entry only if it's still present, so revalidated entry is not brought back after eviction.
+   */
+  void replace(String key, CachedResponse expected, CachedResponse response) {
+    lock.lock();
+    try {
+      drainReadBuffer();
+      Node node = entries.get(key);
+      if (node != null && node.response == expected) {
+        Node replacement = new Node(key, node.variants, response, node.weight);
+        entries.put(key, replacement);
+        accessOrder.put(key, replacement);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes response of uri together with all its variants
+   */
+  void remove(String uri) {
+    lock.lock();
+    try {
+      removeVariants(uri);
+      removeNode(uri);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return number of cached responses
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  public void clear() {
+    lock.lock();
+    try {
+      entries.clear();
+      variants.clear();
+      accessOrder.clear();
+      readBuffer.clear();
+      readBufferSize.set(0);
+      weight = 0;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long weight(CachedResponse response) {
+    return response.body != null ? weigher.applyAsLong(response.body) : 0;
+  }
+
+  private void afterRead(Node node) {
+    // lossy under heavy load, access order is approximate then
+    if (readBufferSize.get() < READ_BUFFER_MAX_SIZE) {
+      readBuffer.offer(node);
+      readBufferSize.incrementAndGet();
+    }
+    if (readBufferSize.get() >= READ_BUFFER_DRAIN_THRESHOLD && lock.tryLock()) {
+      try {
+        drainReadBuffer();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  // should be called under lock
+  private void drainReadBuffer() {
+    Node node;
+    while ((node = readBuffer.poll()) != null) {
+      readBufferSize.decrementAndGet();
+      // moves entry to the end of access order
+      accessOrder.get(node.key);
+    }
+  }
+
+  // should be called under lock
+  private int insert(Node node) {
+    Node previous = entries.put(node.key, node);
+    accessOrder.put(node.key, node);
+    if (previous != null) {
+      weight -= previous.weight;
+    }
+    weight += node.weight;
+
+    int evicted = 0;
+    Iterator<Node> iterator = accessOrder.values().iterator();
+    while (weight > maxWeight && iterator.hasNext()) {
+      Node eldest = iterator.next();
+      iterator.remove();
+      entries.remove(eldest.key);
+      weight -= eldest.weight;
+      if (eldest.variants != null) {
+        removeVariantKey(eldest.variants, eldest.key);
+      }
+      evicted++;
+    }
+    return evicted;
+  }
+
+  // should be called under lock
+  private void removeNode(String key) {
+    Node removed = entries.remove(key);
+    if (removed != null) {
+      accessOrder.remove(key);
+      weight -= removed.weight;
+    }
+  }
+
+  // should be called under lock
+  private void removeVariants(String uri) {
+    Variants uriVariants = variants.remove(uri);
+    if (uriVariants != null) {
+      for (String key : uriVariants.keys) {
+        removeNode(key);
+      }
+    }
+  }
+
+  // should be called under lock
+  private void removeVariantKey(Variants uriVariants, String key) {
+    uriVariants.keys.remove(key);
+    if (uriVariants.keys.isEmpty()) {
+      variants.remove(uriVariants.uri, uriVariants);
+    }
+  }
+
+  private void recordEvictions(int evicted) {
+    for (int i = 0; i < evicted; i++) {
+      stats.recordEviction();
+    }
+  }
+
+  private static final class Node {
+    private final String key;
+    // not null for variant selected by vary headers
+    private final Variants variants;
+    private final CachedResponse response;
+    private final long weight;
+
+    private Node(String key, Variants variants, CachedResponse response, long weight) {
+      this.key = key;
+      this.variants = variants;
+      this.response = response;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * Vary headers of uri and keys of its cached variants
+   */
+  private static final class Variants {
+    private final String uri;
+    private final List<String> varyHeaders;
+    // guarded by lock
+    private final Set<String> keys = new HashSet<>();
+
+    private Variants(String uri, List<String> varyHeaders) {
+      this.uri = uri;
+      this.varyHeaders = varyHeaders;
+    }
+  }
+
+  /**
+   * Decoded response with its freshness
+   */
+  static final class CachedResponse {
+    final int status;
+    final Map<String, List<String>> headers;
+    final Object body;
+    final String etag;
+    final long expiresAtNanos;
+
+    CachedResponse(int status, Map<String, List<String>> headers, Object body,
+                   String etag, long expiresAtNanos) {
+      this.status = status;
+      this.headers = headers;
+      this.body = body;
+      this.etag = etag;
+      this.expiresAtNanos = expiresAtNanos;
+    }
+
+    boolean isFresh(long nowNanos) {
+      return nowNanos - expiresAtNanos < 0;
+    }
+
+    CachedResponse revalidated(long expiresAtNanos) {
+      return new CachedResponse(status, headers, body, etag, expiresAtNanos);
+    }
+  }
+}
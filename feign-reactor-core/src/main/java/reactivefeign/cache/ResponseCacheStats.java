@@ -0,0 +1,85 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of {@link ResponseCache}.
+ *
+ * @author Sergii Karpenko
+ */
+public class ResponseCacheStats {
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder revalidations = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  void recordHit() {
+    hits.increment();
+  }
+
+  void recordRevalidation() {
+    revalidations.increment();
+  }
+
+  void recordMiss() {
+    misses.increment();
+  }
+
+  void recordEviction() {
+    evictions.increment();
+  }
+
+  /**
+   * @return responses served from cache without request
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /**
+   * @return stale responses confirmed by server with 304 Not Modified
+   */
+  public long revalidations() {
+    return revalidations.sum();
+  }
+
+  /**
+   * @return responses received from server
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  public long evictions() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return share of calls served with cached body, including revalidated ones
+   */
+  public double hitRatio() {
+    long hits = hits() + revalidations();
+    long total = hits + misses();
+    return total == 0 ? 0 : (double) hits / total;
+  }
+
+  @Override
+  public String toString() {
+    return "ResponseCacheStats{hits=" + hits() + ", revalidations=" + revalidations()
+        + ", misses=" + misses() + ", evictions=" + evictions() + "}";
+  }
+}
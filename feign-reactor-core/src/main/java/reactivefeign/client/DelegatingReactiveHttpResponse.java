@@ -19,6 +19,9 @@ import java.util.List;
 import java.util.Map;
 
 /**
+ * Base for response decorators. {@link #bodyData(int)} goes through {@link #bodyData()} unless overridden,
+ * so decorator that wraps body data should override both.
+ *
  * @author Sergii Karpenko
  */
 abstract public class DelegatingReactiveHttpResponse implements ReactiveHttpResponse {
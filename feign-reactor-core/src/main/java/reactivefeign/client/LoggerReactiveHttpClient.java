@@ -35,7 +35,7 @@ import static reactor.core.publisher.Mono.just;
  */
 public class LoggerReactiveHttpClient implements ReactiveHttpClient {
 
-  private final org.slf4j.Logger logger = LoggerFactory.getLogger(LoggerReactiveHttpClient.class);
+  private static final org.slf4j.Logger logger = LoggerFactory.getLogger(LoggerReactiveHttpClient.class);
 
   private final ReactiveHttpClient reactiveClient;
   private final String methodTag;
@@ -44,6 +44,14 @@ public class LoggerReactiveHttpClient implements ReactiveHttpClient {
     return new LoggerReactiveHttpClient(reactiveClient, methodMetadata);
   }
 
+  /**
+   * Level is checked once when client is built, if neither debug nor trace is enabled
+   * logging decorator may be skipped altogether
+   */
+  public static boolean isLogEnabled() {
+    return logger.isDebugEnabled() || logger.isTraceEnabled();
+  }
+
   private LoggerReactiveHttpClient(ReactiveHttpClient reactiveClient,
       MethodMetadata methodMetadata) {
     this.reactiveClient = reactiveClient;
@@ -73,7 +81,7 @@ public class LoggerReactiveHttpClient implements ReactiveHttpClient {
           String feignMethodTag, ReactiveHttpRequest request) {
     if (logger.isDebugEnabled()) {
       logger.debug("[{}]--->{} {} HTTP/1.1", feignMethodTag, request.method(),
-          request.uri());
+          request.uriString());
     }
 
     if (logger.isTraceEnabled()) {
@@ -156,6 +164,11 @@ public class LoggerReactiveHttpClient implements ReactiveHttpClient {
       return publisher.doOnNext(responseBodyLogger(start));
     }
 
+    @Override
+    public Mono<byte[]> bodyData(int maxBytes) {
+      return getResponse().bodyData(maxBytes).doOnNext(responseBodyLogger(start));
+    }
+
     private Consumer<Object> responseBodyLogger(AtomicLong start) {
       return result -> logResponseBodyAndTime(methodTag, result,
           System.currentTimeMillis() - start.get());
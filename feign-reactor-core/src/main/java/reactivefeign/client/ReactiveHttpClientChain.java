@@ -0,0 +1,109 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Ordered list of decorators applied to {@link ReactiveHttpClient} of method.
+ * When optimized, inactive stages are dropped and consecutive response mappers
+ * are fused into single {@code map} operator, so every call pays only for decorators
+ * that actually do something.
+ *
+ * @author Sergii Karpenko
+ */
+public class ReactiveHttpClientChain {
+
+  private final boolean optimize;
+  private final List<Object> stages = new ArrayList<>();
+
+  public ReactiveHttpClientChain(boolean optimize) {
+    this.optimize = optimize;
+  }
+
+  /**
+   * @param decorator wraps client built by previous stages
+   */
+  public ReactiveHttpClientChain decorate(UnaryOperator<ReactiveHttpClient> decorator) {
+    return decorate(decorator, true);
+  }
+
+  /**
+   * @param active if false stage is dropped from optimized chain
+   */
+  public ReactiveHttpClientChain decorate(UnaryOperator<ReactiveHttpClient> decorator, boolean active) {
+    if (active || !optimize) {
+      stages.add(decorator);
+    }
+    return this;
+  }
+
+  public ReactiveHttpClientChain mapResponse(Function<ReactiveHttpResponse, ReactiveHttpResponse> mapper) {
+    stages.add(new ResponseMapper(mapper));
+    return this;
+  }
+
+  @SuppressWarnings("unchecked")
+  public ReactiveHttpClient apply(ReactiveHttpClient reactiveClient) {
+    List<Function<ReactiveHttpResponse, ReactiveHttpResponse>> mappers = new ArrayList<>();
+    for (Object stage : stages) {
+      if (stage instanceof ResponseMapper) {
+        mappers.add(((ResponseMapper) stage).mapper);
+        if (!optimize) {
+          reactiveClient = map(reactiveClient, mappers);
+        }
+      } else {
+        reactiveClient = map(reactiveClient, mappers);
+        reactiveClient = ((UnaryOperator<ReactiveHttpClient>) stage).apply(reactiveClient);
+      }
+    }
+    return map(reactiveClient, mappers);
+  }
+
+  private static ReactiveHttpClient map(ReactiveHttpClient reactiveClient,
+                                        List<Function<ReactiveHttpResponse, ReactiveHttpResponse>> mappers) {
+    if (mappers.isEmpty()) {
+      return reactiveClient;
+    }
+    Function<ReactiveHttpResponse, ReactiveHttpResponse> mapper = fuse(mappers);
+    mappers.clear();
+    return request -> reactiveClient.executeRequest(request).map(mapper);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<ReactiveHttpResponse, ReactiveHttpResponse> fuse(
+      List<Function<ReactiveHttpResponse, ReactiveHttpResponse>> mappers) {
+    if (mappers.size() == 1) {
+      return mappers.get(0);
+    }
+    Function<ReactiveHttpResponse, ReactiveHttpResponse>[] fused = mappers.toArray(new Function[0]);
+    return response -> {
+      for (Function<ReactiveHttpResponse, ReactiveHttpResponse> mapper : fused) {
+        response = mapper.apply(response);
+      }
+      return response;
+    };
+  }
+
+  private static final class ResponseMapper {
+    private final Function<ReactiveHttpResponse, ReactiveHttpResponse> mapper;
+
+    private ResponseMapper(Function<ReactiveHttpResponse, ReactiveHttpResponse> mapper) {
+      this.mapper = mapper;
+    }
+  }
+}
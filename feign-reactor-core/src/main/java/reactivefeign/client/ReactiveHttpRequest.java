@@ -23,30 +23,56 @@ import static feign.Util.checkNotNull;
 
 /**
  * An immutable reactive request to an http server.
- * 
+ * <p>
+ * Keeps base uri of target (parsed once per target) and expanded path with query separately.
+ * Full {@link URI} is built lazily only if {@link #uri()} is requested,
+ * backends may use {@link #scheme()}, {@link #host()}, {@link #port()} and {@link #requestTarget()} instead.
+ *
  * @author Sergii Karpenko
  */
 public final class ReactiveHttpRequest {
 
   private final String method;
-  private final URI uri;
+  private final URI baseUri;
+  private final String pathAndQuery;
   private final Map<String, List<String>> headers;
   private final Publisher<Object> body;
 
+  private volatile URI uri;
+
   /**
    * No parameters can be null except {@code body}. All parameters must be effectively immutable,
    * via safe copies, not mutating or otherwise.
    */
   public ReactiveHttpRequest(String method, URI uri,
       Map<String, List<String>> headers, Publisher<Object> body) {
-    this.method = checkNotNull(method, "method of %s", uri);
-    this.uri = checkNotNull(uri, "url");
-    this.headers = checkNotNull(headers, "headers of %s %s", method, uri);
+    this(method, uri, "", headers, body);
+    this.uri = uri;
+  }
+
+  /**
+   * @param baseUri parsed uri of target
+   * @param pathAndQuery already expanded path with query line that is appended to base uri
+   */
+  public ReactiveHttpRequest(String method, URI baseUri, String pathAndQuery,
+      Map<String, List<String>> headers, Publisher<Object> body) {
+    this.method = checkNotNull(method, "method of %s", baseUri);
+    this.baseUri = checkNotNull(baseUri, "url");
+    this.pathAndQuery = checkNotNull(pathAndQuery, "path of %s", baseUri);
+    this.headers = checkNotNull(headers, "headers of %s %s", method, baseUri);
     this.body = body; // nullable
   }
 
   public ReactiveHttpRequest(ReactiveHttpRequest request, Publisher<Object> body){
-     this(request.method, request.uri, request.headers, body);
+     this(request.method, request.baseUri, request.pathAndQuery, request.headers, body);
+     this.uri = request.uri;
+  }
+
+  /**
+   * @return copy of request with base uri replaced, path and query are kept
+   */
+  public ReactiveHttpRequest withBaseUri(URI baseUri){
+    return new ReactiveHttpRequest(method, baseUri, pathAndQuery, headers, body);
   }
 
   /* Method to invoke on the server. */
@@ -54,11 +80,68 @@ public final class ReactiveHttpRequest {
     return method;
   }
 
-  /* Fully resolved URL including query. */
+  /* Fully resolved URL including query. Built on first call. */
   public URI uri() {
+    URI uri = this.uri;
+    if (uri == null) {
+      uri = pathAndQuery.isEmpty() ? baseUri : resolveUri();
+      this.uri = uri;
+    }
     return uri;
   }
 
+  /**
+   * Only path and query are parsed, scheme and authority are taken from already parsed base uri.
+   */
+  private URI resolveUri() {
+    String requestTarget = requestTarget();
+    if (baseUri.isOpaque() || baseUri.getRawQuery() != null || baseUri.getRawFragment() != null
+        || !requestTarget.startsWith("/") || requestTarget.startsWith("//")) {
+      return URI.create(uriString());
+    }
+    return baseUri.resolve(URI.create(requestTarget));
+  }
+
+  /* Fully resolved URL including query, doesn't require parsing. */
+  public String uriString() {
+    return pathAndQuery.isEmpty()
+        ? baseUri.toString()
+        : baseUri.toString() + pathAndQuery;
+  }
+
+  /* Uri of target that path and query are appended to. */
+  public URI baseUri() {
+    return baseUri;
+  }
+
+  /* Expanded path and query line relative to base uri. */
+  public String pathAndQuery() {
+    return pathAndQuery;
+  }
+
+  /* Path of target followed by expanded path and query, as sent in request line. */
+  public String requestTarget() {
+    String basePath = baseUri.getRawPath() != null ? baseUri.getRawPath() : "";
+    if (pathAndQuery.isEmpty()) {
+      String query = baseUri.getRawQuery();
+      return query == null ? basePath : basePath + "?" + query;
+    }
+    return basePath + pathAndQuery;
+  }
+
+  public String scheme() {
+    return baseUri.getScheme();
+  }
+
+  public String host() {
+    return baseUri.getHost();
+  }
+
+  /* Port of target or -1 if not defined. */
+  public int port() {
+    return baseUri.getPort();
+  }
+
   /* Ordered list of headers that will be sent to the server. */
   public Map<String, List<String>> headers() {
     return headers;
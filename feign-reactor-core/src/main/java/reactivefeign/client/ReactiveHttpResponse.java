@@ -14,6 +14,7 @@
 package reactivefeign.client;
 
 import org.reactivestreams.Publisher;
+import reactivefeign.utils.BodyUtils;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -38,4 +39,14 @@ public interface ReactiveHttpResponse {
    * @return error message data
    */
   Mono<byte[]> bodyData();
+
+  /**
+   * used by error decoders, rest of the body is released without buffering
+   *
+   * @param maxBytes max size of returned data, 0 to release body without reading
+   * @return at most maxBytes of error message data
+   */
+  default Mono<byte[]> bodyData(int maxBytes) {
+    return bodyData().map(data -> BodyUtils.truncate(data, maxBytes));
+  }
 }
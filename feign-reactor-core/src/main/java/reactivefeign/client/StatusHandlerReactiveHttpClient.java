@@ -19,6 +19,8 @@ import reactivefeign.client.statushandler.ReactiveStatusHandler;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.function.Function;
+
 import static reactivefeign.utils.FeignUtils.methodTag;
 
 /**
@@ -27,40 +29,35 @@ import static reactivefeign.utils.FeignUtils.methodTag;
  * @author Sergii Karpenko
  */
 
-public class StatusHandlerReactiveHttpClient implements ReactiveHttpClient {
-
-  private final ReactiveHttpClient reactiveClient;
-  private final String methodTag;
-
-  private final ReactiveStatusHandler statusHandler;
+public class StatusHandlerReactiveHttpClient {
 
   public static ReactiveHttpClient handleStatus(
           ReactiveHttpClient reactiveClient,
           MethodMetadata methodMetadata,
           ReactiveStatusHandler statusHandler) {
-    return new StatusHandlerReactiveHttpClient(reactiveClient, methodMetadata, statusHandler);
-  }
-
-  private StatusHandlerReactiveHttpClient(ReactiveHttpClient reactiveClient,
-                                          MethodMetadata methodMetadata,
-                                          ReactiveStatusHandler statusHandler) {
-    this.reactiveClient = reactiveClient;
-    this.methodTag = methodTag(methodMetadata);
-    this.statusHandler = statusHandler;
+    Function<ReactiveHttpResponse, ReactiveHttpResponse> statusMapper
+        = statusMapper(methodMetadata, statusHandler);
+    return request -> reactiveClient.executeRequest(request).map(statusMapper);
   }
 
-  @Override
-  public Mono<ReactiveHttpResponse> executeRequest(ReactiveHttpRequest request) {
-    return reactiveClient.executeRequest(request).map(response -> {
+  /**
+   * Status handling as response mapper, so it may be fused with other mappers
+   * in {@link ReactiveHttpClientChain}
+   */
+  public static Function<ReactiveHttpResponse, ReactiveHttpResponse> statusMapper(
+          MethodMetadata methodMetadata,
+          ReactiveStatusHandler statusHandler) {
+    String methodTag = methodTag(methodMetadata);
+    return response -> {
       if (statusHandler.shouldHandle(response.status())) {
         return new ErrorReactiveHttpResponse(response, statusHandler.decode(methodTag, response));
       } else {
         return response;
       }
-    });
+    };
   }
 
-  private class ErrorReactiveHttpResponse extends DelegatingReactiveHttpResponse {
+  private static class ErrorReactiveHttpResponse extends DelegatingReactiveHttpResponse {
 
     private final Mono<? extends Throwable> error;
 
@@ -77,6 +74,11 @@ public class StatusHandlerReactiveHttpClient implements ReactiveHttpClient {
         return error.flatMapMany(Flux::error);
       }
     }
+
+    @Override
+    public Mono<byte[]> bodyData(int maxBytes) {
+      return getResponse().bodyData(maxBytes);
+    }
   }
 
 }
@@ -19,16 +19,32 @@ import org.apache.commons.httpclient.HttpStatus;
 import reactivefeign.client.ReactiveHttpResponse;
 import reactor.core.publisher.Mono;
 
-import java.util.Map;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
+import static feign.Util.checkArgument;
+import static java.util.Collections.unmodifiableMap;
 import static reactivefeign.utils.HttpUtils.familyOf;
 
 public class ReactiveStatusHandlers {
 
+  private static final byte[] EMPTY_BODY = new byte[0];
+
+  /**
+   * Max size of error body passed to {@link ErrorDecoder} by default
+   */
+  public static final int DEFAULT_MAX_ERROR_BODY_SIZE = 16 * 1024;
+
   public static ReactiveStatusHandler defaultFeign(ErrorDecoder errorDecoder) {
+    return defaultFeign(errorDecoder, DEFAULT_MAX_ERROR_BODY_SIZE);
+  }
+
+  /**
+   * @param maxErrorBodySize error body is truncated to this size and the rest of it is released
+   *                         without buffering, 0 means that body is not read at all
+   */
+  public static ReactiveStatusHandler defaultFeign(ErrorDecoder errorDecoder, int maxErrorBodySize) {
+    checkArgument(maxErrorBodySize >= 0, "maxErrorBodySize should not be negative");
     return new ReactiveStatusHandler() {
 
       @Override
@@ -38,20 +54,26 @@ public class ReactiveStatusHandlers {
 
       @Override
       public Mono<? extends Throwable> decode(String methodTag, ReactiveHttpResponse response) {
-        return response.bodyData()
-                .defaultIfEmpty(new byte[0])
-                .map(bodyData -> errorDecoder.decode(methodTag,
-                        Response.builder().status(response.status())
-                                .reason(HttpStatus.getStatusText(response.status()))
-                                .headers(response.headers().entrySet()
-                                        .stream()
-                                        .collect(Collectors.toMap(Map.Entry::getKey,
-                                                Map.Entry::getValue)))
-                                .body(bodyData).build()));
+        return response.bodyData(maxErrorBodySize)
+                .defaultIfEmpty(EMPTY_BODY)
+                .map(bodyData -> errorDecoder.decode(methodTag, Response.builder()
+                        .status(response.status())
+                        .reason(HttpStatus.getStatusText(response.status()))
+                        .headers(unmodifiableMap(response.headers()))
+                        .body(bodyData)
+                        .build()));
       }
     };
   }
 
+  /**
+   * Fast path for error decoders that look only at status and headers:
+   * error body is released without reading.
+   */
+  public static ReactiveStatusHandler statusOnly(ErrorDecoder errorDecoder) {
+    return defaultFeign(errorDecoder, 0);
+  }
+
   public static ReactiveStatusHandler throwOnStatus(
           Predicate<Integer> statusPredicate,
           BiFunction<String, ReactiveHttpResponse, Throwable> errorFunction) {
@@ -0,0 +1,75 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.deadline;
+
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Point in time by which whole call, all retries and backup requests included, must complete.
+ * Carried in Reactor {@link Context} by {@link Deadline} class key, so it's set by caller with
+ * <pre>
+ *   client.findOrder(1).subscriberContext(Deadline.within(Duration.ofMillis(300)))
+ * </pre>
+ * Every request of call gets only time that is left till deadline.
+ *
+ * @author Sergii Karpenko
+ */
+public final class Deadline {
+
+  private final long deadlineNanos;
+
+  private Deadline(long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  public static Deadline after(Duration timeout) {
+    return new Deadline(System.nanoTime() + timeout.toNanos());
+  }
+
+  /**
+   * @return context modifier that sets deadline in given time from subscription,
+   * unless context already has earlier one
+   */
+  public static Function<Context, Context> within(Duration timeout) {
+    long timeoutNanos = timeout.toNanos();
+    return context -> withEarliest(context, System.nanoTime() + timeoutNanos);
+  }
+
+  static Context withEarliest(Context context, long deadlineNanos) {
+    Deadline current = context.getOrDefault(Deadline.class, null);
+    if (current != null && current.deadlineNanos - deadlineNanos <= 0) {
+      return context;
+    }
+    return context.put(Deadline.class, new Deadline(deadlineNanos));
+  }
+
+  /**
+   * @return time left, zero or negative if deadline has passed
+   */
+  public long remainingNanos() {
+    return deadlineNanos - System.nanoTime();
+  }
+
+  public boolean isExpired() {
+    return remainingNanos() <= 0;
+  }
+
+  @Override
+  public String toString() {
+    return "Deadline{remainingMillis=" + remainingNanos() / 1_000_000 + '}';
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.deadline;
+
+import feign.Feign;
+import feign.MethodMetadata;
+import org.reactivestreams.Publisher;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.publisher.PublisherHttpClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Sets {@link Deadline} of whole call of method annotated with {@link CallTimeout}.
+ *
+ * @author Sergii Karpenko
+ */
+public class DeadlinePublisherHttpClient implements PublisherHttpClient {
+
+  private final PublisherHttpClient publisherClient;
+  private final Function<Context, Context> deadline;
+
+  /**
+   * @return client that sets deadline if method is annotated with {@link CallTimeout},
+   * or unchanged client otherwise
+   */
+  public static PublisherHttpClient callTimeout(PublisherHttpClient publisherClient,
+                                                MethodMetadata methodMetadata,
+                                                Class<?> apiType) {
+    CallTimeout callTimeout = callTimeout(apiType, methodMetadata);
+    return callTimeout != null
+        ? new DeadlinePublisherHttpClient(publisherClient, Duration.ofMillis(callTimeout.value()))
+        : publisherClient;
+  }
+
+  private DeadlinePublisherHttpClient(PublisherHttpClient publisherClient, Duration timeout) {
+    this.publisherClient = publisherClient;
+    this.deadline = Deadline.within(timeout);
+  }
+
+  static CallTimeout callTimeout(Class<?> apiType, MethodMetadata methodMetadata) {
+    if (apiType == null) {
+      return null;
+    }
+    for (Method method : apiType.getMethods()) {
+      CallTimeout callTimeout = method.getAnnotation(CallTimeout.class);
+      if (callTimeout != null
+          && Feign.configKey(apiType, method).equals(methodMetadata.configKey())) {
+        return callTimeout;
+      }
+    }
+    return null;
+  }
+
+  public static boolean hasCallTimeout(Class<?> apiType, MethodMetadata methodMetadata) {
+    return callTimeout(apiType, methodMetadata) != null;
+  }
+
+  @Override
+  public Publisher<?> executeRequest(ReactiveHttpRequest request) {
+    Publisher<?> publisher = publisherClient.executeRequest(request);
+    if (publisher instanceof Mono) {
+      return ((Mono<?>) publisher).subscriberContext(deadline);
+    } else {
+      return Flux.from(publisher).subscriberContext(deadline);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.deadline;
+
+import feign.MethodMetadata;
+import org.reactivestreams.Publisher;
+import reactivefeign.client.DelegatingReactiveHttpResponse;
+import reactivefeign.client.ReactiveHttpClient;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static reactivefeign.utils.FeignUtils.methodTag;
+
+/**
+ * Limits every request by time left till {@link Deadline} found in Reactor context.
+ * Request is not sent if deadline has passed. Optionally forwards time left in milliseconds
+ * to server in header, so it may propagate deadline further.
+ * Body of {@link Mono} is limited as well, streamed body is not cut.
+ *
+ * @author Sergii Karpenko
+ */
+public class DeadlineReactiveHttpClient implements ReactiveHttpClient {
+
+  private final ReactiveHttpClient reactiveClient;
+  private final String feignMethodTag;
+  private final String remainingTimeHeader;
+
+  /**
+   * @param remainingTimeHeader name of header with time left, or null not to send it
+   */
+  public static ReactiveHttpClient deadline(ReactiveHttpClient reactiveClient,
+                                            MethodMetadata methodMetadata,
+                                            String remainingTimeHeader) {
+    return new DeadlineReactiveHttpClient(reactiveClient, methodTag(methodMetadata), remainingTimeHeader);
+  }
+
+  private DeadlineReactiveHttpClient(ReactiveHttpClient reactiveClient, String feignMethodTag,
+                                     String remainingTimeHeader) {
+    this.reactiveClient = reactiveClient;
+    this.feignMethodTag = feignMethodTag;
+    this.remainingTimeHeader = remainingTimeHeader;
+  }
+
+  @Override
+  public Mono<ReactiveHttpResponse> executeRequest(ReactiveHttpRequest request) {
+    return Mono.subscriberContext().flatMap(context -> {
+      Deadline deadline = context.getOrDefault(Deadline.class, null);
+      if (deadline == null) {
+        return reactiveClient.executeRequest(request);
+      }
+      long remainingNanos = deadline.remainingNanos();
+      if (remainingNanos <= 0) {
+        return Mono.error(new DeadlineExceededException(feignMethodTag));
+      }
+      ReactiveHttpRequest limitedRequest = remainingTimeHeader != null
+          ? withRemainingTime(request, remainingNanos)
+          : request;
+      return reactiveClient.executeRequest(limitedRequest)
+          .timeout(Duration.ofNanos(remainingNanos), exceeded())
+          .map(response -> new DeadlineReactiveHttpResponse(response, deadline));
+    });
+  }
+
+  private ReactiveHttpRequest withRemainingTime(ReactiveHttpRequest request, long remainingNanos) {
+    // request is shared by retries and backup requests, so headers are copied
+    Map<String, List<String>> headers = new LinkedHashMap<>(request.headers());
+    headers.put(remainingTimeHeader, Collections.singletonList(
+        Long.toString(TimeUnit.NANOSECONDS.toMillis(remainingNanos))));
+    return new ReactiveHttpRequest(request.method(), request.baseUri(), request.pathAndQuery(),
+        headers, request.body());
+  }
+
+  private <T> Mono<T> exceeded() {
+    return Mono.defer(() -> Mono.error(new DeadlineExceededException(feignMethodTag)));
+  }
+
+  private class DeadlineReactiveHttpResponse extends DelegatingReactiveHttpResponse {
+
+    private final Deadline deadline;
+
+    private DeadlineReactiveHttpResponse(ReactiveHttpResponse response, Deadline deadline) {
+      super(response);
+      this.deadline = deadline;
+    }
+
+    @Override
+    public Publisher<?> body() {
+      Publisher<?> publisher = getResponse().body();
+      if (publisher instanceof Mono) {
+        return limited((Mono<?>) publisher);
+      }
+      return publisher;
+    }
+
+    @Override
+    public Mono<byte[]> bodyData() {
+      return limited(getResponse().bodyData());
+    }
+
+    @Override
+    public Mono<byte[]> bodyData(int maxBytes) {
+      return limited(getResponse().bodyData(maxBytes));
+    }
+
+    private <V> Mono<V> limited(Mono<V> data) {
+      return Mono.defer(() -> data
+          .timeout(Duration.ofNanos(Math.max(0, deadline.remainingNanos())), exceeded()));
+    }
+  }
+}
@@ -0,0 +1,160 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.dispatch;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
+import net.bytebuddy.implementation.MethodCall;
+import net.bytebuddy.implementation.bytecode.assign.Assigner;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static feign.Util.isDefault;
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * Generates concrete implementation class per feign interface instead of
+ * {@link java.lang.reflect.Proxy}. Each generated method calls its {@link MethodHandler} field
+ * directly, so there is no {@link java.lang.reflect.InvocationHandler} and no lookup of handler
+ * by {@link Method} on every call. Default methods are not overridden and run natively.
+ * <p>
+ * Requires optional byte-buddy dependency on classpath.
+ *
+ * @author Sergii Karpenko
+ */
+public final class GeneratedClientFactory {
+
+  private static final String TARGET_FIELD = "target";
+  private static final String HANDLER_FIELD_PREFIX = "handler";
+
+  private static final Map<Class<?>, GeneratedType> generatedTypes = new ConcurrentHashMap<>();
+
+  private GeneratedClientFactory() {
+  }
+
+  /**
+   * @return true if implementation class may be generated for api type,
+   * generated class is loaded by separate class loader so api type should be public
+   */
+  public static boolean isSupported(Class<?> apiType) {
+    return apiType.isInterface() && Modifier.isPublic(apiType.getModifiers());
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> T newInstance(Target<T> target, Map<Method, MethodHandler> methodToHandler) {
+    GeneratedType generatedType = generatedTypes.computeIfAbsent(target.type(),
+        GeneratedClientFactory::generate);
+    try {
+      Object instance = generatedType.type.getDeclaredConstructor().newInstance();
+      generatedType.targetField.set(instance, target);
+      for (int i = 0; i < generatedType.methods.size(); i++) {
+        generatedType.handlerFields.get(i).set(instance,
+            methodToHandler.get(generatedType.methods.get(i)));
+      }
+      return (T) instance;
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Can't instantiate generated client of " + target.type(), e);
+    }
+  }
+
+  private static GeneratedType generate(Class<?> apiType) {
+    try {
+      Method invoke = MethodHandler.class.getMethod("invoke", Object[].class);
+
+      DynamicType.Builder<Object> builder = new ByteBuddy()
+          .subclass(Object.class)
+          .name(apiType.getName() + "$$ReactiveFeign")
+          .implement(apiType, TargetAware.class)
+          .defineField(TARGET_FIELD, Target.class, Visibility.PUBLIC)
+          .method(isDeclaredBy(TargetAware.class))
+          .intercept(FieldAccessor.ofField(TARGET_FIELD))
+          .method(isToString())
+          .intercept(MethodCall.invoke(Object.class.getMethod("toString")).onField(TARGET_FIELD))
+          .method(isHashCode())
+          .intercept(MethodCall.invoke(Object.class.getMethod("hashCode")).onField(TARGET_FIELD))
+          .method(isEquals())
+          .intercept(MethodCall.invoke(
+              GeneratedClientFactory.class.getMethod("equals", TargetAware.class, Object.class))
+              .withThis().withAllArguments());
+
+      List<Method> methods = new ArrayList<>();
+      for (Method method : apiType.getMethods()) {
+        if (isDefault(method) || Modifier.isStatic(method.getModifiers())) {
+          continue;
+        }
+        String handlerField = HANDLER_FIELD_PREFIX + methods.size();
+        builder = builder
+            .defineField(handlerField, MethodHandler.class, Visibility.PUBLIC)
+            .method(is(method))
+            .intercept(MethodCall.invoke(invoke).onField(handlerField).withArgumentArray()
+                .withAssigner(Assigner.DEFAULT, Assigner.Typing.DYNAMIC));
+        methods.add(method);
+      }
+
+      Class<?> type = builder.make()
+          .load(apiType.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+          .getLoaded();
+
+      List<Field> handlerFields = new ArrayList<>(methods.size());
+      for (int i = 0; i < methods.size(); i++) {
+        handlerFields.add(type.getField(HANDLER_FIELD_PREFIX + i));
+      }
+      return new GeneratedType(type, type.getField(TARGET_FIELD), methods, handlerFields);
+    } catch (NoSuchMethodException | NoSuchFieldException e) {
+      throw new IllegalStateException("Can't generate client of " + apiType, e);
+    }
+  }
+
+  /**
+   * Called from generated equals method.
+   */
+  public static boolean equals(TargetAware client, Object other) {
+    return other instanceof TargetAware
+        && other.getClass() == client.getClass()
+        && client.target().equals(((TargetAware) other).target());
+  }
+
+  /**
+   * Implemented by every generated client.
+   */
+  public interface TargetAware {
+    Target<?> target();
+  }
+
+  private static class GeneratedType {
+    private final Class<?> type;
+    private final Field targetField;
+    private final List<Method> methods;
+    private final List<Field> handlerFields;
+
+    private GeneratedType(Class<?> type, Field targetField,
+                          List<Method> methods, List<Field> handlerFields) {
+      this.type = type;
+      this.targetField = targetField;
+      this.methods = methods;
+      this.handlerFields = handlerFields;
+    }
+  }
+}
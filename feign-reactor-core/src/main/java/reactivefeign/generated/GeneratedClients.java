@@ -0,0 +1,123 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.generated;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.MethodMetadata;
+import feign.Target;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Looks up client implementations generated at compile time for feign interface.
+ * Generated class has name of interface with nested names joined by '_' and
+ * {@link #SUFFIX} appended, and is located in the same package.
+ *
+ * @author Sergii Karpenko
+ */
+public final class GeneratedClients {
+
+  public static final String SUFFIX = "_ReactiveFeign";
+  public static final String CONFIG_KEYS_FIELD = "CONFIG_KEYS";
+  public static final String METADATA_METHOD = "metadata";
+
+  private static final Map<Class<?>, Optional<GeneratedClass>> generatedClasses
+      = new ConcurrentHashMap<>();
+
+  private GeneratedClients() {
+  }
+
+  public static String generatedClassName(Class<?> apiType) {
+    return apiType.getName().replace('$', '_') + SUFFIX;
+  }
+
+  /**
+   * @return metadata of all methods if client was generated for api type
+   */
+  public static Optional<List<MethodMetadata>> metadata(Class<?> apiType) {
+    return generatedClass(apiType).map(GeneratedClass::metadata);
+  }
+
+  /**
+   * @return instance of generated client or empty if client was not generated for api type
+   */
+  public static <T> Optional<T> newInstance(Target<T> target, Map<String, ? extends MethodHandler> nameToHandler) {
+    return generatedClass(target.type())
+        .map(generatedClass -> generatedClass.newInstance(target, nameToHandler));
+  }
+
+  private static Optional<GeneratedClass> generatedClass(Class<?> apiType) {
+    return generatedClasses.computeIfAbsent(apiType, GeneratedClients::loadGeneratedClass);
+  }
+
+  private static Optional<GeneratedClass> loadGeneratedClass(Class<?> apiType) {
+    Class<?> type;
+    try {
+      type = Class.forName(generatedClassName(apiType), true, apiType.getClassLoader());
+    } catch (ClassNotFoundException e) {
+      return Optional.empty();
+    }
+    if (!GeneratedReactiveClient.class.isAssignableFrom(type) || !apiType.isAssignableFrom(type)) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(new GeneratedClass(
+          type.getConstructor(Target.class, MethodHandler[].class),
+          type.getMethod(METADATA_METHOD),
+          (String[]) type.getField(CONFIG_KEYS_FIELD).get(null)));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Generated client " + type + " is corrupted", e);
+    }
+  }
+
+  private static class GeneratedClass {
+    private final Constructor<?> constructor;
+    private final Method metadata;
+    private final String[] configKeys;
+
+    private GeneratedClass(Constructor<?> constructor, Method metadata, String[] configKeys) {
+      this.constructor = constructor;
+      this.metadata = metadata;
+      this.configKeys = configKeys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MethodMetadata> metadata() {
+      try {
+        return (List<MethodMetadata>) metadata.invoke(null);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T newInstance(Target<T> target, Map<String, ? extends MethodHandler> nameToHandler) {
+      MethodHandler[] handlers = new MethodHandler[configKeys.length];
+      for (int i = 0; i < configKeys.length; i++) {
+        handlers[i] = nameToHandler.get(configKeys[i]);
+      }
+      try {
+        return (T) constructor.newInstance(target, handlers);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+}
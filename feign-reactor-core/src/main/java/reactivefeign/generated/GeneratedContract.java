@@ -0,0 +1,42 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.generated;
+
+import feign.Contract;
+import feign.MethodMetadata;
+
+import java.util.List;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Contract that takes metadata generated at compile time if present,
+ * otherwise parses it reflectively by delegate.
+ *
+ * @author Sergii Karpenko
+ */
+public class GeneratedContract implements Contract {
+
+  private final Contract delegate;
+
+  public GeneratedContract(final Contract delegate) {
+    this.delegate = checkNotNull(delegate, "delegate must not be null");
+  }
+
+  @Override
+  public List<MethodMetadata> parseAndValidatateMetadata(final Class<?> targetType) {
+    return GeneratedClients.metadata(targetType)
+        .orElseGet(() -> delegate.parseAndValidatateMetadata(targetType));
+  }
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.generated;
+
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.MethodMetadata;
+import feign.Target;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Base class of client implementations generated at compile time by reactive feign
+ * annotation processor. Generated class also provides static metadata() method
+ * that builds {@link MethodMetadata} without parsing of contract.
+ *
+ * @author Sergii Karpenko
+ */
+public abstract class GeneratedReactiveClient {
+
+  private static final Constructor<MethodMetadata> METADATA_CONSTRUCTOR;
+  static {
+    try {
+      METADATA_CONSTRUCTOR = MethodMetadata.class.getDeclaredConstructor();
+      METADATA_CONSTRUCTOR.setAccessible(true);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private final Target<?> target;
+  private final MethodHandler[] handlers;
+
+  protected GeneratedReactiveClient(Target<?> target, MethodHandler[] handlers) {
+    this.target = target;
+    this.handlers = handlers;
+  }
+
+  protected final Object invoke(int index, Object[] argv) {
+    try {
+      return handlers[index].invoke(argv);
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable throwable) {
+      throw new UndeclaredThrowableException(throwable);
+    }
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other != null
+        && other.getClass() == getClass()
+        && target.equals(((GeneratedReactiveClient) other).target);
+  }
+
+  @Override
+  public int hashCode() {
+    return target.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return target.toString();
+  }
+
+  protected static Method method(Class<?> apiType, String name, Class<?>... parameterTypes) {
+    try {
+      return apiType.getMethod(name, parameterTypes);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("Generated client is out of date with " + apiType, e);
+    }
+  }
+
+  protected static MethodMetadata metadata(String configKey, Method method) {
+    try {
+      MethodMetadata metadata = METADATA_CONSTRUCTOR.newInstance();
+      metadata.configKey(configKey);
+      metadata.returnType(method.getGenericReturnType());
+      return metadata;
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Same as processing of {@link feign.Headers} on type by {@link feign.Contract.Default}.
+   */
+  protected static void classHeaders(MethodMetadata metadata, String... headers) {
+    Map<String, Collection<String>> headersMap = toMap(headers);
+    headersMap.putAll(metadata.template().headers());
+    metadata.template().headers(null);
+    metadata.template().headers(headersMap);
+  }
+
+  /**
+   * Same as processing of {@link feign.Headers} on method by {@link feign.Contract.Default}.
+   */
+  protected static void methodHeaders(MethodMetadata metadata, String... headers) {
+    metadata.template().headers(toMap(headers));
+  }
+
+  /**
+   * Same as processing of {@link feign.RequestLine} by {@link feign.Contract.Default}.
+   */
+  protected static void requestLine(MethodMetadata metadata, String requestLine, boolean decodeSlash) {
+    int firstSpace = requestLine.indexOf(' ');
+    if (firstSpace == -1) {
+      metadata.template().method(requestLine);
+      return;
+    }
+    metadata.template().method(requestLine.substring(0, firstSpace));
+    int lastSpace = requestLine.lastIndexOf(' ');
+    metadata.template().append(firstSpace == lastSpace
+        ? requestLine.substring(firstSpace + 1)
+        // skip HTTP version
+        : requestLine.substring(firstSpace + 1, lastSpace));
+    metadata.template().decodeSlash(decodeSlash);
+  }
+
+  /**
+   * Same as processing of {@link feign.Param} by {@link feign.Contract.Default},
+   * should be called after all method annotations are processed.
+   */
+  protected static void param(MethodMetadata metadata, int index, String name, boolean encoded) {
+    Collection<String> names = metadata.indexToName().get(index);
+    if (names == null) {
+      names = new ArrayList<>(1);
+      metadata.indexToName().put(index, names);
+    }
+    names.add(name);
+    metadata.indexToEncoded().put(index, encoded);
+
+    String varName = '{' + name + '}';
+    if (!metadata.template().url().contains(varName)
+        && !valuesContain(metadata.template().queries(), varName)
+        && !valuesContain(metadata.template().headers(), varName)) {
+      metadata.formParams().add(name);
+    }
+  }
+
+  protected static void queryMap(MethodMetadata metadata, int index, boolean encoded) {
+    if (metadata.queryMapIndex() != null) {
+      throw new IllegalStateException("QueryMap annotation was present on multiple parameters.");
+    }
+    metadata.queryMapIndex(index);
+    metadata.queryMapEncoded(encoded);
+  }
+
+  protected static void headerMap(MethodMetadata metadata, int index) {
+    if (metadata.headerMapIndex() != null) {
+      throw new IllegalStateException("HeaderMap annotation was present on multiple parameters.");
+    }
+    metadata.headerMapIndex(index);
+  }
+
+  protected static void body(MethodMetadata metadata, Method method, int index) {
+    if (!metadata.formParams().isEmpty()) {
+      throw new IllegalStateException("Body parameters cannot be used with form parameters.");
+    }
+    if (metadata.bodyIndex() != null) {
+      throw new IllegalStateException("Method has too many Body parameters: " + method);
+    }
+    metadata.bodyIndex(index);
+    metadata.bodyType(method.getGenericParameterTypes()[index]);
+  }
+
+  private static Map<String, Collection<String>> toMap(String[] headers) {
+    Map<String, Collection<String>> headersMap = new LinkedHashMap<>(headers.length);
+    for (String header : headers) {
+      int colon = header.indexOf(':');
+      String name = header.substring(0, colon);
+      headersMap.computeIfAbsent(name, key -> new ArrayList<>(1))
+          .add(header.substring(colon + 1).trim());
+    }
+    return headersMap;
+  }
+
+  private static boolean valuesContain(Map<String, Collection<String>> map, String search) {
+    for (Collection<String> values : map.values()) {
+      for (String value : values) {
+        // null stands for query without value
+        if (value != null && value.contains(search)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits extra load caused by hedging. Every call deposits {@code ratio} of token,
+ * every backup request takes whole token, unused tokens are capped so budget can't be
+ * saved up during quiet periods for later storm of hedges.
+ *
+ * @author Sergii Karpenko
+ */
+final class HedgeBudget {
+
+  private static final long TOKEN = 1_000_000;
+
+  private final long deposit;
+  private final long maxCredit;
+  private final AtomicLong credit;
+
+  HedgeBudget(double ratio, int maxSavedHedges) {
+    this.deposit = (long) (ratio * TOKEN);
+    this.maxCredit = maxSavedHedges * TOKEN;
+    this.credit = new AtomicLong(maxCredit);
+  }
+
+  void deposit() {
+    for (;;) {
+      long current = credit.get();
+      if (current >= maxCredit) {
+        return;
+      }
+      if (credit.compareAndSet(current, Math.min(maxCredit, current + deposit))) {
+        return;
+      }
+    }
+  }
+
+  boolean tryWithdraw() {
+    for (;;) {
+      long current = credit.get();
+      if (current < TOKEN) {
+        return false;
+      }
+      if (credit.compareAndSet(current, current - TOKEN)) {
+        return true;
+      }
+    }
+  }
+}
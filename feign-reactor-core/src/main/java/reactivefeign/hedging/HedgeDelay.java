@@ -0,0 +1,79 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.hedging;
+
+import reactivefeign.metrics.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delay before backup request of single method. Percentile delay is taken from histogram
+ * of last completed window of call latencies, initial delay is used till first window completes.
+ *
+ * @author Sergii Karpenko
+ */
+abstract class HedgeDelay {
+
+  abstract long delayNanos();
+
+  abstract void record(long nanos);
+
+  static HedgeDelay fixed(long delayNanos) {
+    return new HedgeDelay() {
+      @Override
+      long delayNanos() {
+        return delayNanos;
+      }
+
+      @Override
+      void record(long nanos) {
+      }
+    };
+  }
+
+  static HedgeDelay percentile(double quantile, long initialDelayNanos, int window) {
+    return new PercentileDelay(quantile, initialDelayNanos, window);
+  }
+
+  private static final class PercentileDelay extends HedgeDelay {
+
+    private final double quantile;
+    private final int window;
+    private final AtomicLong samples = new AtomicLong();
+    private volatile LatencyHistogram histogram = new LatencyHistogram();
+    private volatile long delayNanos;
+
+    private PercentileDelay(double quantile, long initialDelayNanos, int window) {
+      this.quantile = quantile;
+      this.window = window;
+      this.delayNanos = initialDelayNanos;
+    }
+
+    @Override
+    long delayNanos() {
+      return delayNanos;
+    }
+
+    @Override
+    void record(long nanos) {
+      LatencyHistogram current = histogram;
+      current.record(nanos);
+      // single thread completes window, samples racing with swap may be lost
+      if (samples.incrementAndGet() % window == 0) {
+        histogram = new LatencyHistogram();
+        delayNanos = current.snapshot().percentile(quantile);
+      }
+    }
+  }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.hedging;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Primary and backup requests of single call. Available to inner clients in Reactor
+ * {@link reactor.util.context.Context} by {@link HedgedCall} class key, so load balancer
+ * can avoid sending backup request to server that is serving other request of call,
+ * and backup request is not sent once primary one received response headers.
+ *
+ * @author Sergii Karpenko
+ */
+public final class HedgedCall {
+
+  private final Set<String> servers = ConcurrentHashMap.newKeySet(2);
+  private volatile boolean responseReceived;
+
+  HedgedCall() {
+  }
+
+  /**
+   * @param server chosen for request
+   * @return false if other request of call is being sent to this server now
+   */
+  public boolean useServer(String server) {
+    return servers.add(server);
+  }
+
+  /**
+   * Should be called when request to server used by {@link #useServer(String)} terminates,
+   * so retry to the same server is allowed.
+   *
+   * @param server chosen for request
+   */
+  public void releaseServer(String server) {
+    servers.remove(server);
+  }
+
+  void responseReceived() {
+    responseReceived = true;
+  }
+
+  boolean isResponseReceived() {
+    return responseReceived;
+  }
+}
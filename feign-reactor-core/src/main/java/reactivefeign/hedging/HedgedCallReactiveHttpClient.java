@@ -0,0 +1,57 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.hedging;
+
+import reactivefeign.client.ReactiveHttpClient;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tells {@link HedgedCall} found in Reactor context that response headers were received,
+ * so backup request is not sent while primary one is already receiving body.
+ * Server errors may be retried, so they don't count as received response.
+ *
+ * @author Sergii Karpenko
+ */
+public class HedgedCallReactiveHttpClient implements ReactiveHttpClient {
+
+  private static final int SERVER_ERROR = 500;
+
+  private final ReactiveHttpClient reactiveClient;
+
+  public static ReactiveHttpClient reportResponses(ReactiveHttpClient reactiveClient) {
+    return new HedgedCallReactiveHttpClient(reactiveClient);
+  }
+
+  private HedgedCallReactiveHttpClient(ReactiveHttpClient reactiveClient) {
+    this.reactiveClient = reactiveClient;
+  }
+
+  @Override
+  public Mono<ReactiveHttpResponse> executeRequest(ReactiveHttpRequest request) {
+    return Mono.subscriberContext().flatMap(context -> {
+      HedgedCall hedgedCall = context.getOrDefault(HedgedCall.class, null);
+      if (hedgedCall == null) {
+        return reactiveClient.executeRequest(request);
+      }
+      return reactiveClient.executeRequest(request)
+          .doOnNext(response -> {
+            if (response.status() < SERVER_ERROR) {
+              hedgedCall.responseReceived();
+            }
+          });
+    });
+  }
+}
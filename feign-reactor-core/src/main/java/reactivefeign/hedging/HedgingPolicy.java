@@ -0,0 +1,80 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.hedging;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * When backup requests are sent and how much extra load they may cause.
+ * Budget and stats are shared by all methods of client built with policy,
+ * delay is tracked per method.
+ *
+ * @author Sergii Karpenko
+ */
+public final class HedgingPolicy {
+
+  private static final int MAX_SAVED_HEDGES = 10;
+  private static final int PERCENTILE_WINDOW = 1000;
+
+  private final Supplier<HedgeDelay> delays;
+  private final HedgeBudget budget;
+  private final HedgingStats stats = new HedgingStats();
+
+  /**
+   * @param delay time without response after which backup request is sent
+   * @param maxExtraLoad ratio of backup requests to calls, 0.05 for at most 5% extra requests
+   */
+  public static HedgingPolicy fixedDelay(Duration delay, double maxExtraLoad) {
+    long delayNanos = checkNotNull(delay, "delay must not be null").toNanos();
+    return new HedgingPolicy(() -> HedgeDelay.fixed(delayNanos), maxExtraLoad);
+  }
+
+  /**
+   * @param quantile backup request is sent when call takes longer than this quantile
+   *                 of recent calls of method, 0.95 for example
+   * @param initialDelay delay used till enough calls are recorded
+   * @param maxExtraLoad ratio of backup requests to calls, 0.05 for at most 5% extra requests
+   */
+  public static HedgingPolicy percentileDelay(double quantile, Duration initialDelay, double maxExtraLoad) {
+    if (quantile <= 0 || quantile >= 1) {
+      throw new IllegalArgumentException("quantile must be in (0, 1): " + quantile);
+    }
+    long initialDelayNanos = checkNotNull(initialDelay, "initialDelay must not be null").toNanos();
+    return new HedgingPolicy(
+        () -> HedgeDelay.percentile(quantile, initialDelayNanos, PERCENTILE_WINDOW), maxExtraLoad);
+  }
+
+  private HedgingPolicy(Supplier<HedgeDelay> delays, double maxExtraLoad) {
+    if (maxExtraLoad <= 0 || maxExtraLoad > 1) {
+      throw new IllegalArgumentException("maxExtraLoad must be in (0, 1]: " + maxExtraLoad);
+    }
+    this.delays = delays;
+    this.budget = new HedgeBudget(maxExtraLoad, MAX_SAVED_HEDGES);
+  }
+
+  HedgeDelay newDelay() {
+    return delays.get();
+  }
+
+  HedgeBudget budget() {
+    return budget;
+  }
+
+  public HedgingStats stats() {
+    return stats;
+  }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.hedging;
+
+import org.reactivestreams.Publisher;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.publisher.PublisherHttpClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends backup request if idempotent call of method returning {@link Mono}
+ * didn't receive response headers within delay of {@link HedgingPolicy} and budget allows it.
+ * Headers are reported by {@link HedgedCallReactiveHttpClient} in inner client chain,
+ * without it backup request is sent if call didn't complete within delay.
+ * First response wins and the other request is cancelled.
+ * Failed request doesn't fail call while the other one is still running.
+ *
+ * @author Sergii Karpenko
+ */
+public class HedgingPublisherHttpClient implements PublisherHttpClient {
+
+  private final PublisherHttpClient publisherClient;
+  private final HedgeDelay delay;
+  private final HedgeBudget budget;
+  private final HedgingStats stats;
+  private final MethodMetrics methodMetrics;
+
+  public HedgingPublisherHttpClient(PublisherHttpClient publisherClient, HedgingPolicy policy,
+                                    MethodMetrics methodMetrics) {
+    this.publisherClient = publisherClient;
+    this.delay = policy.newDelay();
+    this.budget = policy.budget();
+    this.stats = policy.stats();
+    this.methodMetrics = methodMetrics;
+  }
+
+  @Override
+  public Publisher<?> executeRequest(ReactiveHttpRequest request) {
+    if (!isIdempotent(request.method())) {
+      return publisherClient.executeRequest(request);
+    }
+
+    return Mono.defer(() -> {
+      stats.recordRequest();
+      budget.deposit();
+      long start = System.nanoTime();
+      Attempts attempts = new Attempts();
+      HedgedCall call = new HedgedCall();
+
+      // delay tracks latency of primary requests only, backup ones are sent to the slow tail.
+      // Primary cancelled after backup won ran at least as long as recorded
+      Mono<Object> primary = attempt(request, attempts)
+          .doOnSuccess(result -> delay.record(System.nanoTime() - start))
+          .doOnCancel(() -> delay.record(System.nanoTime() - start));
+      Mono<Backup> hedge = Mono.delay(Duration.ofNanos(delay.delayNanos()))
+          .flatMap(tick -> {
+            if (call.isResponseReceived()) {
+              // primary is receiving body, backup would have to start over
+              return Mono.never();
+            }
+            if (!budget.tryWithdraw()) {
+              stats.recordOverBudget();
+              return Mono.never();
+            }
+            if (!attempts.start()) {
+              return Mono.never();
+            }
+            stats.recordHedge();
+            methodMetrics.hedgeSent();
+            return attempt(request, attempts).map(Backup::new);
+          });
+
+      // timer is subscribed first, so it runs even if client blocks subscribing thread
+      return Mono.<Object>first(hedge, primary)
+          .map(result -> {
+            if (result instanceof Backup) {
+              stats.recordWon();
+              methodMetrics.hedgeWon();
+              return ((Backup) result).value;
+            }
+            return result;
+          })
+          .subscriberContext(context -> context.put(HedgedCall.class, call));
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private Mono<Object> attempt(ReactiveHttpRequest request, Attempts attempts) {
+    return Mono.from((Publisher<Object>) publisherClient.executeRequest(request))
+        .onErrorResume(throwable -> attempts.failed() ? Mono.error(throwable) : Mono.never());
+  }
+
+  private static boolean isIdempotent(String method) {
+    switch (method.toUpperCase()) {
+      case "GET":
+      case "HEAD":
+      case "OPTIONS":
+      case "PUT":
+      case "DELETE":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Value emitted by backup request, tells it apart from value of primary one
+   */
+  private static final class Backup {
+    private final Object value;
+
+    private Backup(Object value) {
+      this.value = value;
+    }
+  }
+
+  private static final class Attempts {
+    private final AtomicInteger running = new AtomicInteger(1);
+
+    /**
+     * @return false if call already failed
+     */
+    private boolean start() {
+      for (;;) {
+        int current = running.get();
+        if (current == 0) {
+          return false;
+        }
+        if (running.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    /**
+     * @return true if failed attempt was the last one running, so call fails
+     */
+    private boolean failed() {
+      return running.decrementAndGet() == 0;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.hedging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of {@link HedgingPublisherHttpClient}, shared by all methods using same {@link HedgingPolicy}.
+ *
+ * @author Sergii Karpenko
+ */
+public class HedgingStats {
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder hedges = new LongAdder();
+  private final LongAdder won = new LongAdder();
+  private final LongAdder overBudget = new LongAdder();
+
+  void recordRequest() {
+    requests.increment();
+  }
+
+  void recordHedge() {
+    hedges.increment();
+  }
+
+  void recordWon() {
+    won.increment();
+  }
+
+  void recordOverBudget() {
+    overBudget.increment();
+  }
+
+  /**
+   * @return calls passed through hedging client
+   */
+  public long requests() {
+    return requests.sum();
+  }
+
+  /**
+   * @return backup requests sent
+   */
+  public long hedges() {
+    return hedges.sum();
+  }
+
+  /**
+   * @return backup requests that responded before primary ones
+   */
+  public long won() {
+    return won.sum();
+  }
+
+  /**
+   * @return backup requests not sent because budget was used up
+   */
+  public long overBudget() {
+    return overBudget.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "HedgingStats{requests=" + requests() + ", hedges=" + hedges() + ", won=" + won()
+        + ", overBudget=" + overBudget() + "}";
+  }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.limiter;
+
+import reactivefeign.client.ReadTimeoutException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Sheds calls over concurrency limit that {@link LimitAlgorithm} adapts to measured round trip times.
+ * Single instance is meant to be shared by all methods of target, as they load same server.
+ *
+ * @author Sergii Karpenko
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private final LimitAlgorithm algorithm;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+
+  public AdaptiveConcurrencyLimiter(LimitAlgorithm algorithm) {
+    this.algorithm = checkNotNull(algorithm, "algorithm must not be null");
+  }
+
+  /**
+   * @return calls in flight including acquired one, or 0 if limit is reached
+   */
+  int tryAcquire() {
+    for (;;) {
+      int current = inFlight.get();
+      if (current >= algorithm.limit()) {
+        rejected.increment();
+        return 0;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return current + 1;
+      }
+    }
+  }
+
+  void release() {
+    inFlight.decrementAndGet();
+  }
+
+  void onSample(long rttNanos, int inFlight, boolean dropped) {
+    algorithm.onSample(rttNanos, inFlight, dropped);
+  }
+
+  LimitExceededException rejection() {
+    return new LimitExceededException(algorithm.limit());
+  }
+
+  static boolean isDropped(int status) {
+    return status == 429 || status == 503;
+  }
+
+  static boolean isDropped(Throwable throwable) {
+    return throwable instanceof ReadTimeoutException
+        || throwable instanceof TimeoutException
+        || throwable instanceof IOException
+        || throwable.getCause() instanceof IOException;
+  }
+
+  public int limit() {
+    return algorithm.limit();
+  }
+
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * @return calls failed with {@link LimitExceededException}
+   */
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "AdaptiveConcurrencyLimiter{limit=" + limit() + ", inFlight=" + inFlight()
+        + ", rejected=" + rejected() + '}';
+  }
+}
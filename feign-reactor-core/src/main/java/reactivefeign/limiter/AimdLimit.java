@@ -0,0 +1,84 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.limiter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive increase, multiplicative decrease. Limit grows by one per successful call
+ * while it's actually used and is cut by backoff ratio on every drop or response slower than timeout.
+ *
+ * @author Sergii Karpenko
+ */
+public class AimdLimit implements LimitAlgorithm {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final long timeoutNanos;
+  private final AtomicInteger limit;
+
+  /**
+   * @param timeout responses slower than this are treated as drops
+   */
+  public AimdLimit(int initialLimit, int maxLimit, Duration timeout) {
+    this(initialLimit, 1, maxLimit, 0.9, timeout);
+  }
+
+  public AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, Duration timeout) {
+    if (minLimit <= 0 || initialLimit < minLimit || maxLimit < initialLimit) {
+      throw new IllegalArgumentException(
+          "Required 0 < minLimit <= initialLimit <= maxLimit, got "
+              + minLimit + ", " + initialLimit + ", " + maxLimit);
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("backoffRatio must be in (0, 1): " + backoffRatio);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backoffRatio = backoffRatio;
+    this.timeoutNanos = timeout.toNanos();
+    this.limit = new AtomicInteger(initialLimit);
+  }
+
+  @Override
+  public int limit() {
+    return limit.get();
+  }
+
+  @Override
+  public void onSample(long rttNanos, int inFlight, boolean dropped) {
+    for (;;) {
+      int current = limit.get();
+      int next;
+      if (dropped || rttNanos > timeoutNanos) {
+        next = Math.max(minLimit, (int) (current * backoffRatio));
+      } else if (inFlight * 2 >= current) {
+        next = Math.min(maxLimit, current + 1);
+      } else {
+        // limit is not a bottleneck, growing it gives no information
+        return;
+      }
+      if (next == current || limit.compareAndSet(current, next)) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "AimdLimit{limit=" + limit() + '}';
+  }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.limiter;
+
+/**
+ * Gradient (Vegas like) limit. Compares minimal observed round trip time, taken as time without queueing,
+ * with current one: while they are close limit grows by square root of itself, as latency grows
+ * limit shrinks proportionally to their ratio. Minimal time is forgotten every {@code probeInterval}
+ * samples, so change of server latency baseline is eventually picked up.
+ *
+ * @author Sergii Karpenko
+ */
+public class GradientLimit implements LimitAlgorithm {
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final double rttTolerance;
+  private final double smoothing;
+  private final int probeInterval;
+
+  private volatile int limit;
+  // guarded by this
+  private double estimatedLimit;
+  private long minRttNanos = Long.MAX_VALUE;
+  private int samples;
+
+  public GradientLimit(int initialLimit, int maxLimit) {
+    this(initialLimit, 1, maxLimit, 1.5, 0.2, 1000);
+  }
+
+  /**
+   * @param rttTolerance how many times round trip time may exceed minimal one before limit is reduced
+   * @param smoothing weight of new estimate, from 0 exclusive to 1
+   * @param probeInterval samples after which minimal round trip time is measured anew
+   */
+  public GradientLimit(int initialLimit, int minLimit, int maxLimit,
+                       double rttTolerance, double smoothing, int probeInterval) {
+    if (minLimit <= 0 || initialLimit < minLimit || maxLimit < initialLimit) {
+      throw new IllegalArgumentException(
+          "Required 0 < minLimit <= initialLimit <= maxLimit, got "
+              + minLimit + ", " + initialLimit + ", " + maxLimit);
+    }
+    if (rttTolerance < 1) {
+      throw new IllegalArgumentException("rttTolerance must not be less then 1: " + rttTolerance);
+    }
+    if (smoothing <= 0 || smoothing > 1) {
+      throw new IllegalArgumentException("smoothing must be in (0, 1]: " + smoothing);
+    }
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.rttTolerance = rttTolerance;
+    this.smoothing = smoothing;
+    this.probeInterval = probeInterval;
+    this.limit = initialLimit;
+    this.estimatedLimit = initialLimit;
+  }
+
+  @Override
+  public int limit() {
+    return limit;
+  }
+
+  @Override
+  public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+    if (++samples >= probeInterval) {
+      samples = 0;
+      minRttNanos = Long.MAX_VALUE;
+    }
+
+    double newLimit;
+    if (dropped) {
+      newLimit = estimatedLimit / 2;
+    } else {
+      minRttNanos = Math.min(minRttNanos, rttNanos);
+      double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * minRttNanos / rttNanos));
+      newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+      if (newLimit > estimatedLimit && inFlight * 2 < estimatedLimit) {
+        // limit is not a bottleneck, growing it gives no information
+        return;
+      }
+    }
+
+    estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+        estimatedLimit * (1 - smoothing) + newLimit * smoothing));
+    limit = (int) estimatedLimit;
+  }
+
+  @Override
+  public String toString() {
+    return "GradientLimit{limit=" + limit() + '}';
+  }
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.limiter;
+
+/**
+ * Computes concurrency limit from observed round trip times.
+ * Samples are reported concurrently by completed calls, so implementations must be thread safe.
+ *
+ * @author Sergii Karpenko
+ */
+public interface LimitAlgorithm {
+
+  /**
+   * @return current number of calls allowed in flight
+   */
+  int limit();
+
+  /**
+   * @param rttNanos time from request start to response headers or failure
+   * @param inFlight calls in flight when request started, including it
+   * @param dropped call failed because of overload: timeout, connection error, 429 or 503 status
+   */
+  void onSample(long rttNanos, int inFlight, boolean dropped);
+}
@@ -0,0 +1,171 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.limiter;
+
+import org.reactivestreams.Publisher;
+import reactivefeign.client.DelegatingReactiveHttpResponse;
+import reactivefeign.client.ReactiveHttpClient;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactivefeign.metrics.MethodMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits requests through {@link AdaptiveConcurrencyLimiter} and reports time to response headers to it.
+ * Request stays in flight till response body terminates, so it must wrap status handling
+ * that may replace body of error responses. If body is not subscribed by the time response is delivered,
+ * as for methods returning {@code Mono<Void>}, request is released then.
+ *
+ * @author Sergii Karpenko
+ */
+public class LimiterReactiveHttpClient implements ReactiveHttpClient {
+
+  private final ReactiveHttpClient reactiveClient;
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final MethodMetrics methodMetrics;
+
+  public static ReactiveHttpClient limit(ReactiveHttpClient reactiveClient,
+                                         AdaptiveConcurrencyLimiter limiter,
+                                         MethodMetrics methodMetrics) {
+    return new LimiterReactiveHttpClient(reactiveClient, limiter, methodMetrics);
+  }
+
+  private LimiterReactiveHttpClient(ReactiveHttpClient reactiveClient,
+                                    AdaptiveConcurrencyLimiter limiter,
+                                    MethodMetrics methodMetrics) {
+    this.reactiveClient = reactiveClient;
+    this.limiter = limiter;
+    this.methodMetrics = methodMetrics;
+  }
+
+  @Override
+  public Mono<ReactiveHttpResponse> executeRequest(ReactiveHttpRequest request) {
+    return Mono.defer(() -> {
+      int inFlight = limiter.tryAcquire();
+      if (inFlight == 0) {
+        methodMetrics.requestRejected();
+        return Mono.error(limiter.rejection());
+      }
+      Call call = new Call(inFlight);
+      return reactiveClient.executeRequest(request)
+          .<ReactiveHttpResponse>map(call::received)
+          .doOnError(call::failed)
+          .doOnCancel(call::cancelled)
+          .doAfterSuccessOrError((response, throwable) -> call.delivered());
+    });
+  }
+
+  private final class Call {
+    private static final int PENDING = 0;
+    private static final int RECEIVED = 1;
+    private static final int BODY = 2;
+    private static final int RELEASED = 3;
+
+    private final long start = System.nanoTime();
+    private final int inFlight;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+
+    private Call(int inFlight) {
+      this.inFlight = inFlight;
+    }
+
+    private ReactiveHttpResponse received(ReactiveHttpResponse response) {
+      limiter.onSample(System.nanoTime() - start, inFlight,
+          AdaptiveConcurrencyLimiter.isDropped(response.status()));
+      return state.compareAndSet(PENDING, RECEIVED)
+          ? new LimitedReactiveHttpResponse(response, this)
+          : response;
+    }
+
+    private void failed(Throwable throwable) {
+      if (state.compareAndSet(PENDING, RELEASED)) {
+        if (AdaptiveConcurrencyLimiter.isDropped(throwable)) {
+          limiter.onSample(System.nanoTime() - start, inFlight, true);
+        }
+        limiter.release();
+      }
+    }
+
+    private void cancelled() {
+      // after body is subscribed cancel of headers publisher doesn't stop it
+      release(PENDING);
+      release(RECEIVED);
+    }
+
+    private void delivered() {
+      // nobody subscribed body while response was handled, so it won't be read
+      release(RECEIVED);
+    }
+
+    private void bodySubscribed() {
+      state.compareAndSet(RECEIVED, BODY);
+    }
+
+    private void bodyTerminated() {
+      release(BODY);
+    }
+
+    private void release(int expected) {
+      if (state.compareAndSet(expected, RELEASED)) {
+        limiter.release();
+      }
+    }
+  }
+
+  private static class LimitedReactiveHttpResponse extends DelegatingReactiveHttpResponse {
+
+    private final Call call;
+
+    private LimitedReactiveHttpResponse(ReactiveHttpResponse response, Call call) {
+      super(response);
+      this.call = call;
+    }
+
+    @Override
+    public Publisher<?> body() {
+      Publisher<?> publisher = getResponse().body();
+      if (publisher instanceof Mono) {
+        return released((Mono<?>) publisher);
+      } else {
+        // released before terminal signal goes downstream, so caller may reuse permit right away
+        return Flux.from(publisher)
+            .doOnSubscribe(subscription -> call.bodySubscribed())
+            .doOnComplete(call::bodyTerminated)
+            .doOnError(error -> call.bodyTerminated())
+            .doOnCancel(call::bodyTerminated);
+      }
+    }
+
+    @Override
+    public Mono<byte[]> bodyData() {
+      return released(getResponse().bodyData());
+    }
+
+    @Override
+    public Mono<byte[]> bodyData(int maxBytes) {
+      return released(getResponse().bodyData(maxBytes));
+    }
+
+    private <V> Mono<V> released(Mono<V> data) {
+      return data
+          .doOnSubscribe(subscription -> call.bodySubscribed())
+          .doOnSuccess(result -> call.bodyTerminated())
+          .doOnError(error -> call.bodyTerminated())
+          .doOnCancel(call::bodyTerminated);
+    }
+  }
+}
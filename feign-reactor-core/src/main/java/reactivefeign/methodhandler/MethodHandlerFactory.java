@@ -18,10 +18,19 @@ import feign.Target;
 import reactivefeign.methodhandler.MethodHandler;
 
 import java.lang.reflect.Method;
+import java.util.function.Function;
 
 public interface MethodHandlerFactory {
 
   MethodHandler create(final Target target, final MethodMetadata metadata);
 
+  /**
+   * Prepares part of handler that doesn't depend on target once per method.
+   * Returned function is shared by all targets of interface so should be thread safe.
+   */
+  default Function<Target, MethodHandler> compile(final MethodMetadata metadata) {
+    return target -> create(target, metadata);
+  }
+
   MethodHandler createDefault(Method method);
 }
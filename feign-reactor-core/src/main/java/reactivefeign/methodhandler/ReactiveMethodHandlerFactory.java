@@ -3,11 +3,13 @@ package reactivefeign.methodhandler;
 import feign.MethodMetadata;
 import feign.Target;
 import reactivefeign.publisher.*;
+import reactivefeign.template.CompiledRequestTemplate;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.function.Function;
 
 import static feign.Util.checkNotNull;
 import static reactivefeign.utils.FeignUtils.returnPublisherType;
@@ -22,15 +24,24 @@ public class ReactiveMethodHandlerFactory implements MethodHandlerFactory {
 
 	@Override
 	public MethodHandler create(Target target, MethodMetadata metadata) {
+		return compile(metadata).apply(target);
+	}
 
-		MethodHandler methodHandler = new PublisherClientMethodHandler(
-				target, metadata, publisherClientFactory.apply(metadata));
+	/**
+	 * Request template and publisher client are built once and shared by handlers of all targets
+	 */
+	@Override
+	public Function<Target, MethodHandler> compile(MethodMetadata metadata) {
+		CompiledRequestTemplate requestTemplate = CompiledRequestTemplate.compile(metadata);
+		PublisherHttpClient publisherClient = publisherClientFactory.apply(metadata);
 
 		Type returnPublisherType = returnPublisherType(metadata);
 		if(returnPublisherType == Mono.class){
-			return new MonoMethodHandler(methodHandler);
+			return target -> new MonoMethodHandler(
+					new PublisherClientMethodHandler(target, requestTemplate, publisherClient));
 		} else if(returnPublisherType == Flux.class) {
-			return new FluxMethodHandler(methodHandler);
+			return target -> new FluxMethodHandler(
+					new PublisherClientMethodHandler(target, requestTemplate, publisherClient));
 		} else {
 			throw new IllegalArgumentException("Unknown returnPublisherType: " + returnPublisherType);
 		}
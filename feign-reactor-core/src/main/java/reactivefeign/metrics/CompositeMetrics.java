@@ -0,0 +1,175 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports events to several metrics, like Micrometer binding together with {@link LatencyMetrics}.
+ *
+ * @author Sergii Karpenko
+ */
+public final class CompositeMetrics implements ReactiveMetrics {
+
+  private final ReactiveMetrics[] metrics;
+  private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+  private CompositeMetrics(ReactiveMetrics[] metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * @return metrics reporting to all given ones, nested composites are flattened
+   */
+  public static ReactiveMetrics of(ReactiveMetrics... metrics) {
+    List<ReactiveMetrics> all = new ArrayList<>(metrics.length);
+    for (ReactiveMetrics reactiveMetrics : metrics) {
+      if (reactiveMetrics instanceof CompositeMetrics) {
+        all.addAll(Arrays.asList(((CompositeMetrics) reactiveMetrics).metrics));
+      } else {
+        all.add(reactiveMetrics);
+      }
+    }
+    return all.size() == 1 ? all.get(0) : new CompositeMetrics(all.toArray(new ReactiveMetrics[0]));
+  }
+
+  @Override
+  public MethodMetrics method(String methodTag) {
+    return methods.computeIfAbsent(methodTag, tag -> {
+      MethodMetrics[] methodMetrics = new MethodMetrics[metrics.length];
+      for (int i = 0; i < metrics.length; i++) {
+        methodMetrics[i] = metrics[i].method(tag);
+      }
+      return new CompositeMethodMetrics(methodMetrics);
+    });
+  }
+
+  private static final class CompositeMethodMetrics implements MethodMetrics {
+
+    private final MethodMetrics[] metrics;
+
+    private CompositeMethodMetrics(MethodMetrics[] metrics) {
+      this.metrics = metrics;
+    }
+
+    @Override
+    public void requestStarted() {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.requestStarted();
+      }
+    }
+
+    @Override
+    public void requestFinished() {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.requestFinished();
+      }
+    }
+
+    @Override
+    public void responseReceived(int status, long nanos) {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.responseReceived(status, nanos);
+      }
+    }
+
+    @Override
+    public void bodyReceived(long nanos) {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.bodyReceived(nanos);
+      }
+    }
+
+    @Override
+    public void bodyFailed(long nanos) {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.bodyFailed(nanos);
+      }
+    }
+
+    @Override
+    public void requestFailed(long nanos) {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.requestFailed(nanos);
+      }
+    }
+
+    @Override
+    public void retried() {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.retried();
+      }
+    }
+
+    @Override
+    public void retrySuppressed() {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.retrySuppressed();
+      }
+    }
+
+    @Override
+    public void bodyBuffered(long bytes) {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.bodyBuffered(bytes);
+      }
+    }
+
+    @Override
+    public void outOfRetries() {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.outOfRetries();
+      }
+    }
+
+    @Override
+    public void fallback() {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.fallback();
+      }
+    }
+
+    @Override
+    public void requestRejected() {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.requestRejected();
+      }
+    }
+
+    @Override
+    public void hedgeSent() {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.hedgeSent();
+      }
+    }
+
+    @Override
+    public void hedgeWon() {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.hedgeWon();
+      }
+    }
+
+    @Override
+    public void loadBalancerPick(String hostPort) {
+      for (MethodMetrics methodMetrics : metrics) {
+        methodMetrics.loadBalancerPick(hostPort);
+      }
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import static feign.Util.checkArgument;
+
+/**
+ * Immutable state of {@link LatencyHistogram}, all values are in nanoseconds.
+ *
+ * @author Sergii Karpenko
+ */
+public final class HistogramSnapshot {
+
+  private final long[] counts;
+  private final long count;
+  private final long sum;
+  private final long max;
+
+  HistogramSnapshot(long[] counts, long count, long sum, long max) {
+    this.counts = counts;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+  }
+
+  public long count() {
+    return count;
+  }
+
+  public long max() {
+    return max;
+  }
+
+  public double mean() {
+    return count == 0 ? 0 : (double) sum / count;
+  }
+
+  /**
+   * @param quantile from 0 to 1, for example 0.99
+   * @return value that given share of recorded values don't exceed
+   */
+  public long percentile(double quantile) {
+    checkArgument(quantile >= 0 && quantile <= 1, "quantile should be in [0, 1]");
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(LatencyHistogram.highestValue(i), max);
+      }
+    }
+    return max;
+  }
+
+  public long p50() {
+    return percentile(0.5);
+  }
+
+  public long p99() {
+    return percentile(0.99);
+  }
+
+  public long p999() {
+    return percentile(0.999);
+  }
+
+  @Override
+  public String toString() {
+    return "HistogramSnapshot{count=" + count
+        + ", p50=" + millis(p50()) + "ms, p99=" + millis(p99())
+        + "ms, p999=" + millis(p999()) + "ms, max=" + millis(max) + "ms}";
+  }
+
+  private static double millis(long nanos) {
+    return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-method latency histograms of client keyed by method tag, like {@code IcecreamServiceApi#findOrder}.
+ *
+ * @author Sergii Karpenko
+ */
+public class LatencyMetrics implements ReactiveMetrics {
+
+  private final Map<String, MethodLatency> methods = new ConcurrentHashMap<>();
+
+  @Override
+  public MethodLatency method(String methodTag) {
+    return methods.computeIfAbsent(methodTag, MethodLatency::new);
+  }
+
+  /**
+   * @return snapshot of method or null if method wasn't built with this metrics
+   */
+  public MethodLatencySnapshot snapshot(String methodTag) {
+    MethodLatency methodLatency = methods.get(methodTag);
+    return methodLatency != null ? methodLatency.snapshot() : null;
+  }
+
+  /**
+   * @return snapshots of all methods sorted by method tag
+   */
+  public Map<String, MethodLatencySnapshot> snapshot() {
+    Map<String, MethodLatencySnapshot> snapshot = new TreeMap<>();
+    methods.forEach((methodTag, methodLatency) -> snapshot.put(methodTag, methodLatency.snapshot()));
+    return snapshot;
+  }
+}
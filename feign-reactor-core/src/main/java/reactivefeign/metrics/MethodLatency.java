@@ -0,0 +1,68 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and response statuses of single feign method.
+ *
+ * @author Sergii Karpenko
+ */
+public final class MethodLatency implements MethodMetrics {
+
+  private final String methodTag;
+  private final LatencyHistogram headers = new LatencyHistogram();
+  private final LatencyHistogram body = new LatencyHistogram();
+  // index is status / 100, 1xx to 5xx, 0 is for anything else
+  private final LongAdder[] statuses = new LongAdder[6];
+  private final LongAdder errors = new LongAdder();
+
+  MethodLatency(String methodTag) {
+    this.methodTag = methodTag;
+    for (int i = 0; i < statuses.length; i++) {
+      statuses[i] = new LongAdder();
+    }
+  }
+
+  public String methodTag() {
+    return methodTag;
+  }
+
+  @Override
+  public void responseReceived(int status, long nanos) {
+    headers.record(nanos);
+    int family = status / 100;
+    statuses[family > 0 && family < statuses.length ? family : 0].increment();
+  }
+
+  @Override
+  public void bodyReceived(long nanos) {
+    body.record(nanos);
+  }
+
+  @Override
+  public void requestFailed(long nanos) {
+    errors.increment();
+  }
+
+  public MethodLatencySnapshot snapshot() {
+    long[] statusCounts = new long[statuses.length];
+    for (int i = 0; i < statuses.length; i++) {
+      statusCounts[i] = statuses[i].sum();
+    }
+    return new MethodLatencySnapshot(methodTag,
+        headers.snapshot(), body.snapshot(), statusCounts, errors.sum());
+  }
+}
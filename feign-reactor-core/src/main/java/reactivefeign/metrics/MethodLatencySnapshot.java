@@ -0,0 +1,78 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.metrics;
+
+/**
+ * Immutable state of {@link MethodLatency}.
+ *
+ * @author Sergii Karpenko
+ */
+public final class MethodLatencySnapshot {
+
+  private final String methodTag;
+  private final HistogramSnapshot headers;
+  private final HistogramSnapshot body;
+  private final long[] statuses;
+  private final long errors;
+
+  MethodLatencySnapshot(String methodTag, HistogramSnapshot headers, HistogramSnapshot body,
+                        long[] statuses, long errors) {
+    this.methodTag = methodTag;
+    this.headers = headers;
+    this.body = body;
+    this.statuses = statuses;
+    this.errors = errors;
+  }
+
+  public String methodTag() {
+    return methodTag;
+  }
+
+  /**
+   * @return time from subscription to received response headers
+   */
+  public HistogramSnapshot headers() {
+    return headers;
+  }
+
+  /**
+   * @return time from subscription to last element of response body
+   */
+  public HistogramSnapshot body() {
+    return body;
+  }
+
+  /**
+   * @param family 1 to 5 for 1xx to 5xx
+   * @return number of responses with status of given family
+   */
+  public long statusCount(int family) {
+    return family > 0 && family < statuses.length ? statuses[family] : 0;
+  }
+
+  /**
+   * @return number of calls that failed without response
+   */
+  public long errors() {
+    return errors;
+  }
+
+  @Override
+  public String toString() {
+    return "MethodLatencySnapshot{" + methodTag
+        + ", headers=" + headers + ", body=" + body
+        + ", 2xx=" + statusCount(2) + ", 4xx=" + statusCount(4) + ", 5xx=" + statusCount(5)
+        + ", errors=" + errors + "}";
+  }
+}
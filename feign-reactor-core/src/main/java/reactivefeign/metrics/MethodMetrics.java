@@ -0,0 +1,94 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.metrics;
+
+/**
+ * Events of single feign method reported by client layers.
+ * All events are ignored by default, so implementation overrides only those it's interested in.
+ * Times are in nanoseconds.
+ *
+ * @author Sergii Karpenko
+ */
+public interface MethodMetrics {
+
+  MethodMetrics NOOP = new MethodMetrics() {};
+
+  /**
+   * Request is sent, waiting for response
+   */
+  default void requestStarted() {}
+
+  /**
+   * Request got response or failed or was cancelled
+   */
+  default void requestFinished() {}
+
+  /**
+   * @param status http status of response
+   * @param nanos time from request start to received headers
+   */
+  default void responseReceived(int status, long nanos) {}
+
+  /**
+   * @param nanos time from request start to last element of body
+   */
+  default void bodyReceived(long nanos) {}
+
+  /**
+   * @param nanos time from request start to error or cancellation of response body
+   */
+  default void bodyFailed(long nanos) {}
+
+  /**
+   * @param nanos time from request start to failure without response
+   */
+  default void requestFailed(long nanos) {}
+
+  default void retried() {}
+
+  /**
+   * Retry wanted by retry policy was not done as retry budget was spent
+   * or request body couldn't be replayed
+   */
+  default void retrySuppressed() {}
+
+  /**
+   * @param bytes estimated size of request body kept for replay by retries
+   */
+  default void bodyBuffered(long bytes) {}
+
+  default void outOfRetries() {}
+
+  default void fallback() {}
+
+  /**
+   * Call was not sent because client was overloaded, by bulkhead for example
+   */
+  default void requestRejected() {}
+
+  /**
+   * Backup request is sent as call took longer than hedging delay
+   */
+  default void hedgeSent() {}
+
+  /**
+   * Backup request responded before primary one
+   */
+  default void hedgeWon() {}
+
+  /**
+   * @param hostPort server chosen by load balancer
+   */
+  default void loadBalancerPick(String hostPort) {}
+}
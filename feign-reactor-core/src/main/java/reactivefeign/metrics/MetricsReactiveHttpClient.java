@@ -0,0 +1,103 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.metrics;
+
+import feign.MethodMetadata;
+import org.reactivestreams.Publisher;
+import reactivefeign.client.DelegatingReactiveHttpResponse;
+import reactivefeign.client.ReactiveHttpClient;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import static reactivefeign.utils.FeignUtils.methodTag;
+
+/**
+ * Reports start, time to response headers, time to last element of response body
+ * and failures of requests and response bodies into {@link MethodMetrics} of method.
+ *
+ * @author Sergii Karpenko
+ */
+public class MetricsReactiveHttpClient implements ReactiveHttpClient {
+
+  private final ReactiveHttpClient reactiveClient;
+  private final MethodMetrics methodMetrics;
+
+  public static ReactiveHttpClient measure(ReactiveHttpClient reactiveClient,
+                                           MethodMetadata methodMetadata,
+                                           ReactiveMetrics metrics) {
+    return new MetricsReactiveHttpClient(reactiveClient, metrics.method(methodTag(methodMetadata)));
+  }
+
+  private MetricsReactiveHttpClient(ReactiveHttpClient reactiveClient, MethodMetrics methodMetrics) {
+    this.reactiveClient = reactiveClient;
+    this.methodMetrics = methodMetrics;
+  }
+
+  @Override
+  public Mono<ReactiveHttpResponse> executeRequest(ReactiveHttpRequest request) {
+    return Mono.defer(() -> {
+      long start = System.nanoTime();
+      methodMetrics.requestStarted();
+      return reactiveClient.executeRequest(request)
+          .doOnError(throwable -> methodMetrics.requestFailed(System.nanoTime() - start))
+          .doFinally(signalType -> methodMetrics.requestFinished())
+          .map(response -> {
+            methodMetrics.responseReceived(response.status(), System.nanoTime() - start);
+            return new MeasuredReactiveHttpResponse(response, start);
+          });
+    });
+  }
+
+  private class MeasuredReactiveHttpResponse extends DelegatingReactiveHttpResponse {
+
+    private final long start;
+
+    private MeasuredReactiveHttpResponse(ReactiveHttpResponse response, long start) {
+      super(response);
+      this.start = start;
+    }
+
+    @Override
+    public Publisher<?> body() {
+      Publisher<?> publisher = getResponse().body();
+      if (publisher instanceof Mono) {
+        return ((Mono<?>) publisher).doFinally(this::recordBody);
+      } else {
+        return ((Flux<?>) publisher).doFinally(this::recordBody);
+      }
+    }
+
+    @Override
+    public Mono<byte[]> bodyData() {
+      return getResponse().bodyData();
+    }
+
+    @Override
+    public Mono<byte[]> bodyData(int maxBytes) {
+      return getResponse().bodyData(maxBytes);
+    }
+
+    private void recordBody(SignalType signalType) {
+      long nanos = System.nanoTime() - start;
+      if (signalType == SignalType.ON_COMPLETE) {
+        methodMetrics.bodyReceived(nanos);
+      } else {
+        methodMetrics.bodyFailed(nanos);
+      }
+    }
+  }
+}
@@ -0,0 +1,30 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.metrics;
+
+/**
+ * Metrics SPI. Implementation is asked once per method when client is built
+ * for {@link MethodMetrics} with all its tags already resolved,
+ * so reporting events on each call doesn't allocate.
+ *
+ * @author Sergii Karpenko
+ */
+public interface ReactiveMetrics {
+
+  /**
+   * @param methodTag tag of feign method, like {@code IcecreamServiceApi#findOrder}
+   * @return recorder of method events, same instance is expected for same method tag
+   */
+  MethodMetrics method(String methodTag);
+}
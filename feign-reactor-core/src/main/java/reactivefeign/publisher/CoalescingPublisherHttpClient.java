@@ -0,0 +1,146 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.publisher;
+
+import org.reactivestreams.Publisher;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight decorator of {@link PublisherHttpClient} for methods returning {@link Mono}.
+ * Concurrent identical GET requests (same uri and values of key headers) share one upstream call,
+ * entry is removed from in-flight table as soon as call terminates, so results are never cached.
+ *
+ * @author Sergii Karpenko
+ */
+public class CoalescingPublisherHttpClient implements PublisherHttpClient {
+
+  private static final String GET = "GET";
+
+  private final PublisherHttpClient publisherClient;
+  private final String[] keyHeaders;
+  private final CoalescingStats stats;
+  private final Map<Key, InFlight> inFlight = new ConcurrentHashMap<>();
+
+  public CoalescingPublisherHttpClient(PublisherHttpClient publisherClient,
+                                       List<String> keyHeaders, CoalescingStats stats) {
+    this.publisherClient = publisherClient;
+    this.keyHeaders = keyHeaders.toArray(new String[0]);
+    this.stats = stats;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Publisher<?> executeRequest(ReactiveHttpRequest request) {
+    if (!GET.equalsIgnoreCase(request.method())) {
+      return publisherClient.executeRequest(request);
+    }
+
+    return Mono.defer(() -> {
+      Key key = new Key(request, keyHeaders);
+      InFlight call = inFlight.get(key);
+      if (call == null) {
+        // upstream is subscribed only after entry is published, so losing the race costs assembly only
+        InFlight newCall = new InFlight();
+        newCall.response = Mono.from((Publisher<Object>) publisherClient.executeRequest(request))
+            // removed before result is delivered, so call made right after it goes upstream
+            .doOnTerminate(() -> inFlight.remove(key, newCall))
+            .cache();
+        call = inFlight.putIfAbsent(key, newCall);
+        if (call == null) {
+          stats.recordRequest(false);
+          return newCall.response;
+        }
+      }
+      stats.recordRequest(true);
+      return call.response;
+    });
+  }
+
+  /**
+   * @return number of calls currently in flight
+   */
+  public int inFlight() {
+    return inFlight.size();
+  }
+
+  private static final class InFlight {
+    // safely published via in-flight table
+    private Mono<Object> response;
+  }
+
+  private static final class Key {
+    private final String uri;
+    private final Object[] headerValues;
+    private final int hashCode;
+
+    private Key(ReactiveHttpRequest request, String[] keyHeaders) {
+      this.uri = request.uriString();
+      if (keyHeaders.length > 0) {
+        Map<String, List<String>> headers = request.headers();
+        headerValues = new Object[keyHeaders.length];
+        for (int i = 0; i < keyHeaders.length; i++) {
+          headerValues[i] = headerValues(headers, keyHeaders[i]);
+        }
+      } else {
+        headerValues = null;
+      }
+      this.hashCode = 31 * uri.hashCode() + Arrays.hashCode(headerValues);
+    }
+
+    /**
+     * Header names are case insensitive, so values of all matching names are taken.
+     */
+    private static List<String> headerValues(Map<String, List<String>> headers, String name) {
+      List<String> values = null;
+      for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+        if (!name.equalsIgnoreCase(header.getKey())) {
+          continue;
+        }
+        if (values == null) {
+          values = header.getValue();
+        } else {
+          values = new ArrayList<>(values);
+          values.addAll(header.getValue());
+        }
+      }
+      return values;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return hashCode == other.hashCode
+          && uri.equals(other.uri)
+          && Arrays.equals(headerValues, other.headerValues);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.publisher;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of {@link CoalescingPublisherHttpClient}, may be shared by all methods of client.
+ *
+ * @author Sergii Karpenko
+ */
+public class CoalescingStats {
+
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  void recordRequest(boolean joinedInFlight) {
+    requests.increment();
+    if (joinedInFlight) {
+      coalesced.increment();
+    }
+  }
+
+  /**
+   * @return number of GET requests passed through coalescing client
+   */
+  public long requests() {
+    return requests.sum();
+  }
+
+  /**
+   * @return number of requests that joined call already in flight
+   */
+  public long coalesced() {
+    return coalesced.sum();
+  }
+
+  /**
+   * @return share of requests that didn't go upstream
+   */
+  public double hitRatio() {
+    long requests = requests();
+    return requests == 0 ? 0 : (double) coalesced() / requests;
+  }
+
+  @Override
+  public String toString() {
+    return "CoalescingStats{requests=" + requests() + ", coalesced=" + coalesced() + "}";
+  }
+}
@@ -16,6 +16,10 @@ package reactivefeign.publisher;
 import feign.MethodMetadata;
 import org.reactivestreams.Publisher;
 import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.retry.BodyReplay;
+import reactivefeign.retry.BufferedBody;
+import reactivefeign.retry.RetryBudget;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -34,9 +38,40 @@ public class FluxRetryPublisherHttpClient extends RetryPublisherHttpClient<FluxP
     super(publisherClient, methodMetadata, retryFunction);
   }
 
+  public FluxRetryPublisherHttpClient(
+          FluxPublisherHttpClient publisherClient, MethodMetadata methodMetadata,
+          Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+          MethodMetrics methodMetrics) {
+    super(publisherClient, methodMetadata, retryFunction, methodMetrics);
+  }
+
+  public FluxRetryPublisherHttpClient(
+          FluxPublisherHttpClient publisherClient, MethodMetadata methodMetadata,
+          Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+          MethodMetrics methodMetrics, RetryBudget retryBudget) {
+    super(publisherClient, methodMetadata, retryFunction, methodMetrics, retryBudget);
+  }
+
+  public FluxRetryPublisherHttpClient(
+          FluxPublisherHttpClient publisherClient, MethodMetadata methodMetadata,
+          Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+          MethodMetrics methodMetrics, RetryBudget retryBudget, BodyReplay bodyReplay) {
+    super(publisherClient, methodMetadata, retryFunction, methodMetrics, retryBudget, bodyReplay);
+  }
+
   @Override
   public Publisher<?> executeRequest(ReactiveHttpRequest request) {
-    Flux<?> response = publisherClient.executeRequest(request);
-    return response.retryWhen(retryFunction).onErrorMap(outOfRetries());
+    // every subscription is separate call that buffers body on its own
+    return bodyReplay != null
+        ? Flux.defer(() -> execute(request, bufferBody(request)))
+        : execute(request, null);
+  }
+
+  private Flux<?> execute(ReactiveHttpRequest request, BufferedBody body) {
+    Flux<?> response = publisherClient.executeRequest(body != null ? body.request() : request);
+    if (retryBudget != null) {
+      response = response.doOnComplete(this::onSuccess);
+    }
+    return response.retryWhen(retryFunction(body)).onErrorMap(outOfRetries());
   }
 }
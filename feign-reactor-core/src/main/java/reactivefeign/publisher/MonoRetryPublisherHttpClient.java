@@ -16,6 +16,10 @@ package reactivefeign.publisher;
 import feign.MethodMetadata;
 import org.reactivestreams.Publisher;
 import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.retry.BodyReplay;
+import reactivefeign.retry.BufferedBody;
+import reactivefeign.retry.RetryBudget;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -34,9 +38,40 @@ public class MonoRetryPublisherHttpClient extends RetryPublisherHttpClient<MonoP
     super(publisherClient, methodMetadata, retryFunction);
   }
 
+  public MonoRetryPublisherHttpClient(
+          MonoPublisherHttpClient publisherClient, MethodMetadata methodMetadata,
+          Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+          MethodMetrics methodMetrics) {
+    super(publisherClient, methodMetadata, retryFunction, methodMetrics);
+  }
+
+  public MonoRetryPublisherHttpClient(
+          MonoPublisherHttpClient publisherClient, MethodMetadata methodMetadata,
+          Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+          MethodMetrics methodMetrics, RetryBudget retryBudget) {
+    super(publisherClient, methodMetadata, retryFunction, methodMetrics, retryBudget);
+  }
+
+  public MonoRetryPublisherHttpClient(
+          MonoPublisherHttpClient publisherClient, MethodMetadata methodMetadata,
+          Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+          MethodMetrics methodMetrics, RetryBudget retryBudget, BodyReplay bodyReplay) {
+    super(publisherClient, methodMetadata, retryFunction, methodMetrics, retryBudget, bodyReplay);
+  }
+
   @Override
   public Publisher<?> executeRequest(ReactiveHttpRequest request) {
-    Mono<?> response = publisherClient.executeRequest(request);
-    return response.retryWhen(retryFunction).onErrorMap(outOfRetries());
+    // every subscription is separate call that buffers body on its own
+    return bodyReplay != null
+        ? Mono.defer(() -> execute(request, bufferBody(request)))
+        : execute(request, null);
+  }
+
+  private Mono<?> execute(ReactiveHttpRequest request, BufferedBody body) {
+    Mono<?> response = publisherClient.executeRequest(body != null ? body.request() : request);
+    if (retryBudget != null) {
+      response = response.doOnSuccess(result -> onSuccess());
+    }
+    return response.retryWhen(retryFunction(body)).onErrorMap(outOfRetries());
   }
 }
@@ -16,8 +16,17 @@ package reactivefeign.publisher;
 import feign.MethodMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactivefeign.deadline.DeadlineExceededException;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.retry.BodyNotReplayableException;
+import reactivefeign.retry.BodyReplay;
+import reactivefeign.retry.BufferedBody;
+import reactivefeign.retry.RetryBudget;
+import reactivefeign.retry.RetryBudgetExceededException;
 import reactor.core.publisher.Flux;
 
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 
 import static reactivefeign.utils.FeignUtils.methodTag;
@@ -34,17 +43,80 @@ abstract public class RetryPublisherHttpClient<P extends PublisherHttpClient> im
   private final String feignMethodTag;
   protected final P publisherClient;
   protected final Function<Flux<Throwable>, Flux<?>> retryFunction;
+  protected final MethodMetrics methodMetrics;
+  protected final RetryBudget retryBudget;
+  protected final BodyReplay bodyReplay;
+  private final Function<Flux<Throwable>, Flux<Throwable>> retryPolicyFunction;
 
   protected RetryPublisherHttpClient(P publisherClient,
                                    MethodMetadata methodMetadata,
                                    Function<Flux<Throwable>, Flux<Throwable>> retryFunction) {
+    this(publisherClient, methodMetadata, retryFunction, MethodMetrics.NOOP);
+  }
+
+  protected RetryPublisherHttpClient(P publisherClient,
+                                   MethodMetadata methodMetadata,
+                                   Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+                                   MethodMetrics methodMetrics) {
+    this(publisherClient, methodMetadata, retryFunction, methodMetrics, null);
+  }
+
+  protected RetryPublisherHttpClient(P publisherClient,
+                                   MethodMetadata methodMetadata,
+                                   Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+                                   MethodMetrics methodMetrics,
+                                   RetryBudget retryBudget) {
+    this(publisherClient, methodMetadata, retryFunction, methodMetrics, retryBudget, null);
+  }
+
+  protected RetryPublisherHttpClient(P publisherClient,
+                                   MethodMetadata methodMetadata,
+                                   Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+                                   MethodMetrics methodMetrics,
+                                   RetryBudget retryBudget,
+                                   BodyReplay bodyReplay) {
     this.publisherClient = publisherClient;
     this.feignMethodTag = methodTag(methodMetadata);
-    this.retryFunction = wrapWithLog(retryFunction, feignMethodTag);
+    this.methodMetrics = methodMetrics;
+    this.retryBudget = retryBudget;
+    this.bodyReplay = bodyReplay;
+    this.retryPolicyFunction = retryFunction;
+    this.retryFunction = wrapWithLog(retryFunction, feignMethodTag, methodMetrics, retryBudget);
+  }
+
+  /**
+   * @return body of request kept for retries or null if body is replayable or buffering is not enabled
+   */
+  protected BufferedBody bufferBody(ReactiveHttpRequest request) {
+    return bodyReplay != null ? bodyReplay.buffer(request, methodMetrics) : null;
+  }
+
+  /**
+   * @return retry function of single call, retries are skipped once buffered body can't be replayed
+   */
+  protected Function<Flux<Throwable>, Flux<?>> retryFunction(BufferedBody body) {
+    return body == null
+        ? retryFunction
+        : wrapWithLog(retryPolicyFunction, feignMethodTag, methodMetrics, retryBudget, body::canReplay);
+  }
+
+  /**
+   * Successful calls are counted by retry budget as they allow further retries
+   */
+  protected void onSuccess() {
+    if (retryBudget != null) {
+      retryBudget.onSuccess();
+    }
   }
 
   protected Function<Throwable, Throwable> outOfRetries() {
     return throwable -> {
+      if (throwable instanceof DeadlineExceededException
+          || throwable instanceof RetryBudgetExceededException
+          || throwable instanceof BodyNotReplayableException) {
+        return throwable;
+      }
+      methodMetrics.outOfRetries();
       logger.debug("[{}]---> USED ALL RETRIES", feignMethodTag, throwable);
       return new OutOfRetriesException(throwable, feignMethodTag);
     };
@@ -53,8 +125,51 @@ abstract public class RetryPublisherHttpClient<P extends PublisherHttpClient> im
   protected static Function<Flux<Throwable>, Flux<?>> wrapWithLog(
           Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
           String feignMethodTag) {
-    return throwableFlux -> retryFunction.apply(throwableFlux)
+    return wrapWithLog(retryFunction, feignMethodTag, MethodMetrics.NOOP);
+  }
+
+  protected static Function<Flux<Throwable>, Flux<?>> wrapWithLog(
+          Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+          String feignMethodTag,
+          MethodMetrics methodMetrics) {
+    return wrapWithLog(retryFunction, feignMethodTag, methodMetrics, null);
+  }
+
+  protected static Function<Flux<Throwable>, Flux<?>> wrapWithLog(
+          Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+          String feignMethodTag,
+          MethodMetrics methodMetrics,
+          RetryBudget retryBudget) {
+    return wrapWithLog(retryFunction, feignMethodTag, methodMetrics, retryBudget, null);
+  }
+
+  protected static Function<Flux<Throwable>, Flux<?>> wrapWithLog(
+          Function<Flux<Throwable>, Flux<Throwable>> retryFunction,
+          String feignMethodTag,
+          MethodMetrics methodMetrics,
+          RetryBudget retryBudget,
+          BooleanSupplier canReplayBody) {
+    return throwableFlux -> retryFunction.apply(throwableFlux.map(throwable -> {
+              // no time left for another attempt, so fail without asking retry policy
+              if (throwable instanceof DeadlineExceededException) {
+                throw (DeadlineExceededException) throwable;
+              }
+              return throwable;
+            }))
             .doOnNext(throwable -> {
+              // resending partially consumed or not buffered body would corrupt request
+              if (canReplayBody != null && !canReplayBody.getAsBoolean()) {
+                methodMetrics.retrySuppressed();
+                logger.debug("[{}]---> RETRY SUPPRESSED as body can't be replayed", feignMethodTag, throwable);
+                throw new BodyNotReplayableException(throwable, feignMethodTag);
+              }
+              // checked after retry delay, so budget reflects successes at the moment of retry
+              if (retryBudget != null && !retryBudget.tryRetry()) {
+                methodMetrics.retrySuppressed();
+                logger.debug("[{}]---> RETRY SUPPRESSED by budget", feignMethodTag, throwable);
+                throw new RetryBudgetExceededException(throwable, feignMethodTag);
+              }
+              methodMetrics.retried();
               if (logger.isDebugEnabled()) {
                 logger.debug("[{}]---> RETRYING on error", feignMethodTag, throwable);
               }
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Token bucket refilled with constant rate and holding up to burst tokens.
+ * Kept as single theoretical arrival time (GCRA), so taking token is one CAS.
+ * Call that finds no token either reserves next one and waits for it up to max delay
+ * or is rejected immediately if max delay is zero.
+ * Token reserved by call that is cancelled while waiting is not returned.
+ *
+ * @author Sergii Karpenko
+ */
+public class RateLimiter {
+
+  static final long REJECTED = -1;
+
+  private final long intervalNanos;
+  private final long toleranceNanos;
+  private final long maxDelayNanos;
+  private final AtomicLong arrivalTime;
+  private final LongAdder delayed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * Rate limiter that rejects calls as soon as burst is used up
+   */
+  public RateLimiter(double permitsPerSecond, int burst) {
+    this(permitsPerSecond, burst, Duration.ZERO);
+  }
+
+  /**
+   * @param permitsPerSecond rate of refill
+   * @param burst tokens available at once, 1 to evenly space calls
+   * @param maxDelay how long call may wait for token before rejection
+   */
+  public RateLimiter(double permitsPerSecond, int burst, Duration maxDelay) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+    }
+    if (burst <= 0) {
+      throw new IllegalArgumentException("burst must be positive: " + burst);
+    }
+    this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+    this.toleranceNanos = intervalNanos * (burst - 1);
+    this.maxDelayNanos = checkNotNull(maxDelay, "maxDelay must not be null").toNanos();
+    // full bucket
+    this.arrivalTime = new AtomicLong(System.nanoTime());
+  }
+
+  /**
+   * @return nanos to wait for reserved token, 0 if token is available now
+   * or {@link #REJECTED} if call would wait longer than max delay
+   */
+  long reserve() {
+    for (;;) {
+      long now = System.nanoTime();
+      long current = arrivalTime.get();
+      // bucket doesn't keep more than burst tokens
+      long next = current - now < 0 ? now : current;
+      long wait = next - toleranceNanos - now;
+      if (wait > maxDelayNanos) {
+        rejected.increment();
+        return REJECTED;
+      }
+      if (arrivalTime.compareAndSet(current, next + intervalNanos)) {
+        if (wait > 0) {
+          delayed.increment();
+          return wait;
+        }
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * @return calls that waited for token
+   */
+  public long delayed() {
+    return delayed.sum();
+  }
+
+  /**
+   * @return calls failed with {@link RateLimitExceededException}
+   */
+  public long rejected() {
+    return rejected.sum();
+  }
+
+  RateLimitExceededException rejection() {
+    return new RateLimitExceededException(TimeUnit.SECONDS.toNanos(1) / (double) intervalNanos);
+  }
+
+  @Override
+  public String toString() {
+    return "RateLimiter{intervalNanos=" + intervalNanos + ", delayed=" + delayed()
+        + ", rejected=" + rejected() + '}';
+  }
+}
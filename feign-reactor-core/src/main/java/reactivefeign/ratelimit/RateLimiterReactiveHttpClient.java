@@ -0,0 +1,66 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.ratelimit;
+
+import reactivefeign.client.ReactiveHttpClient;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.client.ReactiveHttpResponse;
+import reactivefeign.metrics.MethodMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Takes token of {@link RateLimiter} before every request, retries included.
+ * If token is available request is sent right away, otherwise it's delayed
+ * on Reactor timer or rejected with {@link RateLimitExceededException}.
+ *
+ * @author Sergii Karpenko
+ */
+public class RateLimiterReactiveHttpClient implements ReactiveHttpClient {
+
+  private final ReactiveHttpClient reactiveClient;
+  private final RateLimiter rateLimiter;
+  private final MethodMetrics methodMetrics;
+
+  public static ReactiveHttpClient rateLimit(ReactiveHttpClient reactiveClient,
+                                             RateLimiter rateLimiter,
+                                             MethodMetrics methodMetrics) {
+    return new RateLimiterReactiveHttpClient(reactiveClient, rateLimiter, methodMetrics);
+  }
+
+  private RateLimiterReactiveHttpClient(ReactiveHttpClient reactiveClient,
+                                        RateLimiter rateLimiter,
+                                        MethodMetrics methodMetrics) {
+    this.reactiveClient = reactiveClient;
+    this.rateLimiter = rateLimiter;
+    this.methodMetrics = methodMetrics;
+  }
+
+  @Override
+  public Mono<ReactiveHttpResponse> executeRequest(ReactiveHttpRequest request) {
+    return Mono.defer(() -> {
+      long wait = rateLimiter.reserve();
+      if (wait == 0) {
+        return reactiveClient.executeRequest(request);
+      } else if (wait == RateLimiter.REJECTED) {
+        methodMetrics.requestRejected();
+        return Mono.error(rateLimiter.rejection());
+      } else {
+        return Mono.delay(Duration.ofNanos(wait))
+            .then(reactiveClient.executeRequest(request));
+      }
+    });
+  }
+}
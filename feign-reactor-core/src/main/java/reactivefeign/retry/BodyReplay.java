@@ -0,0 +1,136 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.retry;
+
+import org.reactivestreams.Publisher;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.metrics.MethodMetrics;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Callable;
+import java.util.function.ToLongFunction;
+
+import static feign.Util.checkNotNull;
+
+/**
+ * Makes request bodies safe to resubscribe on retry.
+ * <p>
+ * Bodies known to be replayable (absent, {@link Mono#just}, {@link Mono#fromCallable} and alike,
+ * or marked with {@link #replayable}) are sent again as is. Other bodies may come from one-shot source,
+ * so elements are kept while first attempt sends them, up to max bytes, and replayed by retries.
+ * If body is larger, buffer is dropped and retries of that call are skipped.
+ * <p>
+ * Elements are serialized by http client, so buffer keeps them by reference and their size is estimated:
+ * byte arrays, byte buffers and strings by length, other objects as {@link #DEFAULT_ELEMENT_SIZE}.
+ *
+ * @author Sergii Karpenko
+ */
+public class BodyReplay {
+
+  public static final long DEFAULT_ELEMENT_SIZE = 256;
+
+  private final long maxBufferBytes;
+  private final ToLongFunction<Object> sizeEstimator;
+
+  /**
+   * @param maxBufferBytes max size of buffered body per call
+   */
+  public BodyReplay(long maxBufferBytes) {
+    this(maxBufferBytes, BodyReplay::estimateSize);
+  }
+
+  /**
+   * @param maxBufferBytes max size of buffered body per call
+   * @param sizeEstimator size of body element in bytes
+   */
+  public BodyReplay(long maxBufferBytes, ToLongFunction<Object> sizeEstimator) {
+    if (maxBufferBytes < 0) {
+      throw new IllegalArgumentException("maxBufferBytes should not be negative: " + maxBufferBytes);
+    }
+    this.maxBufferBytes = maxBufferBytes;
+    this.sizeEstimator = checkNotNull(sizeEstimator, "sizeEstimator must not be null");
+  }
+
+  /**
+   * @return buffered body of request or null if body is replayable itself
+   */
+  public BufferedBody buffer(ReactiveHttpRequest request, MethodMetrics methodMetrics) {
+    if (isReplayable(request.body())) {
+      return null;
+    }
+    return new BufferedBody(request, maxBufferBytes, sizeEstimator, methodMetrics);
+  }
+
+  /**
+   * Marks cold body that produces the same elements on every subscription, so it's not buffered.
+   */
+  public static <T> Mono<T> replayable(Mono<T> body) {
+    return new ReplayableMono<>(body);
+  }
+
+  /**
+   * Marks cold body that produces the same elements on every subscription, so it's not buffered.
+   */
+  public static <T> Flux<T> replayable(Flux<T> body) {
+    return new ReplayableFlux<>(body);
+  }
+
+  public static boolean isReplayable(Publisher<?> body) {
+    return body == null
+        || body instanceof Callable
+        || body instanceof ReplayableMono
+        || body instanceof ReplayableFlux;
+  }
+
+  public static long estimateSize(Object element) {
+    if (element instanceof byte[]) {
+      return ((byte[]) element).length;
+    } else if (element instanceof ByteBuffer) {
+      return ((ByteBuffer) element).remaining();
+    } else if (element instanceof CharSequence) {
+      return ((CharSequence) element).length();
+    } else {
+      return DEFAULT_ELEMENT_SIZE;
+    }
+  }
+
+  private static final class ReplayableMono<T> extends MonoOperator<T, T> {
+
+    private ReplayableMono(Mono<? extends T> source) {
+      super(source);
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super T> actual) {
+      source.subscribe(actual);
+    }
+  }
+
+  private static final class ReplayableFlux<T> extends FluxOperator<T, T> {
+
+    private ReplayableFlux(Flux<? extends T> source) {
+      super(source);
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super T> actual) {
+      source.subscribe(actual);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.retry;
+
+import org.reactivestreams.Publisher;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.metrics.MethodMetrics;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToLongFunction;
+
+/**
+ * Body of single call that is recorded by first subscription and replayed by next ones.
+ * Body can't be replayed if it exceeded max bytes or first subscription didn't complete,
+ * as one-shot source is already consumed.
+ *
+ * @author Sergii Karpenko
+ */
+public final class BufferedBody {
+
+  private static final int BUFFERING = 0;
+  private static final int BUFFERED = 1;
+  private static final int OVERFLOWED = 2;
+
+  private final ReactiveHttpRequest request;
+  private final long maxBytes;
+  private final ToLongFunction<Object> sizeEstimator;
+  private final MethodMetrics methodMetrics;
+
+  private final AtomicBoolean subscribed = new AtomicBoolean();
+  // written only by first subscription, published by volatile state
+  private List<Object> elements = new ArrayList<>();
+  private long bytes;
+  private volatile int state = BUFFERING;
+
+  BufferedBody(ReactiveHttpRequest request, long maxBytes,
+               ToLongFunction<Object> sizeEstimator, MethodMetrics methodMetrics) {
+    this.request = request;
+    this.maxBytes = maxBytes;
+    this.sizeEstimator = sizeEstimator;
+    this.methodMetrics = methodMetrics;
+  }
+
+  /**
+   * @return request with body that records or replays original one
+   */
+  public ReactiveHttpRequest request() {
+    Flux<Object> body = Flux.defer(() -> {
+      if (subscribed.compareAndSet(false, true)) {
+        return Flux.from(request.body())
+            .doOnNext(this::record)
+            .doOnComplete(this::complete);
+      } else if (state == BUFFERED) {
+        return Flux.fromIterable(elements).map(BufferedBody::duplicate);
+      } else {
+        return Flux.error(new IllegalStateException("Body can't be replayed"));
+      }
+    });
+    Publisher<Object> replayable = request.body() instanceof Mono ? body.singleOrEmpty() : body;
+    return new ReactiveHttpRequest(request, replayable);
+  }
+
+  /**
+   * @return true if next subscription gets the same body
+   */
+  public boolean canReplay() {
+    return !subscribed.get() || state == BUFFERED;
+  }
+
+  private void record(Object element) {
+    if (state != BUFFERING) {
+      return;
+    }
+    bytes += sizeEstimator.applyAsLong(element);
+    if (bytes > maxBytes) {
+      elements = null;
+      state = OVERFLOWED;
+    } else {
+      // byte buffer is duplicated as client moves its position while sending
+      elements.add(duplicate(element));
+    }
+  }
+
+  private void complete() {
+    if (state == BUFFERING) {
+      state = BUFFERED;
+      methodMetrics.bodyBuffered(bytes);
+    }
+  }
+
+  private static Object duplicate(Object element) {
+    return element instanceof ByteBuffer ? ((ByteBuffer) element).duplicate() : element;
+  }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Limits retries to a fraction of recent successful requests, so retries can't multiply load
+ * on failing target. Should be shared by all methods of target.
+ * <p>
+ * Retry is permitted while retries in sliding window stay under
+ * {@code minRetries + retryRatio * successes}, minRetries allows retries under low traffic.
+ * Window is split into buckets, every bucket keeps its epoch and count in one long,
+ * so counters are updated lock-free and outdated buckets are reset on first update.
+ *
+ * @author Sergii Karpenko
+ */
+public class RetryBudget {
+
+  private static final int BUCKETS = 10;
+  private static final long COUNT_MASK = 0xFFFFFFFFL;
+
+  private final double retryRatio;
+  private final int minRetries;
+  private final long bucketNanos;
+
+  private final AtomicLongArray successes = new AtomicLongArray(BUCKETS);
+  private final AtomicLongArray retries = new AtomicLongArray(BUCKETS);
+
+  private final AtomicLong permitted = new AtomicLong();
+  private final AtomicLong suppressed = new AtomicLong();
+
+  /**
+   * @param retryRatio retries allowed per successful request in last 10 seconds
+   */
+  public RetryBudget(double retryRatio) {
+    this(retryRatio, 10, Duration.ofSeconds(10));
+  }
+
+  /**
+   * @param retryRatio retries allowed per successful request in window
+   * @param minRetries retries allowed in window regardless of successes
+   * @param window length of sliding window
+   */
+  public RetryBudget(double retryRatio, int minRetries, Duration window) {
+    if (retryRatio < 0 || minRetries < 0) {
+      throw new IllegalArgumentException("retryRatio and minRetries should not be negative");
+    }
+    if (window.toNanos() < BUCKETS) {
+      throw new IllegalArgumentException("window is too short: " + window);
+    }
+    this.retryRatio = retryRatio;
+    this.minRetries = minRetries;
+    this.bucketNanos = window.toNanos() / BUCKETS;
+  }
+
+  public void onSuccess() {
+    increment(successes, epoch());
+  }
+
+  /**
+   * @return true if retry fits into budget and was counted
+   */
+  public boolean tryRetry() {
+    long epoch = epoch();
+    if (count(retries, epoch) < minRetries + retryRatio * count(successes, epoch)) {
+      increment(retries, epoch);
+      permitted.incrementAndGet();
+      return true;
+    } else {
+      suppressed.incrementAndGet();
+      return false;
+    }
+  }
+
+  public long permitted() {
+    return permitted.get();
+  }
+
+  public long suppressed() {
+    return suppressed.get();
+  }
+
+  private long epoch() {
+    return Math.floorDiv(System.nanoTime(), bucketNanos);
+  }
+
+  private static void increment(AtomicLongArray buckets, long epoch) {
+    int index = (int) Math.floorMod(epoch, (long) BUCKETS);
+    long stamp = epoch << 32;
+    for (;;) {
+      long current = buckets.get(index);
+      long next = (current & ~COUNT_MASK) == stamp ? current + 1 : stamp | 1;
+      if (buckets.compareAndSet(index, current, next)) {
+        return;
+      }
+    }
+  }
+
+  private static long count(AtomicLongArray buckets, long epoch) {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      long bucket = buckets.get(i);
+      // epoch is compared by lower 32 bits that are kept in bucket
+      int age = (int) epoch - (int) (bucket >>> 32);
+      if (age >= 0 && age < BUCKETS) {
+        count += bucket & COUNT_MASK;
+      }
+    }
+    return count;
+  }
+}
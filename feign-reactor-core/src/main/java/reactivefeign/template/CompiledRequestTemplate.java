@@ -0,0 +1,205 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.template;
+
+import feign.MethodMetadata;
+import reactivefeign.utils.CopyOnWriteMultiValueMap;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+import static feign.Util.checkNotNull;
+import static java.util.stream.Collectors.toList;
+import static reactivefeign.template.CompiledTemplate.appendValue;
+import static reactivefeign.template.UriEncoding.*;
+import static reactivefeign.utils.CopyOnWriteMultiValueMap.sharedCopyOf;
+import static reactivefeign.utils.MultiValueMapUtils.*;
+
+/**
+ * Request template of method compiled once from {@link MethodMetadata}.
+ * Doesn't depend on target, immutable and thread safe, so may be shared by all clients of interface.
+ *
+ * @author Sergii Karpenko
+ */
+public final class CompiledRequestTemplate {
+
+  private final MethodMetadata methodMetadata;
+  private final CompiledTemplate pathTemplate;
+  private final Map<String, List<String>> constantHeaders;
+  private final Map<String, CompiledTemplate[]> headerTemplates;
+  private final Map<String, CompiledTemplate[]> queryTemplates;
+  private final int pathLengthEstimate;
+
+  private CompiledRequestTemplate(MethodMetadata methodMetadata) {
+    this.methodMetadata = checkNotNull(methodMetadata, "methodMetadata must be not null");
+
+    Map<String, Integer> argIndexes = argIndexes(methodMetadata);
+    this.pathTemplate = CompiledTemplate.compile(methodMetadata.template().url(), argIndexes, PATH);
+
+    Map<String, CompiledTemplate[]> allHeaderTemplates
+        = compileTemplates(methodMetadata.template().headers(), argIndexes, NONE);
+    Map<String, List<String>> constantHeaders = new LinkedHashMap<>();
+    Map<String, CompiledTemplate[]> headerTemplates = new LinkedHashMap<>();
+    allHeaderTemplates.forEach((name, templates) -> {
+      if (Stream.of(templates).allMatch(CompiledTemplate::isConstant)) {
+        constantHeaders.put(name, Stream.of(templates)
+            .map(template -> template.expand(new Object[0]))
+            .collect(toList()));
+      } else {
+        headerTemplates.put(name, templates);
+      }
+    });
+    this.constantHeaders = sharedCopyOf(constantHeaders);
+    this.headerTemplates = headerTemplates;
+
+    Map<String, Collection<String>> queriesAll = new LinkedHashMap<>(methodMetadata.template().queries());
+    if (methodMetadata.formParams() != null) {
+      methodMetadata.formParams()
+          .forEach(param -> add(queriesAll, param, "{" + param + "}"));
+    }
+    this.queryTemplates = compileTemplates(queriesAll, argIndexes, QUERY);
+
+    int queryLengthEstimate = 0;
+    for (Map.Entry<String, CompiledTemplate[]> query : queryTemplates.entrySet()) {
+      for (CompiledTemplate template : query.getValue()) {
+        queryLengthEstimate += query.getKey().length()
+            + (template != null ? template.estimatedLength() + 2 : 1);
+      }
+    }
+    this.pathLengthEstimate = pathTemplate.estimatedLength() + queryLengthEstimate;
+  }
+
+  public static CompiledRequestTemplate compile(MethodMetadata methodMetadata) {
+    return new CompiledRequestTemplate(methodMetadata);
+  }
+
+  public MethodMetadata metadata() {
+    return methodMetadata;
+  }
+
+  public String method() {
+    return methodMetadata.template().method();
+  }
+
+  /**
+   * @return expanded path with query line, relative to target url
+   */
+  public String pathAndQuery(Object[] argv) {
+    StringBuilder pathBuilder = new StringBuilder(pathLengthEstimate);
+    pathTemplate.expand(argv, pathBuilder);
+    appendQueries(pathBuilder, argv);
+    return pathBuilder.toString();
+  }
+
+  /**
+   * Appends query line expanded from template and query map argument to uri builder
+   */
+  public void appendQueries(StringBuilder uriBuilder, Object[] argv) {
+    int queryStart = uriBuilder.length();
+
+    // queries from template
+    for (Map.Entry<String, CompiledTemplate[]> query : queryTemplates.entrySet()) {
+      for (CompiledTemplate template : query.getValue()) {
+        uriBuilder.append('&').append(query.getKey());
+        // query without value, like "?flag", is written as bare name
+        if (template != null) {
+          template.expand(argv, uriBuilder.append('='));
+        }
+      }
+    }
+
+    // queries from args
+    if (methodMetadata.queryMapIndex() != null) {
+      UriEncoding encoding = methodMetadata.queryMapEncoded() ? NONE : QUERY;
+      for (Map.Entry<String, ?> query
+          : ((Map<String, ?>) argv[methodMetadata.queryMapIndex()]).entrySet()) {
+        Object value = query.getValue();
+        if (value instanceof Iterable) {
+          for (Object element : (Iterable<?>) value) {
+            appendQuery(uriBuilder, query.getKey(), element, encoding);
+          }
+        } else {
+          appendQuery(uriBuilder, query.getKey(), value, encoding);
+        }
+      }
+    }
+
+    if (uriBuilder.length() > queryStart) {
+      uriBuilder.setCharAt(queryStart, '?');
+    }
+  }
+
+  private static void appendQuery(StringBuilder uriBuilder, String name, Object value,
+                                  UriEncoding encoding) {
+    encoding.encode(name, uriBuilder.append('&')).append('=');
+    appendValue(uriBuilder, value, encoding);
+  }
+
+  /**
+   * Constant headers are shared between requests, only headers with placeholders,
+   * header map argument and interceptors populate per request layer.
+   */
+  public Map<String, List<String>> headers(Object[] argv) {
+
+    Map<String, List<String>> headers = new CopyOnWriteMultiValueMap<>(constantHeaders);
+
+    // headers from template with placeholders
+    for (Map.Entry<String, CompiledTemplate[]> header : headerTemplates.entrySet()) {
+      CompiledTemplate[] templates = header.getValue();
+      List<String> values = new ArrayList<>(templates.length);
+      for (CompiledTemplate template : templates) {
+        values.add(template.expand(argv));
+      }
+      addAllOrdered(headers, header.getKey(), values);
+    }
+
+    // headers from args
+    if (methodMetadata.headerMapIndex() != null) {
+      ((Map<String, ?>) argv[methodMetadata.headerMapIndex()])
+          .forEach((key, value) -> {
+            if (value instanceof Iterable) {
+              ((Iterable<?>) value)
+                  .forEach(element -> addOrdered(headers, key, element.toString()));
+            } else {
+              addOrdered(headers, key, value.toString());
+            }
+          });
+    }
+
+    return headers;
+  }
+
+  /**
+   * Resolves template variable names to indexes of method arguments once per method
+   */
+  private static Map<String, Integer> argIndexes(MethodMetadata methodMetadata) {
+    Map<String, Integer> argIndexes = new HashMap<>();
+    methodMetadata.indexToName().forEach((index, names) ->
+        names.forEach(name -> argIndexes.put(name, index)));
+    return argIndexes;
+  }
+
+  /**
+   * @return compiled templates by encoded name, null stands for query without value
+   */
+  private static Map<String, CompiledTemplate[]> compileTemplates(
+          Map<String, Collection<String>> templates, Map<String, Integer> argIndexes,
+          UriEncoding encoding) {
+    Map<String, CompiledTemplate[]> compiled = new LinkedHashMap<>(templates.size());
+    templates.forEach((name, values) -> compiled.put(encoding.encodeLiteral(name), values.stream()
+        .map(template -> template != null ? CompiledTemplate.compile(template, argIndexes, encoding) : null)
+        .toArray(CompiledTemplate[]::new)));
+    return compiled;
+  }
+}
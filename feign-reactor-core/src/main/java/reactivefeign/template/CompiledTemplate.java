@@ -0,0 +1,137 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Template like "/orders/{orderId}" parsed once into literal segments and substitution slots.
+ * Each slot is bound to index of method argument, so template expands directly from
+ * invocation arguments into provided {@link StringBuilder} without intermediate maps,
+ * strings, streams or lambdas.
+ * <p>
+ * Literals are encoded once on compilation, substituted values are encoded
+ * on expansion by {@link UriEncoding} of template.
+ *
+ * @author Sergii Karpenko
+ */
+public final class CompiledTemplate {
+
+  private static final Pattern PATTERN = Pattern.compile("\\{([^}]+)\\}");
+  private static final int ESTIMATED_SUBSTITUTION_LENGTH = 16;
+
+  // literals[i] precedes variables[i], last literal follows last variable
+  private final String[] literals;
+  private final String[] variables;
+  // index of argument bound to variables[i] or -1 if variable is not bound
+  private final int[] argIndexes;
+  private final UriEncoding encoding;
+  private final int estimatedLength;
+
+  private CompiledTemplate(String[] literals, String[] variables, int[] argIndexes,
+                           UriEncoding encoding) {
+    this.literals = literals;
+    this.variables = variables;
+    this.argIndexes = argIndexes;
+    this.encoding = encoding;
+
+    int length = variables.length * ESTIMATED_SUBSTITUTION_LENGTH;
+    for (String literal : literals) {
+      length += literal.length();
+    }
+    this.estimatedLength = length;
+  }
+
+  /**
+   * @param template template to parse
+   * @param argIndexes maps variable name to index of method argument that substitutes it
+   * @param encoding encoding applied to literals and substituted values
+   */
+  public static CompiledTemplate compile(String template, Map<String, Integer> argIndexes,
+                                         UriEncoding encoding) {
+    List<String> literals = new ArrayList<>();
+    List<String> variables = new ArrayList<>();
+
+    Matcher matcher = PATTERN.matcher(template);
+    int previousMatchEnd = 0;
+    while (matcher.find()) {
+      literals.add(encoding.encodeLiteral(template.substring(previousMatchEnd, matcher.start())));
+      variables.add(matcher.group(1));
+      previousMatchEnd = matcher.end();
+    }
+    literals.add(encoding.encodeLiteral(template.substring(previousMatchEnd)));
+
+    int[] variableArgIndexes = new int[variables.size()];
+    for (int i = 0; i < variableArgIndexes.length; i++) {
+      variableArgIndexes[i] = argIndexes.getOrDefault(variables.get(i), -1);
+    }
+
+    return new CompiledTemplate(
+        literals.toArray(new String[0]),
+        variables.toArray(new String[0]),
+        variableArgIndexes,
+        encoding);
+  }
+
+  public boolean isConstant() {
+    return variables.length == 0;
+  }
+
+  /**
+   * @return expected length of expanded template, used to pre-size builders
+   */
+  public int estimatedLength() {
+    return estimatedLength;
+  }
+
+  /**
+   * Appends expanded template to builder. Unresolved variable is expanded to its name.
+   */
+  public StringBuilder expand(Object[] argv, StringBuilder builder) {
+    for (int i = 0; i < variables.length; i++) {
+      builder.append(literals[i]);
+      Object substitution = argIndexes[i] >= 0 ? argv[argIndexes[i]] : null;
+      if (substitution != null) {
+        appendValue(builder, substitution, encoding);
+      } else {
+        builder.append(variables[i]);
+      }
+    }
+    return builder.append(literals[variables.length]);
+  }
+
+  public String expand(Object[] argv) {
+    if (isConstant()) {
+      return literals[0];
+    }
+    return expand(argv, new StringBuilder(estimatedLength)).toString();
+  }
+
+  /**
+   * Appends value to builder. Integer values never need encoding.
+   */
+  public static void appendValue(StringBuilder builder, Object value, UriEncoding encoding) {
+    if (value instanceof Integer || value instanceof Long) {
+      builder.append(((Number) value).longValue());
+    } else if (value instanceof CharSequence) {
+      encoding.encode((CharSequence) value, builder);
+    } else {
+      encoding.encode(value.toString(), builder);
+    }
+  }
+}
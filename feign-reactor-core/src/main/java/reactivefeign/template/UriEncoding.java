@@ -0,0 +1,153 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.template;
+
+/**
+ * RFC 3986 percent-encoding driven by precomputed tables of allowed ASCII characters.
+ * Values that need no escaping are appended as is, without any allocation.
+ *
+ * @author Sergii Karpenko
+ */
+public enum UriEncoding {
+
+  /**
+   * No encoding, used for headers.
+   */
+  NONE(null, null),
+
+  /**
+   * Path with variables. As in Feign slash in variable value is kept unencoded.
+   */
+  PATH(pchar() + "/", ""),
+
+  /**
+   * Query parameter name or value. Delimiters of query line are encoded.
+   * '+' in literal is kept as it's already encoded space.
+   */
+  QUERY(pchar().replace("&", "").replace("=", "").replace("+", "") + "/?", "+");
+
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private final boolean[] allowed;
+  private final boolean[] literalAllowed;
+
+  UriEncoding(String allowedChars, String literalOnlyAllowedChars) {
+    if (allowedChars != null) {
+      allowed = table(allowedChars);
+      literalAllowed = table(allowedChars + literalOnlyAllowedChars);
+    } else {
+      allowed = null;
+      literalAllowed = null;
+    }
+  }
+
+  /**
+   * Appends encoded value to builder.
+   */
+  public StringBuilder encode(CharSequence value, StringBuilder builder) {
+    int firstToEncode = firstToEncode(value, allowed);
+    if (firstToEncode < 0) {
+      return builder.append(value);
+    }
+    builder.append(value, 0, firstToEncode);
+    return encode(value, firstToEncode, builder, allowed, false);
+  }
+
+  /**
+   * Encodes constant part of template. Already present escapes like "%20" are kept as is.
+   * Expected to be called once when template is compiled.
+   */
+  public String encodeLiteral(String literal) {
+    int firstToEncode = firstToEncode(literal, literalAllowed);
+    if (firstToEncode < 0) {
+      return literal;
+    }
+    StringBuilder builder = new StringBuilder(literal.length() + 16)
+        .append(literal, 0, firstToEncode);
+    return encode(literal, firstToEncode, builder, literalAllowed, true).toString();
+  }
+
+  private static int firstToEncode(CharSequence value, boolean[] allowed) {
+    if (allowed == null) {
+      return -1;
+    }
+    for (int i = 0, length = value.length(); i < length; i++) {
+      char c = value.charAt(i);
+      if (c >= 128 || !allowed[c]) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static StringBuilder encode(CharSequence value, int from, StringBuilder builder,
+                                      boolean[] allowed, boolean keepEscapes) {
+    for (int i = from, length = value.length(); i < length; i++) {
+      char c = value.charAt(i);
+      if (c < 128) {
+        if (allowed[c]
+            || keepEscapes && c == '%' && i + 2 < length
+                && isHexDigit(value.charAt(i + 1)) && isHexDigit(value.charAt(i + 2))) {
+          builder.append(c);
+        } else {
+          appendEscaped(builder, c);
+        }
+      } else if (c < 0x800) {
+        appendEscaped(builder, 0xC0 | (c >> 6));
+        appendEscaped(builder, 0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < length
+          && Character.isLowSurrogate(value.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+        appendEscaped(builder, 0xF0 | (codePoint >> 18));
+        appendEscaped(builder, 0x80 | ((codePoint >> 12) & 0x3F));
+        appendEscaped(builder, 0x80 | ((codePoint >> 6) & 0x3F));
+        appendEscaped(builder, 0x80 | (codePoint & 0x3F));
+      } else if (Character.isSurrogate(c)) {
+        // unpaired surrogate, encoded as '?' like String.getBytes(UTF_8) does
+        appendEscaped(builder, '?');
+      } else {
+        appendEscaped(builder, 0xE0 | (c >> 12));
+        appendEscaped(builder, 0x80 | ((c >> 6) & 0x3F));
+        appendEscaped(builder, 0x80 | (c & 0x3F));
+      }
+    }
+    return builder;
+  }
+
+  private static void appendEscaped(StringBuilder builder, int octet) {
+    builder.append('%')
+        .append(HEX_DIGITS[(octet >> 4) & 0xF])
+        .append(HEX_DIGITS[octet & 0xF]);
+  }
+
+  private static boolean[] table(String allowedChars) {
+    boolean[] table = new boolean[128];
+    for (int i = 0; i < allowedChars.length(); i++) {
+      table[allowedChars.charAt(i)] = true;
+    }
+    return table;
+  }
+
+  private static boolean isHexDigit(char c) {
+    return c >= '0' && c <= '9' || c >= 'A' && c <= 'F' || c >= 'a' && c <= 'f';
+  }
+
+  /**
+   * unreserved / sub-delims / ":" / "@" as defined by RFC 3986
+   */
+  private static String pchar() {
+    return "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-._~"
+        + "!$&'()*+,;=" + ":@";
+  }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.utils;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class BodyUtils {
+
+  private static final byte[] EMPTY = new byte[0];
+
+  /**
+   * Joins at most maxBytes of body, cancels the rest of the stream as soon as limit is reached,
+   * so connection may be released without reading whole body.
+   *
+   * @param chunks body chunks
+   * @param buffer data of chunk, only remaining bytes are read
+   * @param release called for every chunk once it's read
+   * @param maxBytes limit of returned data, 0 means that body is not read at all
+   */
+  public static <T> Mono<byte[]> joinLimited(Flux<T> chunks, Function<T, ByteBuffer> buffer,
+                                             Consumer<T> release, int maxBytes) {
+    if (maxBytes <= 0) {
+      return chunks.take(0).then(Mono.just(EMPTY));
+    }
+
+    return Mono.defer(() -> {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(maxBytes, 1024));
+      return chunks
+          .doOnNext(chunk -> {
+            try {
+              ByteBuffer data = buffer.apply(chunk).duplicate();
+              byte[] bytes = new byte[Math.min(data.remaining(), maxBytes - out.size())];
+              data.get(bytes);
+              out.write(bytes, 0, bytes.length);
+            } finally {
+              release.accept(chunk);
+            }
+          })
+          .takeUntil(chunk -> out.size() >= maxBytes)
+          .then(Mono.fromCallable(out::toByteArray));
+    });
+  }
+
+  public static byte[] truncate(byte[] data, int maxBytes) {
+    if (data.length <= maxBytes) {
+      return data;
+    }
+    byte[] truncated = new byte[Math.max(maxBytes, 0)];
+    System.arraycopy(data, 0, truncated, 0, truncated.length);
+    return truncated;
+  }
+}
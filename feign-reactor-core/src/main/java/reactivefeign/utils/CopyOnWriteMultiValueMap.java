@@ -0,0 +1,301 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.utils;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Multi value map layered over immutable map that is shared between many instances
+ * (like constant headers of method). Modifications go to small own overlay map,
+ * values of shared key are copied to overlay only when key is modified
+ * via {@link #add(Object, Object)}, {@link #addAll(Object, List)}, {@link #computeIfAbsent}
+ * or list returned by {@link #get(Object)}. Reads never copy: for shared key {@link #get(Object)}
+ * returns view that reads shared values and copies them only when it's modified.
+ * <p>
+ * Iteration goes over both layers without merge copy, shared keys go first.
+ * Not thread safe, same as {@link LinkedHashMap}.
+ *
+ * @author Sergii Karpenko
+ */
+public final class CopyOnWriteMultiValueMap<K, V> extends AbstractMap<K, List<V>> {
+
+  private final Map<K, List<V>> shared;
+  // null value marks removed shared key
+  private Map<K, List<V>> own;
+
+  public CopyOnWriteMultiValueMap(Map<K, List<V>> shared) {
+    this.shared = shared;
+  }
+
+  /**
+   * @return immutable copy of map that may be safely shared between instances
+   */
+  public static <K, V> Map<K, List<V>> sharedCopyOf(Map<K, List<V>> map) {
+    Map<K, List<V>> copy = new LinkedHashMap<>(map.size());
+    map.forEach((key, values) -> copy.put(key,
+        Collections.unmodifiableList(new ArrayList<>(values))));
+    return Collections.unmodifiableMap(copy);
+  }
+
+  private Map<K, List<V>> own() {
+    if (own == null) {
+      own = new LinkedHashMap<>(4);
+    }
+    return own;
+  }
+
+  /**
+   * @return current values, view of shared ones that copies them on modification for shared key
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<V> get(Object key) {
+    if ((own == null || !own.containsKey(key)) && shared.containsKey(key)) {
+      return new SharedValues((K) key);
+    }
+    return peek(key);
+  }
+
+  /**
+   * Adds value to list of key, shared values are copied on first modification
+   */
+  public void add(K key, V value) {
+    valuesForUpdate(key, 1).add(value);
+  }
+
+  /**
+   * Adds values to list of key, shared values are copied on first modification
+   */
+  public void addAll(K key, List<? extends V> values) {
+    valuesForUpdate(key, values.size()).addAll(values);
+  }
+
+  /**
+   * @return mutable list of values as it's usually requested to add value
+   */
+  @Override
+  public List<V> computeIfAbsent(K key, Function<? super K, ? extends List<V>> mappingFunction) {
+    if (containsKey(key)) {
+      return valuesForUpdate(key, 1);
+    }
+    List<V> values = mappingFunction.apply(key);
+    if (values != null) {
+      own().put(key, values);
+    }
+    return values;
+  }
+
+  private List<V> valuesForUpdate(K key, int additionalSize) {
+    List<V> values = own != null ? own.get(key) : null;
+    if (values == null) {
+      List<V> sharedValues = own != null && own.containsKey(key) ? null : shared.get(key);
+      if (sharedValues == null) {
+        values = new ArrayList<>(additionalSize);
+      } else {
+        values = new ArrayList<>(sharedValues.size() + additionalSize);
+        values.addAll(sharedValues);
+      }
+      own().put(key, values);
+    }
+    return values;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    if (own != null && own.containsKey(key)) {
+      return own.get(key) != null;
+    }
+    return shared.containsKey(key);
+  }
+
+  @Override
+  public List<V> put(K key, List<V> values) {
+    List<V> previous = peek(key);
+    own().put(key, values);
+    return previous;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<V> remove(Object key) {
+    List<V> previous = peek(key);
+    if (shared.containsKey(key)) {
+      own().put((K) key, null);
+    } else if (own != null) {
+      own.remove(key);
+    }
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    own = null;
+    shared.keySet().forEach(key -> own().put(key, null));
+  }
+
+  @Override
+  public int size() {
+    if (own == null) {
+      return shared.size();
+    }
+    int size = shared.size();
+    for (Entry<K, List<V>> entry : own.entrySet()) {
+      boolean inShared = shared.containsKey(entry.getKey());
+      if (entry.getValue() == null) {
+        if (inShared) {
+          size--;
+        }
+      } else if (!inShared) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super K, ? super List<V>> action) {
+    for (Entry<K, List<V>> entry : shared.entrySet()) {
+      if (own != null && own.containsKey(entry.getKey())) {
+        List<V> values = own.get(entry.getKey());
+        if (values != null) {
+          action.accept(entry.getKey(), values);
+        }
+      } else {
+        action.accept(entry.getKey(), entry.getValue());
+      }
+    }
+    if (own != null) {
+      for (Entry<K, List<V>> entry : own.entrySet()) {
+        if (entry.getValue() != null && !shared.containsKey(entry.getKey())) {
+          action.accept(entry.getKey(), entry.getValue());
+        }
+      }
+    }
+  }
+
+  @Override
+  public Set<Entry<K, List<V>>> entrySet() {
+    return new AbstractSet<Entry<K, List<V>>>() {
+      @Override
+      public Iterator<Entry<K, List<V>>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return CopyOnWriteMultiValueMap.this.size();
+      }
+    };
+  }
+
+  /**
+   * Reads current values without copying shared ones
+   */
+  private List<V> peek(Object key) {
+    if (own != null && own.containsKey(key)) {
+      return own.get(key);
+    }
+    return shared.get(key);
+  }
+
+  /**
+   * Live values of key that was shared when requested
+   */
+  private final class SharedValues extends AbstractList<V> implements RandomAccess {
+
+    private final K key;
+
+    private SharedValues(K key) {
+      this.key = key;
+    }
+
+    private List<V> values() {
+      List<V> values = peek(key);
+      return values != null ? values : Collections.emptyList();
+    }
+
+    @Override
+    public V get(int index) {
+      return values().get(index);
+    }
+
+    @Override
+    public int size() {
+      return values().size();
+    }
+
+    @Override
+    public V set(int index, V element) {
+      return valuesForUpdate(key, 0).set(index, element);
+    }
+
+    @Override
+    public void add(int index, V element) {
+      valuesForUpdate(key, 1).add(index, element);
+      modCount++;
+    }
+
+    @Override
+    public V remove(int index) {
+      modCount++;
+      return valuesForUpdate(key, 0).remove(index);
+    }
+  }
+
+  private class EntryIterator implements Iterator<Entry<K, List<V>>> {
+
+    private final Iterator<Entry<K, List<V>>> sharedIterator = shared.entrySet().iterator();
+    private final Iterator<Entry<K, List<V>>> ownIterator = own != null
+        ? own.entrySet().iterator()
+        : Collections.emptyIterator();
+    private Entry<K, List<V>> next = advance();
+
+    private Entry<K, List<V>> advance() {
+      while (sharedIterator.hasNext()) {
+        Entry<K, List<V>> entry = sharedIterator.next();
+        if (own == null || !own.containsKey(entry.getKey())) {
+          return entry;
+        }
+        List<V> values = own.get(entry.getKey());
+        if (values != null) {
+          return new SimpleImmutableEntry<>(entry.getKey(), values);
+        }
+      }
+      while (ownIterator.hasNext()) {
+        Entry<K, List<V>> entry = ownIterator.next();
+        if (entry.getValue() != null && !shared.containsKey(entry.getKey())) {
+          return entry;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public Entry<K, List<V>> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      Entry<K, List<V>> current = next;
+      next = advance();
+      return current;
+    }
+  }
+}
@@ -21,34 +21,46 @@ import java.util.Map;
 public class MultiValueMapUtils {
 
   public static <K, V> void addAllOrdered(Map<K, List<V>> multiMap, K key, List<V> values) {
-    multiMap.compute(key, (key_, values_) -> {
-      List<V> valuesMerged = values_ != null ? values_ : new ArrayList<>(values.size());
-      valuesMerged.addAll(values);
-      return valuesMerged;
-    });
+    if (multiMap instanceof CopyOnWriteMultiValueMap) {
+      ((CopyOnWriteMultiValueMap<K, V>) multiMap).addAll(key, values);
+      return;
+    }
+    List<V> valuesMerged = multiMap.get(key);
+    if (valuesMerged == null) {
+      valuesMerged = new ArrayList<>(values.size());
+      multiMap.put(key, valuesMerged);
+    }
+    valuesMerged.addAll(values);
   }
 
   public static <K, V> void addOrdered(Map<K, List<V>> multiMap, K key, V value) {
-    multiMap.compute(key, (key_, values_) -> {
-      List<V> valuesMerged = values_ != null ? values_ : new ArrayList<>(1);
-      valuesMerged.add(value);
-      return valuesMerged;
-    });
+    if (multiMap instanceof CopyOnWriteMultiValueMap) {
+      ((CopyOnWriteMultiValueMap<K, V>) multiMap).add(key, value);
+      return;
+    }
+    List<V> valuesMerged = multiMap.get(key);
+    if (valuesMerged == null) {
+      valuesMerged = new ArrayList<>(1);
+      multiMap.put(key, valuesMerged);
+    }
+    valuesMerged.add(value);
   }
 
   public static <K, V> void addAll(Map<K, Collection<V>> multiMap, K key, Collection<V> values) {
-    multiMap.compute(key, (key_, values_) -> {
-      Collection<V> valuesMerged = values_ != null ? values_ : new ArrayList<>(values.size());
-      valuesMerged.addAll(values);
-      return valuesMerged;
-    });
+    Collection<V> valuesMerged = multiMap.get(key);
+    if (valuesMerged == null) {
+      valuesMerged = new ArrayList<>(values.size());
+      multiMap.put(key, valuesMerged);
+    }
+    valuesMerged.addAll(values);
   }
 
   public static <K, V> void add(Map<K, Collection<V>> multiMap, K key, V value) {
-    multiMap.compute(key, (key_, values_) -> {
-      Collection<V> valuesMerged = values_ != null ? values_ : new ArrayList<>(1);
-      valuesMerged.add(value);
-      return valuesMerged;
-    });
+    Collection<V> valuesMerged = multiMap.get(key);
+    if (valuesMerged == null) {
+      valuesMerged = new ArrayList<>(1);
+      multiMap.put(key, valuesMerged);
+    }
+    valuesMerged.add(value);
   }
 }
@@ -0,0 +1,131 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import reactivefeign.limiter.AdaptiveConcurrencyLimiter;
+import reactivefeign.limiter.AimdLimit;
+import reactivefeign.limiter.GradientLimit;
+import reactivefeign.limiter.LimitAlgorithm;
+import reactivefeign.limiter.LimitExceededException;
+import reactivefeign.testcase.IcecreamServiceApi;
+import reactivefeign.testcase.domain.OrderGenerator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simulates overloaded server: it handles {@link #SERVER_CAPACITY} requests at a time
+ * with fixed latency, others are queued, so latency grows with concurrency.
+ * Clients keep more calls in flight than server can handle and limiter should shed excess.
+ * Client is warmed up by sequential calls first, so latency without queueing is observed
+ * before load starts, as it would be for long living client.
+ *
+ * @author Sergii Karpenko
+ */
+abstract public class AdaptiveConcurrencyTest {
+
+  private static final int SERVER_CAPACITY = 4;
+  private static final int SERVER_LATENCY_MILLIS = 20;
+  private static final int CLIENTS = 32;
+  private static final int CALLS = 400;
+  private static final int INITIAL_LIMIT = 20;
+  private static final int WARM_UP_CALLS = 10;
+
+  private static HttpServer server;
+  private static ExecutorService serverExecutor;
+
+  abstract protected ReactiveFeign.Builder<IcecreamServiceApi> builder();
+
+  @BeforeClass
+  public static void startServer() throws IOException {
+    byte[] order = TestUtils.MAPPER.writeValueAsBytes(new OrderGenerator().generate(1));
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), CLIENTS * 2);
+    serverExecutor = Executors.newFixedThreadPool(SERVER_CAPACITY);
+    server.setExecutor(serverExecutor);
+    server.createContext("/icecream/orders/1", exchange -> {
+      try {
+        Thread.sleep(SERVER_LATENCY_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(200, order.length);
+      try (OutputStream body = exchange.getResponseBody()) {
+        body.write(order);
+      }
+    });
+    server.start();
+  }
+
+  @AfterClass
+  public static void stopServer() {
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  public void shouldShedLoadWithGradientLimit() {
+    shouldShedLoad(new GradientLimit(INITIAL_LIMIT, 100));
+  }
+
+  @Test
+  public void shouldShedLoadWithAimdLimit() {
+    // timeout is below latency caused by queueing of initial limit of calls
+    shouldShedLoad(new AimdLimit(INITIAL_LIMIT, 100,
+        Duration.ofMillis(SERVER_LATENCY_MILLIS * 3)));
+  }
+
+  private void shouldShedLoad(LimitAlgorithm algorithm) {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(algorithm);
+    IcecreamServiceApi client = builder()
+        .adaptiveConcurrency(limiter)
+        .target(IcecreamServiceApi.class, "http://localhost:" + server.getAddress().getPort());
+
+    for (int i = 0; i < WARM_UP_CALLS; i++) {
+      client.findOrder(1).block();
+      // released before call completes
+      assertThat(limiter.inFlight()).isZero();
+    }
+
+    List<Boolean> results = Flux.range(0, CALLS)
+        .flatMap(i -> client.findOrder(1)
+            .subscribeOn(Schedulers.elastic())
+            .map(order -> true)
+            .onErrorResume(LimitExceededException.class,
+                e -> Mono.delay(Duration.ofMillis(5)).then(Mono.just(false))),
+            CLIENTS)
+        .collectList()
+        .block();
+
+    long passed = results.stream().filter(result -> result).count();
+    assertThat(passed).isPositive();
+    assertThat(limiter.rejected()).isEqualTo(CALLS - passed).isPositive();
+    assertThat(limiter.limit()).isLessThan(INITIAL_LIMIT);
+    assertThat(limiter.inFlight()).isZero();
+  }
+}
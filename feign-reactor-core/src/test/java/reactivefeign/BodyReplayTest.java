@@ -0,0 +1,127 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+import feign.Headers;
+import feign.RequestLine;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.retry.BodyNotReplayableException;
+import reactivefeign.retry.BodyReplay;
+import reactivefeign.testcase.domain.IceCreamOrder;
+import reactivefeign.testcase.domain.OrderGenerator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sergii Karpenko
+ */
+abstract public class BodyReplayTest {
+
+  private static final String URL = "/icecream/orders/batch";
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  abstract protected ReactiveFeign.Builder<OrdersApi> builder();
+
+  @Before
+  public void resetServers() {
+    wireMockRule.resetAll();
+
+    wireMockRule.stubFor(post(urlEqualTo(URL))
+        .inScenario("replay")
+        .whenScenarioStateIs(STARTED)
+        .willReturn(aResponse().withStatus(503))
+        .willSetStateTo("failed"));
+    wireMockRule.stubFor(post(urlEqualTo(URL))
+        .inScenario("replay")
+        .whenScenarioStateIs("failed")
+        .willReturn(aResponse().withStatus(200)));
+  }
+
+  @Test
+  public void shouldReplayOneShotBodyOnRetry() {
+
+    OrdersApi client = builder()
+        .retryWhen(ReactiveRetryers.retry(1))
+        .bufferBodiesForRetry(new BodyReplay(1024))
+        .target(OrdersApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.sendOrders(oneShotOrders()))
+        .verifyComplete();
+
+    List<LoggedRequest> requests = wireMockRule.findAll(postRequestedFor(urlEqualTo(URL)));
+    assertThat(requests).hasSize(2);
+    assertThat(requests.get(0).getBodyAsString()).isNotEmpty()
+        .isEqualTo(requests.get(1).getBodyAsString());
+  }
+
+  @Test
+  public void shouldSkipRetryWhenBodyExceedsBuffer() {
+
+    OrdersApi client = builder()
+        .retryWhen(ReactiveRetryers.retry(1))
+        .bufferBodiesForRetry(new BodyReplay(BodyReplay.DEFAULT_ELEMENT_SIZE))
+        .target(OrdersApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.sendOrders(oneShotOrders()))
+        .expectError(BodyNotReplayableException.class)
+        .verify();
+
+    wireMockRule.verify(1, postRequestedFor(urlEqualTo(URL)));
+  }
+
+  @Test
+  public void shouldNotBufferReplayableBody() {
+
+    OrdersApi client = builder()
+        .retryWhen(ReactiveRetryers.retry(1))
+        .bufferBodiesForRetry(new BodyReplay(0))
+        .target(OrdersApi.class, "http://localhost:" + wireMockRule.port());
+
+    OrderGenerator generator = new OrderGenerator();
+    StepVerifier.create(client.sendOrders(BodyReplay.replayable(
+        Flux.just(generator.generate(1), generator.generate(2)))))
+        .verifyComplete();
+
+    wireMockRule.verify(2, postRequestedFor(urlEqualTo(URL)));
+  }
+
+  private static Flux<IceCreamOrder> oneShotOrders() {
+    OrderGenerator generator = new OrderGenerator();
+    // stream can be consumed only once
+    return Flux.fromStream(Stream.of(generator.generate(1), generator.generate(2)));
+  }
+
+  public interface OrdersApi {
+
+    @RequestLine("POST " + URL)
+    @Headers("Content-Type: application/json")
+    Mono<Void> sendOrders(Flux<IceCreamOrder> orders);
+  }
+}
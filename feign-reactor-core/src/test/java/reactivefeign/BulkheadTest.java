@@ -0,0 +1,156 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.bulkhead.Bulkhead;
+import reactivefeign.bulkhead.BulkheadFullException;
+import reactivefeign.testcase.IcecreamServiceApi;
+import reactivefeign.testcase.domain.Flavor;
+import reactivefeign.testcase.domain.IceCreamOrder;
+import reactivefeign.testcase.domain.OrderGenerator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sergii Karpenko
+ */
+abstract public class BulkheadTest {
+
+  private static final int CALLS = 5;
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  abstract protected ReactiveFeign.Builder<IcecreamServiceApi> builder();
+
+  @Before
+  public void resetServers() throws JsonProcessingException {
+    wireMockRule.resetAll();
+
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))
+            .withFixedDelay(500)));
+  }
+
+  @Test
+  public void shouldRejectCallsOverLimit() {
+
+    Bulkhead bulkhead = new Bulkhead(2);
+    IcecreamServiceApi client = builder()
+        .bulkhead(bulkhead)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    List<Boolean> results = callConcurrently(client);
+
+    assertThat(results).containsOnly(true, false);
+    assertThat(results.stream().filter(passed -> passed).count()).isEqualTo(2);
+    assertThat(bulkhead.rejected()).isEqualTo(CALLS - 2);
+    assertThat(bulkhead.available()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldQueueCallsOverLimit() {
+
+    Bulkhead bulkhead = new Bulkhead(1, CALLS, Duration.ofSeconds(10));
+    IcecreamServiceApi client = builder()
+        .bulkhead(bulkhead)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    assertThat(callConcurrently(client)).containsOnly(true);
+    assertThat(bulkhead.rejected()).isZero();
+    assertThat(bulkhead.waiting()).isZero();
+    assertThat(bulkhead.available()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRejectWhenWaitTimedOut() {
+
+    Bulkhead bulkhead = new Bulkhead(1, CALLS, Duration.ofMillis(100));
+    IcecreamServiceApi client = builder()
+        .bulkhead(bulkhead)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    List<Boolean> results = callConcurrently(client);
+
+    assertThat(results.stream().filter(passed -> passed).count()).isEqualTo(1);
+    assertThat(bulkhead.waiting()).isZero();
+    assertThat(bulkhead.available()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReleasePermitOnErrorAndCancel() throws JsonProcessingException {
+
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/2"))
+        .willReturn(aResponse().withStatus(503)));
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/flavors"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(asList(Flavor.values())))));
+
+    Bulkhead bulkhead = new Bulkhead(1);
+    IcecreamServiceApi client = builder()
+        .bulkhead(methodMetadata -> bulkhead)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findOrder(2))
+        .expectError()
+        .verify();
+    assertThat(bulkhead.available()).isEqualTo(1);
+
+    StepVerifier.create(client.getAvailableFlavors().take(1))
+        .expectNextCount(1)
+        .verifyComplete();
+    assertThat(bulkhead.available()).isEqualTo(1);
+
+    StepVerifier.create(client.getAvailableFlavors())
+        .expectNextCount(Flavor.values().length)
+        .verifyComplete();
+    assertThat(bulkhead.available()).isEqualTo(1);
+
+    StepVerifier.create(client.findOrder(1))
+        .thenCancel()
+        .verify();
+    assertThat(bulkhead.available()).isEqualTo(1);
+    assertThat(bulkhead.rejected()).isZero();
+  }
+
+  private List<Boolean> callConcurrently(IcecreamServiceApi client) {
+    return Flux.range(0, CALLS)
+        .flatMap(i -> client.findOrder(1)
+            .subscribeOn(Schedulers.elastic())
+            .map(order -> true)
+            .onErrorResume(BulkheadFullException.class, e -> Mono.just(false)))
+        .collectList()
+        .block();
+  }
+}
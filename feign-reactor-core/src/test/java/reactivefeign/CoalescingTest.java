@@ -0,0 +1,199 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.common.FileSource;
+import com.github.tomakehurst.wiremock.extension.Parameters;
+import com.github.tomakehurst.wiremock.extension.ResponseDefinitionTransformer;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.http.ResponseDefinition;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.publisher.CoalescingStats;
+import reactivefeign.testcase.IcecreamServiceApi;
+import reactivefeign.testcase.domain.IceCreamOrder;
+import reactivefeign.testcase.domain.OrderGenerator;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static reactivefeign.utils.MultiValueMapUtils.addOrdered;
+
+/**
+ * @author Sergii Karpenko
+ */
+abstract public class CoalescingTest {
+
+  private static final int CALLS = 10;
+
+  private static final GatedResponse gate = new GatedResponse();
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule = new WireMockClassRule(
+      wireMockConfig().dynamicPort().extensions(gate));
+
+  abstract protected ReactiveFeign.Builder<IcecreamServiceApi> builder();
+
+  @Before
+  public void resetServers() {
+    wireMockRule.resetAll();
+  }
+
+  @After
+  public void openGate() {
+    gate.open();
+  }
+
+  @Test
+  public void shouldShareConcurrentIdenticalRequests() throws Exception {
+
+    mockOrder();
+    gate.close(1);
+
+    CoalescingStats stats = new CoalescingStats();
+    IcecreamServiceApi client = builder()
+        .coalesceRequests(stats)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    // first call is blocked by gate on server, so it's in flight while others are subscribed
+    CompletableFuture<IceCreamOrder> first = client.findOrder(1)
+        .subscribeOn(Schedulers.elastic())
+        .toFuture();
+    gate.awaitRequests();
+
+    List<CompletableFuture<IceCreamOrder>> joined = new ArrayList<>();
+    for (int i = 1; i < CALLS; i++) {
+      joined.add(client.findOrder(1).toFuture());
+    }
+    assertThat(stats.requests()).isEqualTo(CALLS);
+    gate.open();
+
+    List<IceCreamOrder> orders = new ArrayList<>();
+    orders.add(first.get(5, SECONDS));
+    for (CompletableFuture<IceCreamOrder> order : joined) {
+      orders.add(order.get(5, SECONDS));
+    }
+
+    assertThat(orders).hasSize(CALLS).doesNotContainNull();
+    wireMockRule.verify(1, getRequestedFor(urlEqualTo("/icecream/orders/1")));
+    assertThat(stats.coalesced()).isEqualTo(CALLS - 1);
+
+    // entry is released on completion so next call goes upstream
+    client.findOrder(1).block();
+    wireMockRule.verify(2, getRequestedFor(urlEqualTo("/icecream/orders/1")));
+  }
+
+  @Test
+  public void shouldNotShareRequestsWithDifferentInterceptedKeyHeaders() throws Exception {
+
+    mockOrder();
+    gate.close(2);
+
+    AtomicInteger tokens = new AtomicInteger();
+    CoalescingStats stats = new CoalescingStats();
+    IcecreamServiceApi client = builder()
+        .requestInterceptor(request -> {
+          addOrdered(request.headers(), "Authorization", "Bearer " + tokens.incrementAndGet());
+          return request;
+        })
+        // key header names are matched case insensitively
+        .coalesceRequests(stats, "authorization")
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    CompletableFuture<List<IceCreamOrder>> orders = Flux.range(0, 2)
+        .flatMap(i -> client.findOrder(1).subscribeOn(Schedulers.elastic()))
+        .collectList()
+        .toFuture();
+
+    // both requests reach server while the other one is in flight
+    gate.awaitRequests();
+    gate.open();
+
+    assertThat(orders.get(5, SECONDS)).hasSize(2);
+    wireMockRule.verify(1, getRequestedFor(urlEqualTo("/icecream/orders/1"))
+        .withHeader("Authorization", equalTo("Bearer 1")));
+    wireMockRule.verify(1, getRequestedFor(urlEqualTo("/icecream/orders/1"))
+        .withHeader("Authorization", equalTo("Bearer 2")));
+    assertThat(stats.coalesced()).isEqualTo(0);
+  }
+
+  private void mockOrder() throws JsonProcessingException {
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))
+            .withTransformers(GatedResponse.NAME)));
+  }
+
+  /**
+   * Holds responses until opened, so test waits for requests to arrive instead of relying on delays.
+   */
+  private static class GatedResponse extends ResponseDefinitionTransformer {
+
+    private static final String NAME = "gated-response";
+
+    private volatile CountDownLatch arrived = new CountDownLatch(0);
+    private volatile CountDownLatch released = new CountDownLatch(0);
+
+    void close(int expectedRequests) {
+      arrived = new CountDownLatch(expectedRequests);
+      released = new CountDownLatch(1);
+    }
+
+    void open() {
+      released.countDown();
+    }
+
+    void awaitRequests() throws InterruptedException {
+      assertThat(arrived.await(5, SECONDS)).isTrue();
+    }
+
+    @Override
+    public ResponseDefinition transform(Request request, ResponseDefinition responseDefinition,
+                                        FileSource files, Parameters parameters) {
+      arrived.countDown();
+      try {
+        released.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return responseDefinition;
+    }
+
+    @Override
+    public boolean applyGlobally() {
+      return false;
+    }
+
+    @Override
+    public String getName() {
+      return NAME;
+    }
+  }
+}
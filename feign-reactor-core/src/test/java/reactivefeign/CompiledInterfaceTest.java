@@ -0,0 +1,84 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.testcase.IcecreamServiceApi;
+import reactivefeign.testcase.domain.IceCreamOrder;
+import reactivefeign.testcase.domain.OrderGenerator;
+import reactor.test.StepVerifier;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static reactivefeign.TestUtils.equalsComparingFieldByFieldRecursively;
+
+/**
+ * @author Sergii Karpenko
+ */
+abstract public class CompiledInterfaceTest {
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule1 = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule2 = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  abstract protected ReactiveFeign.Builder<IcecreamServiceApi> builder();
+
+  @Before
+  public void resetServers() {
+    wireMockRule1.resetAll();
+    wireMockRule2.resetAll();
+  }
+
+  @Test
+  public void shouldBindCompiledInterfaceToDifferentTargets() throws JsonProcessingException {
+
+    OrderGenerator generator = new OrderGenerator();
+    IceCreamOrder order1 = generator.generate(1);
+    IceCreamOrder order2 = generator.generate(2);
+
+    wireMockRule1.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order1))));
+    wireMockRule2.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order2))));
+
+    CompiledInterface<IcecreamServiceApi> compiled = builder().compile(IcecreamServiceApi.class);
+
+    IcecreamServiceApi client1 = compiled.target("http://localhost:" + wireMockRule1.port());
+    IcecreamServiceApi client2 = compiled.target("http://localhost:" + wireMockRule2.port());
+
+    StepVerifier.create(client1.findOrder(1))
+        .expectNextMatches(equalsComparingFieldByFieldRecursively(order1))
+        .verifyComplete();
+    StepVerifier.create(client2.findOrder(1))
+        .expectNextMatches(equalsComparingFieldByFieldRecursively(order2))
+        .verifyComplete();
+
+    Assertions.assertThat(client1).isNotEqualTo(client2);
+    Assertions.assertThat(client1)
+        .isEqualTo(compiled.target("http://localhost:" + wireMockRule1.port()));
+  }
+}
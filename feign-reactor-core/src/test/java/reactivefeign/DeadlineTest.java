@@ -0,0 +1,174 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import feign.RequestLine;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.deadline.CallTimeout;
+import reactivefeign.deadline.Deadline;
+import reactivefeign.deadline.DeadlineExceededException;
+import reactivefeign.testcase.IcecreamServiceApi;
+import reactivefeign.testcase.domain.IceCreamOrder;
+import reactivefeign.testcase.domain.OrderGenerator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sergii Karpenko
+ */
+abstract public class DeadlineTest {
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  abstract protected <API> ReactiveFeign.Builder<API> builder(Class<API> apiClass);
+
+  private IceCreamOrder order;
+  private String orderStr;
+
+  @Before
+  public void resetServers() throws JsonProcessingException {
+    wireMockRule.resetAll();
+    order = new OrderGenerator().generate(1);
+    orderStr = TestUtils.MAPPER.writeValueAsString(order);
+  }
+
+  @Test
+  public void shouldFailWhenCallerDeadlineExceeded() {
+
+    mockResponse(1000);
+
+    IcecreamServiceApi client = builder(IcecreamServiceApi.class)
+        .deadlines()
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findOrder(1)
+        .subscriberContext(Deadline.within(Duration.ofMillis(300))))
+        .expectError(DeadlineExceededException.class)
+        .verify();
+  }
+
+  @Test
+  public void shouldStopRetriesWhenDeadlineExceeded() {
+
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(503).withFixedDelay(200)));
+
+    IcecreamServiceApi client = builder(IcecreamServiceApi.class)
+        .deadlines()
+        .retryWhen(ReactiveRetryers.retry(10))
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findOrder(1)
+        .subscriberContext(Deadline.within(Duration.ofMillis(500))))
+        .expectError(DeadlineExceededException.class)
+        .verify();
+
+    assertThat(wireMockRule.findAll(getRequestedFor(urlEqualTo("/icecream/orders/1"))).size())
+        .isLessThan(5);
+  }
+
+  @Test
+  public void shouldSendRemainingTime() {
+
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .withHeader("X-Request-Timeout", matching("\\d+"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(orderStr)));
+
+    IcecreamServiceApi client = builder(IcecreamServiceApi.class)
+        .deadlines("X-Request-Timeout")
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findOrder(1)
+        .subscriberContext(Deadline.within(Duration.ofSeconds(5))))
+        .expectNextMatches(result -> result.getId() == order.getId())
+        .verifyComplete();
+  }
+
+  @Test
+  public void shouldNotSendRemainingTimeWithoutDeadline() {
+
+    mockResponse(0);
+
+    IcecreamServiceApi client = builder(IcecreamServiceApi.class)
+        .deadlines("X-Request-Timeout")
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findOrder(1))
+        .expectNextCount(1)
+        .verifyComplete();
+
+    wireMockRule.verify(getRequestedFor(urlEqualTo("/icecream/orders/1"))
+        .withoutHeader("X-Request-Timeout"));
+  }
+
+  @Test
+  public void shouldApplyCallTimeoutAnnotation() {
+
+    mockResponse(1000);
+
+    TimedApi client = builder(TimedApi.class)
+        .target(TimedApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findOrder())
+        .expectError(DeadlineExceededException.class)
+        .verify();
+  }
+
+  @Test
+  public void shouldKeepCallerDeadlineWhenEarlierThanCallTimeout() {
+
+    mockResponse(1000);
+
+    TimedApi client = builder(TimedApi.class)
+        .target(TimedApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findOrderWithLongTimeout()
+        .subscriberContext(Deadline.within(Duration.ofMillis(200))))
+        .expectError(DeadlineExceededException.class)
+        .verify(Duration.ofSeconds(2));
+  }
+
+  private void mockResponse(int delay) {
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(orderStr)
+            .withFixedDelay(delay)));
+  }
+
+  interface TimedApi {
+
+    @RequestLine("GET /icecream/orders/1")
+    @CallTimeout(200)
+    Mono<IceCreamOrder> findOrder();
+
+    @RequestLine("GET /icecream/orders/1")
+    @CallTimeout(10000)
+    Mono<IceCreamOrder> findOrderWithLongTimeout();
+  }
+}
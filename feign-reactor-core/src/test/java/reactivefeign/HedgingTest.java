@@ -0,0 +1,128 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.hedging.HedgingPolicy;
+import reactivefeign.testcase.IcecreamServiceApi;
+import reactivefeign.testcase.domain.Bill;
+import reactivefeign.testcase.domain.IceCreamOrder;
+import reactivefeign.testcase.domain.OrderGenerator;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sergii Karpenko
+ */
+abstract public class HedgingTest {
+
+  private static final String SCENARIO = "slow first";
+  private static final String SLOW_SENT = "slow sent";
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  abstract protected ReactiveFeign.Builder<IcecreamServiceApi> builder();
+
+  private IceCreamOrder order;
+
+  @Before
+  public void resetServers() throws JsonProcessingException {
+    wireMockRule.resetAll();
+
+    order = new OrderGenerator().generate(1);
+    String body = TestUtils.MAPPER.writeValueAsString(order);
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .inScenario(SCENARIO)
+        .whenScenarioStateIs(Scenario.STARTED)
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(body)
+            .withFixedDelay(2000))
+        .willSetStateTo(SLOW_SENT));
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .inScenario(SCENARIO)
+        .whenScenarioStateIs(SLOW_SENT)
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(body)));
+  }
+
+  @Test
+  public void shouldSendBackupRequestWhenPrimaryIsSlow() {
+
+    HedgingPolicy policy = HedgingPolicy.fixedDelay(Duration.ofMillis(100), 1.0);
+    IcecreamServiceApi client = builder()
+        .hedgeRequests(policy)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    IceCreamOrder result = client.findOrder(1).block();
+
+    assertThat(result).isEqualToComparingFieldByFieldRecursively(order);
+    assertThat(policy.stats().hedges()).isEqualTo(1);
+    assertThat(policy.stats().won()).isEqualTo(1);
+    wireMockRule.verify(2, getRequestedFor(urlEqualTo("/icecream/orders/1")));
+  }
+
+  @Test
+  public void shouldNotHedgeFastCalls() throws JsonProcessingException {
+
+    HedgingPolicy policy = HedgingPolicy.fixedDelay(Duration.ofSeconds(1), 1.0);
+    IcecreamServiceApi client = builder()
+        .hedgeRequests(policy)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/2"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))));
+
+    client.findOrder(2).block();
+    client.findOrder(2).block();
+
+    assertThat(policy.stats().requests()).isEqualTo(2);
+    assertThat(policy.stats().hedges()).isZero();
+    wireMockRule.verify(2, getRequestedFor(urlEqualTo("/icecream/orders/2")));
+  }
+
+  @Test
+  public void shouldNotHedgeNonIdempotentCalls() throws JsonProcessingException {
+
+    wireMockRule.stubFor(post(urlEqualTo("/icecream/orders"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(Bill.makeBill(order)))
+            .withFixedDelay(300)));
+
+    HedgingPolicy policy = HedgingPolicy.fixedDelay(Duration.ofMillis(50), 1.0);
+    IcecreamServiceApi client = builder()
+        .hedgeRequests(policy)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.makeOrder(order).block();
+
+    assertThat(policy.stats().requests()).isZero();
+    wireMockRule.verify(1, postRequestedFor(urlEqualTo("/icecream/orders")));
+  }
+}
@@ -0,0 +1,142 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.metrics.LatencyMetrics;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.metrics.MethodLatencySnapshot;
+import reactivefeign.testcase.IcecreamServiceApi;
+import reactivefeign.testcase.domain.Flavor;
+import reactivefeign.testcase.domain.IceCreamOrder;
+import reactivefeign.testcase.domain.OrderGenerator;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sergii Karpenko
+ */
+abstract public class LatencyMetricsTest {
+
+  private static final int CALLS = 5;
+  private static final int DELAY_MILLIS = 100;
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  abstract protected ReactiveFeign.Builder<IcecreamServiceApi> builder();
+
+  @Before
+  public void resetServers() {
+    wireMockRule.resetAll();
+  }
+
+  @Test
+  public void shouldRecordLatencyAndStatusesPerMethod() throws JsonProcessingException {
+
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))
+            .withFixedDelay(DELAY_MILLIS)));
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/2"))
+        .willReturn(aResponse().withStatus(503)));
+
+    LatencyMetrics metrics = new LatencyMetrics();
+    IcecreamServiceApi client = builder()
+        .latencyMetrics(metrics)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    for (int i = 0; i < CALLS; i++) {
+      client.findOrder(1).block();
+    }
+    client.findOrder(2).onErrorResume(throwable -> client.findOrder(1)).block();
+
+    MethodLatencySnapshot snapshot = metrics.snapshot("IcecreamServiceApi#findOrder");
+    assertThat(snapshot.headers().count()).isEqualTo(CALLS + 2);
+    assertThat(snapshot.body().count()).isEqualTo(CALLS + 1);
+    assertThat(snapshot.body().p50())
+        .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(DELAY_MILLIS));
+    assertThat(snapshot.body().p99()).isLessThanOrEqualTo(snapshot.body().max());
+    assertThat(snapshot.statusCount(2)).isEqualTo(CALLS + 1);
+    assertThat(snapshot.statusCount(5)).isEqualTo(1);
+
+    assertThat(metrics.snapshot().get("IcecreamServiceApi#getAvailableFlavors").headers().count())
+        .isZero();
+  }
+
+  @Test
+  public void shouldReportToAllMetricsSet() throws JsonProcessingException {
+
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))));
+
+    LatencyMetrics first = new LatencyMetrics();
+    LatencyMetrics second = new LatencyMetrics();
+    IcecreamServiceApi client = builder()
+        .metrics(first)
+        .latencyMetrics(second)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.findOrder(1).block();
+
+    assertThat(first.snapshot("IcecreamServiceApi#findOrder").body().count()).isEqualTo(1);
+    assertThat(second.snapshot("IcecreamServiceApi#findOrder").body().count()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRecordCancelledBody() throws JsonProcessingException {
+
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/flavors"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(Flavor.values()))));
+
+    AtomicInteger bodiesReceived = new AtomicInteger();
+    AtomicInteger bodiesFailed = new AtomicInteger();
+    IcecreamServiceApi client = builder()
+        .metrics(methodTag -> new MethodMetrics() {
+          @Override
+          public void bodyReceived(long nanos) {
+            bodiesReceived.incrementAndGet();
+          }
+
+          @Override
+          public void bodyFailed(long nanos) {
+            bodiesFailed.incrementAndGet();
+          }
+        })
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    // body is cancelled after first element
+    assertThat(client.getAvailableFlavors().blockFirst()).isEqualTo(Flavor.values()[0]);
+
+    assertThat(bodiesReceived.get()).isZero();
+    assertThat(bodiesFailed.get()).isEqualTo(1);
+  }
+}
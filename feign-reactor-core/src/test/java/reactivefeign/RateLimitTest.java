@@ -0,0 +1,126 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.ratelimit.RateLimitExceededException;
+import reactivefeign.ratelimit.RateLimiter;
+import reactivefeign.testcase.IcecreamServiceApi;
+import reactivefeign.testcase.domain.Flavor;
+import reactivefeign.testcase.domain.IceCreamOrder;
+import reactivefeign.testcase.domain.OrderGenerator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static reactivefeign.utils.FeignUtils.methodTag;
+
+/**
+ * @author Sergii Karpenko
+ */
+abstract public class RateLimitTest {
+
+  private static final int CALLS = 5;
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  abstract protected ReactiveFeign.Builder<IcecreamServiceApi> builder();
+
+  @Before
+  public void resetServers() throws JsonProcessingException {
+    wireMockRule.resetAll();
+
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))));
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/flavors"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(asList(Flavor.values())))));
+  }
+
+  @Test
+  public void shouldRejectCallsOverBurst() {
+
+    RateLimiter rateLimiter = new RateLimiter(0.1, 3);
+    IcecreamServiceApi client = builder()
+        .rateLimit(rateLimiter)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    List<Boolean> results = Flux.range(0, CALLS)
+        .concatMap(i -> client.findOrder(1)
+            .map(order -> true)
+            .onErrorResume(RateLimitExceededException.class, e -> Mono.just(false)))
+        .collectList()
+        .block();
+
+    assertThat(results).containsExactly(true, true, true, false, false);
+    assertThat(rateLimiter.rejected()).isEqualTo(2);
+    wireMockRule.verify(3, getRequestedFor(urlEqualTo("/icecream/orders/1")));
+  }
+
+  @Test
+  public void shouldDelayCallsOverBurst() {
+
+    RateLimiter rateLimiter = new RateLimiter(10, 1, Duration.ofSeconds(1));
+    IcecreamServiceApi client = builder()
+        .rateLimit(rateLimiter)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    long start = System.nanoTime();
+    List<IceCreamOrder> orders = Flux.range(0, CALLS)
+        .flatMap(i -> client.findOrder(1))
+        .collectList()
+        .block();
+
+    assertThat(orders).hasSize(CALLS);
+    assertThat(Duration.ofNanos(System.nanoTime() - start))
+        .isGreaterThanOrEqualTo(Duration.ofMillis(100 * (CALLS - 1) - 10));
+    assertThat(rateLimiter.delayed()).isEqualTo(CALLS - 1);
+    assertThat(rateLimiter.rejected()).isZero();
+  }
+
+  @Test
+  public void shouldLimitMethodsSeparately() {
+
+    RateLimiter findOrderLimiter = new RateLimiter(0.1, 1);
+    IcecreamServiceApi client = builder()
+        .rateLimitMethods(methodMetadata -> methodTag(methodMetadata).endsWith("#findOrder")
+            ? findOrderLimiter : null)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.findOrder(1).block();
+    client.getAvailableFlavors().collectList().block();
+    client.getAvailableFlavors().collectList().block();
+
+    assertThat(client.findOrder(1).onErrorResume(RateLimitExceededException.class, e -> Mono.empty())
+        .block())
+        .isNull();
+    assertThat(findOrderLimiter.rejected()).isEqualTo(1);
+  }
+}
@@ -79,6 +79,33 @@ abstract public class RequestInterceptorTest {
         .expectComplete();
   }
 
+  @Test
+  public void shouldAllowInterceptorToAddValueOfTemplateHeader() throws JsonProcessingException {
+
+    String orderUrl = "/icecream/orders/1";
+
+    IceCreamOrder orderGenerated = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo(orderUrl))
+        .withHeader("Accept", containing("text/plain"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(orderGenerated))));
+
+    // constant headers of method are shared, interceptor gets copy on modification
+    IcecreamServiceApi client = builder()
+        .requestInterceptor(request -> {
+          request.headers().get("Accept").add("text/plain");
+          return request;
+        })
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    for (int i = 0; i < 2; i++) {
+      StepVerifier.create(client.findFirstOrder())
+          .expectNextMatches(equalsComparingFieldByFieldRecursively(orderGenerated))
+          .verifyComplete();
+    }
+  }
+
   protected Class notAuthorizedException() {
     return FeignException.class;
   }
@@ -0,0 +1,291 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import feign.Headers;
+import feign.Param;
+import feign.RequestLine;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.cache.HttpCacheable;
+import reactivefeign.cache.ResponseCache;
+import reactivefeign.testcase.domain.IceCreamOrder;
+import reactivefeign.testcase.domain.OrderGenerator;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static reactivefeign.utils.MultiValueMapUtils.addOrdered;
+
+/**
+ * @author Sergii Karpenko
+ */
+abstract public class ResponseCacheTest {
+
+  private static final String ORDER_URL = "/icecream/orders/1";
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  abstract protected ReactiveFeign.Builder<CacheableApi> builder();
+
+  @Before
+  public void resetServers() {
+    wireMockRule.resetAll();
+  }
+
+  @Test
+  public void shouldServeFreshResponseFromCache() throws JsonProcessingException {
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo(ORDER_URL))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withHeader("Cache-Control", "max-age=60")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))));
+
+    ResponseCache cache = new ResponseCache(100);
+    CacheableApi client = builder()
+        .cacheResponses(cache)
+        .target(CacheableApi.class, "http://localhost:" + wireMockRule.port());
+
+    assertThat(client.findOrder(1).block()).isEqualToComparingFieldByFieldRecursively(order);
+    assertThat(client.findOrder(1).block()).isEqualToComparingFieldByFieldRecursively(order);
+
+    wireMockRule.verify(1, getRequestedFor(urlEqualTo(ORDER_URL)));
+    assertThat(cache.stats().misses()).isEqualTo(1);
+    assertThat(cache.stats().hits()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldRevalidateStaleResponseWithEtag() throws JsonProcessingException {
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo(ORDER_URL))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withHeader("Cache-Control", "no-cache")
+            .withHeader("ETag", "\"v1\"")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))));
+    wireMockRule.stubFor(get(urlEqualTo(ORDER_URL))
+        .withHeader("If-None-Match", equalTo("\"v1\""))
+        .willReturn(aResponse().withStatus(304)
+            .withHeader("ETag", "\"v1\"")));
+
+    ResponseCache cache = new ResponseCache(100);
+    CacheableApi client = builder()
+        .cacheResponses(cache)
+        .target(CacheableApi.class, "http://localhost:" + wireMockRule.port());
+
+    assertThat(client.findOrder(1).block()).isEqualToComparingFieldByFieldRecursively(order);
+    assertThat(client.findOrder(1).block()).isEqualToComparingFieldByFieldRecursively(order);
+
+    wireMockRule.verify(2, getRequestedFor(urlEqualTo(ORDER_URL)));
+    wireMockRule.verify(1, getRequestedFor(urlEqualTo(ORDER_URL))
+        .withHeader("If-None-Match", equalTo("\"v1\"")));
+    assertThat(cache.stats().revalidations()).isEqualTo(1);
+    assertThat(cache.stats().hitRatio()).isEqualTo(0.5);
+  }
+
+  @Test
+  public void shouldNotCacheNoStoreResponse() throws JsonProcessingException {
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo(ORDER_URL))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withHeader("Cache-Control", "no-store, max-age=60")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))));
+
+    ResponseCache cache = new ResponseCache(100);
+    CacheableApi client = builder()
+        .cacheResponses(cache)
+        .target(CacheableApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.findOrder(1).block();
+    client.findOrder(1).block();
+
+    wireMockRule.verify(2, getRequestedFor(urlEqualTo(ORDER_URL)));
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void shouldNotCachePrivateResponse() throws JsonProcessingException {
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo(ORDER_URL))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withHeader("Cache-Control", "private, max-age=60")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))));
+
+    ResponseCache cache = new ResponseCache(100);
+    CacheableApi client = builder()
+        .cacheResponses(cache)
+        .target(CacheableApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.findOrder(1).block();
+    client.findOrder(1).block();
+
+    wireMockRule.verify(2, getRequestedFor(urlEqualTo(ORDER_URL)));
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void shouldNotCacheVaryAllResponse() throws JsonProcessingException {
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo(ORDER_URL))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withHeader("Cache-Control", "max-age=60")
+            .withHeader("Vary", "*")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))));
+
+    ResponseCache cache = new ResponseCache(100);
+    CacheableApi client = builder()
+        .cacheResponses(cache)
+        .target(CacheableApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.findOrder(1).block();
+    client.findOrder(1).block();
+
+    wireMockRule.verify(2, getRequestedFor(urlEqualTo(ORDER_URL)));
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void shouldSelectVariantByVaryHeadersSetByInterceptor() throws JsonProcessingException {
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo(ORDER_URL))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withHeader("Cache-Control", "max-age=60")
+            .withHeader("Vary", "Authorization")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))));
+
+    AtomicReference<String> token = new AtomicReference<>("user1");
+    ResponseCache cache = new ResponseCache(100);
+    CacheableApi client = builder()
+        .requestInterceptor(request -> {
+          addOrdered(request.headers(), "Authorization", token.get());
+          return request;
+        })
+        .cacheResponses(cache)
+        .target(CacheableApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.findOrder(1).block();
+    client.findOrder(1).block();
+    token.set("user2");
+    client.findOrder(1).block();
+    client.findOrder(1).block();
+
+    wireMockRule.verify(1, getRequestedFor(urlEqualTo(ORDER_URL))
+        .withHeader("Authorization", equalTo("user1")));
+    wireMockRule.verify(1, getRequestedFor(urlEqualTo(ORDER_URL))
+        .withHeader("Authorization", equalTo("user2")));
+    assertThat(cache.stats().hits()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldNotCacheNotAnnotatedMethod() throws JsonProcessingException {
+    IceCreamOrder order = new OrderGenerator().generate(1);
+    wireMockRule.stubFor(get(urlEqualTo(ORDER_URL))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withHeader("Cache-Control", "max-age=60")
+            .withBody(TestUtils.MAPPER.writeValueAsString(order))));
+
+    ResponseCache cache = new ResponseCache(100);
+    CacheableApi client = builder()
+        .cacheResponses(cache)
+        .target(CacheableApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.findOrderNotCached(1).block();
+    client.findOrderNotCached(1).block();
+
+    wireMockRule.verify(2, getRequestedFor(urlEqualTo(ORDER_URL)));
+    assertThat(cache.stats().misses()).isZero();
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsed() throws JsonProcessingException {
+    OrderGenerator generator = new OrderGenerator();
+    for (int id = 1; id <= 3; id++) {
+      wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/" + id))
+          .willReturn(aResponse().withStatus(200)
+              .withHeader("Content-Type", "application/json")
+              .withHeader("Cache-Control", "max-age=60")
+              .withBody(TestUtils.MAPPER.writeValueAsString(generator.generate(id)))));
+    }
+
+    ResponseCache cache = new ResponseCache(2);
+    CacheableApi client = builder()
+        .cacheResponses(cache)
+        .target(CacheableApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.findOrder(1).block();
+    client.findOrder(2).block();
+    client.findOrder(1).block();
+    client.findOrder(3).block();
+    client.findOrder(1).block();
+
+    wireMockRule.verify(1, getRequestedFor(urlEqualTo("/icecream/orders/1")));
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.stats().evictions()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldNotCountVaryHeadersOfUriInSize() throws JsonProcessingException {
+    OrderGenerator generator = new OrderGenerator();
+    for (int id = 1; id <= 3; id++) {
+      wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/" + id))
+          .willReturn(aResponse().withStatus(200)
+              .withHeader("Content-Type", "application/json")
+              .withHeader("Cache-Control", "max-age=60")
+              .withHeader("Vary", "Accept")
+              .withBody(TestUtils.MAPPER.writeValueAsString(generator.generate(id)))));
+    }
+
+    ResponseCache cache = new ResponseCache(2);
+    CacheableApi client = builder()
+        .cacheResponses(cache)
+        .target(CacheableApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.findOrder(1).block();
+    client.findOrder(2).block();
+    client.findOrder(1).block();
+    client.findOrder(3).block();
+    client.findOrder(1).block();
+    client.findOrder(2).block();
+
+    wireMockRule.verify(1, getRequestedFor(urlEqualTo("/icecream/orders/1")));
+    wireMockRule.verify(2, getRequestedFor(urlEqualTo("/icecream/orders/2")));
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.stats().evictions()).isEqualTo(2);
+  }
+
+  @Headers({ "Accept: application/json" })
+  public interface CacheableApi {
+
+    @RequestLine("GET /icecream/orders/{orderId}")
+    @HttpCacheable
+    Mono<IceCreamOrder> findOrder(@Param("orderId") int orderId);
+
+    @RequestLine("GET /icecream/orders/{orderId}")
+    Mono<IceCreamOrder> findOrderNotCached(@Param("orderId") int orderId);
+  }
+}
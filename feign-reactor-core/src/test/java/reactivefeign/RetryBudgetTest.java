@@ -0,0 +1,97 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.retry.RetryBudget;
+import reactivefeign.retry.RetryBudgetExceededException;
+import reactivefeign.testcase.IcecreamServiceApi;
+import reactivefeign.testcase.domain.OrderGenerator;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sergii Karpenko
+ */
+abstract public class RetryBudgetTest {
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  abstract protected ReactiveFeign.Builder<IcecreamServiceApi> builder();
+
+  @Before
+  public void resetServers() {
+    wireMockRule.resetAll();
+  }
+
+  @Test
+  public void shouldSuppressRetriesOverBudget() {
+
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(503)));
+
+    RetryBudget budget = new RetryBudget(0.1, 2, Duration.ofMinutes(1));
+    IcecreamServiceApi client = builder()
+        .retryWhen(ReactiveRetryers.retry(5))
+        .retryBudget(budget)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findOrder(1))
+        .expectError(RetryBudgetExceededException.class)
+        .verify();
+
+    assertThat(budget.permitted()).isEqualTo(2);
+    assertThat(budget.suppressed()).isEqualTo(1);
+    wireMockRule.verify(3, getRequestedFor(urlEqualTo("/icecream/orders/1")));
+  }
+
+  @Test
+  public void shouldEarnRetriesBySuccessfulCalls() throws JsonProcessingException {
+
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(503)));
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/2"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(TestUtils.MAPPER.writeValueAsString(new OrderGenerator().generate(2)))));
+
+    RetryBudget budget = new RetryBudget(0.5, 0, Duration.ofMinutes(1));
+    IcecreamServiceApi client = builder()
+        .retryWhen(ReactiveRetryers.retry(5))
+        .retryBudget(budget)
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    for (int i = 0; i < 4; i++) {
+      client.findOrder(2).block();
+    }
+
+    StepVerifier.create(client.findOrder(1))
+        .expectError(RetryBudgetExceededException.class)
+        .verify();
+
+    assertThat(budget.permitted()).isEqualTo(2);
+    wireMockRule.verify(3, getRequestedFor(urlEqualTo("/icecream/orders/1")));
+  }
+}
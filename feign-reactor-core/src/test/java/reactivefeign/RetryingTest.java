@@ -33,6 +33,7 @@ import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static com.github.tomakehurst.wiremock.stubbing.Scenario.STARTED;
 import static org.apache.http.HttpHeaders.RETRY_AFTER;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.apache.http.HttpStatus.SC_OK;
 import static org.apache.http.HttpStatus.SC_SERVICE_UNAVAILABLE;
 import static org.hamcrest.Matchers.hasProperty;
@@ -120,6 +121,46 @@ public abstract class RetryingTest {
         .verifyComplete();
   }
 
+  @Test
+  public void shouldSuccessOnRetriesWithExponentialBackoff() throws JsonProcessingException {
+
+    IceCreamOrder orderGenerated = new OrderGenerator().generate(1);
+    String orderStr = TestUtils.MAPPER.writeValueAsString(orderGenerated);
+
+    mockResponseAfterSeveralAttempts(wireMockRule, 3, "testRetrying_success",
+        "/icecream/orders/1", aResponse().withStatus(SC_SERVICE_UNAVAILABLE),
+        aResponse().withStatus(SC_OK)
+            .withHeader("Content-Type", "application/json")
+            .withBody(orderStr));
+
+    IcecreamServiceApi client = builder()
+        .retryWhen(ReactiveRetryers.retryWithExponentialBackoff(3, 10, 50,
+            ReactiveRetryers.Jitter.DECORRELATED))
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findOrder(1))
+        .expectNextMatches(equalsComparingFieldByFieldRecursively(orderGenerated))
+        .verifyComplete();
+  }
+
+  @Test
+  public void shouldKeepExponentialBackoffWithinBounds() {
+    ReactiveRetryPolicy none = ReactiveRetryers.retryWithExponentialBackoff(10, 10, 100,
+        ReactiveRetryers.Jitter.NONE);
+    ReactiveRetryPolicy full = ReactiveRetryers.retryWithExponentialBackoff(10, 10, 100);
+    RuntimeException error = new RuntimeException();
+
+    assertThat(none.retryDelay(error, 1)).isEqualTo(10);
+    assertThat(none.retryDelay(error, 3)).isEqualTo(40);
+    assertThat(none.retryDelay(error, 10)).isEqualTo(100);
+    assertThat(none.retryDelay(error, 11)).isEqualTo(-1);
+
+    for (int attempt = 1; attempt <= 10; attempt++) {
+      assertThat(full.retryDelay(error, attempt))
+          .isBetween(0L, Math.min(100L, 10L << (attempt - 1)));
+    }
+  }
+
   private static void mockResponseAfterSeveralAttempts(WireMockClassRule rule,
                                                        int failedAttemptsNo,
                                                        String scenario,
@@ -15,13 +15,19 @@ package reactivefeign;
 
 import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
 import feign.RetryableException;
+import feign.Util;
+import feign.codec.ErrorDecoder;
 import org.apache.http.HttpStatus;
 import org.junit.Before;
 import org.junit.ClassRule;
 import org.junit.Test;
+import reactivefeign.client.statushandler.ReactiveStatusHandlers;
 import reactivefeign.testcase.IcecreamServiceApi;
 import reactor.test.StepVerifier;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static reactivefeign.client.statushandler.CompositeStatusHandler.compose;
@@ -89,4 +95,48 @@ public abstract class StatusHandlerTest {
         .verify();
 
   }
+
+  @Test
+  public void shouldTruncateErrorBody() {
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .withHeader("Accept", equalTo("application/json"))
+        .willReturn(aResponse().withStatus(HttpStatus.SC_BAD_GATEWAY)
+            .withBody(new String(new char[10000]).replace('\0', 'x'))));
+
+    IcecreamServiceApi client = builder()
+        .statusHandler(ReactiveStatusHandlers.defaultFeign(bodySizeDecoder(), 100))
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findFirstOrder())
+        .expectErrorMessage("502:100")
+        .verify();
+  }
+
+  @Test
+  public void shouldNotReadErrorBodyForStatusOnly() {
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .withHeader("Accept", equalTo("application/json"))
+        .willReturn(aResponse().withStatus(HttpStatus.SC_BAD_GATEWAY)
+            .withBody("Bad gateway")));
+
+    IcecreamServiceApi client = builder()
+        .statusHandler(ReactiveStatusHandlers.statusOnly(bodySizeDecoder()))
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    StepVerifier.create(client.findFirstOrder())
+        .expectErrorMessage("502:0")
+        .verify();
+  }
+
+  private static ErrorDecoder bodySizeDecoder() {
+    return (methodKey, response) -> {
+      try {
+        int bodySize = response.body() != null
+            ? Util.toByteArray(response.body().asInputStream()).length : 0;
+        return new RuntimeException(response.status() + ":" + bodySize);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+  }
 }
@@ -43,6 +43,13 @@ public interface AllFeaturesApi {
             @Param("dynamicParam") long dynamicParam,
             @QueryMap Map<String, String> paramMap);
 
+	// feign contract fails on query without value if it has to search past it for parameter
+	@RequestLine("GET /mirrorParametersNew?paramInUrl={paramInUrlPlaceholder}&dynamicParam={dynamicParam}&flag")
+	Mono<Map<String, String>> mirrorParametersWithFlag(
+            @Param("paramInUrlPlaceholder") long paramInUrl,
+            @Param("dynamicParam") long dynamicParam,
+            @QueryMap Map<String, String> paramMap);
+
 	@RequestLine("GET /mirrorHeaders")
 	@Headers({ "Method-Header: {headerValue}" })
 	Mono<Map<String, String>> mirrorHeaders(@Param("headerValue") long param,
@@ -54,6 +54,13 @@ public class AllFeaturesController implements AllFeaturesApi {
 		return just(paramMap);
 	}
 
+	@Override
+	public Mono<Map<String, String>> mirrorParametersWithFlag(
+			long paramInUrl, long dynamicParam, Map<String, String> paramMap) {
+		// served by mirrorParametersNew mapping
+		throw new UnsupportedOperationException();
+	}
+
 	@GetMapping(path = "/mirrorHeaders")
 	@Override
 	public Mono<Map<String, String>> mirrorHeaders(
@@ -119,6 +119,29 @@ abstract public class AllFeaturesTest {
 		assertThat(returned).containsAllEntriesOf(paramMap);
 	}
 
+	@Test
+	public void shouldPassQueryWithoutValue() {
+		Map<String, String> returned = client.mirrorParametersWithFlag(777, 888, new HashMap<>())
+				.block();
+
+		assertThat(returned).containsKey("flag");
+		assertThat(returned).containsEntry("paramInUrl", "777");
+		assertThat(returned).containsEntry("dynamicParam", "888");
+	}
+
+	@Test
+	public void shouldEncodeParameters() {
+		Map<String, String> paramMap = new HashMap<String, String>() {
+			{
+				put("param Key", "param Value&a=b+c/?%20é");
+			}
+		};
+		Map<String, String> returned = client.mirrorParameters(555,777, paramMap).block();
+
+		assertThat(returned).containsEntry("paramInPath", "555");
+		assertThat(returned).containsAllEntriesOf(paramMap);
+	}
+
 	@Test
 	public void shouldReturnAllPassedHeaders() {
 		Map<String, String> headersMap = new HashMap<String, String>() {
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2013-2015 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package reactivefeign.jetty.client;
+
+import org.eclipse.jetty.http.HttpField;
+import org.eclipse.jetty.http.HttpFields;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Read-only case-insensitive view of Jetty response headers.
+ * Single header lookup goes directly to {@link HttpFields},
+ * full map is built at most once, only if it's iterated.
+ * Values of repeated headers are kept in order as separate list elements.
+ *
+ * @author Sergii Karpenko
+ */
+class HttpFieldsHeaders extends AbstractMap<String, List<String>> {
+
+	private final HttpFields fields;
+	private volatile Map<String, List<String>> headers;
+
+	HttpFieldsHeaders(HttpFields fields) {
+		this.fields = fields;
+	}
+
+	@Override
+	public List<String> get(Object name) {
+		if (!(name instanceof String)) {
+			return null;
+		}
+		List<String> values = fields.getValuesList((String) name);
+		return values.isEmpty() ? null : Collections.unmodifiableList(values);
+	}
+
+	@Override
+	public boolean containsKey(Object name) {
+		return name instanceof String && fields.containsKey((String) name);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return fields.size() == 0;
+	}
+
+	@Override
+	public Set<Entry<String, List<String>>> entrySet() {
+		return headers().entrySet();
+	}
+
+	private Map<String, List<String>> headers() {
+		Map<String, List<String>> headers = this.headers;
+		if (headers == null) {
+			Map<String, List<String>> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+			for (HttpField field : fields) {
+				map.computeIfAbsent(field.getName(), name -> new ArrayList<>(1)).add(field.getValue());
+			}
+			map.replaceAll((name, values) -> Collections.unmodifiableList(values));
+			headers = Collections.unmodifiableMap(map);
+			this.headers = headers;
+		}
+		return headers;
+	}
+}
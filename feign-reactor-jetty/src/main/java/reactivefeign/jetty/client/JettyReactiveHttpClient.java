@@ -25,6 +25,7 @@ import feign.MethodMetadata;
 import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.http.HttpFields;
+import org.eclipse.jetty.http.HttpScheme;
 import org.eclipse.jetty.reactive.client.ContentChunk;
 import org.eclipse.jetty.reactive.client.ReactiveRequest;
 import org.reactivestreams.Publisher;
@@ -113,7 +114,7 @@ public class JettyReactiveHttpClient implements ReactiveHttpClient {
 
 	@Override
 	public Mono<ReactiveHttpResponse> executeRequest(ReactiveHttpRequest request) {
-		Request jettyRequest = httpClient.newRequest(request.uri()).method(request.method());
+		Request jettyRequest = newRequest(httpClient, request);
 		setUpHeaders(request, jettyRequest.getHeaders());
 		if(requestTimeout > 0){
 			jettyRequest.timeout(requestTimeout, TimeUnit.MILLISECONDS);
@@ -144,6 +145,21 @@ public class JettyReactiveHttpClient implements ReactiveHttpClient {
 				ReadTimeoutException::new);
 	}
 
+	/**
+	 * Port is resolved before request is created, as Jetty picks default port
+	 * by scheme of new request, that is http till scheme is set.
+	 */
+	static Request newRequest(HttpClient httpClient, ReactiveHttpRequest request) {
+		int port = request.port();
+		if (port < 0) {
+			port = HttpScheme.HTTPS.is(request.scheme()) ? 443 : 80;
+		}
+		return httpClient.newRequest(request.host(), port)
+				.scheme(request.scheme())
+				.path(request.requestTarget())
+				.method(request.method());
+	}
+
 	protected void setUpHeaders(ReactiveHttpRequest request, HttpFields httpHeaders) {
 		request.headers().forEach(httpHeaders::put);
 
@@ -3,7 +3,6 @@ package reactivefeign.jetty.client;
 import com.fasterxml.jackson.core.async_.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectReader;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.reactive.client.ContentChunk;
 import org.reactivestreams.Publisher;
 import reactivefeign.client.ReactiveHttpResponse;
@@ -16,12 +15,11 @@ import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
-import static java.util.Arrays.asList;
 import static java.util.Optional.ofNullable;
 import static org.eclipse.jetty.http.HttpHeader.CONTENT_TYPE;
+import static reactivefeign.utils.BodyUtils.joinLimited;
 
 class JettyReactiveHttpResponse implements ReactiveHttpResponse{
 
@@ -32,6 +30,7 @@ class JettyReactiveHttpResponse implements ReactiveHttpResponse{
 	private Class<?> returnActualClass;
 	private final ObjectReader objectReader;
 	private final JsonFactory jsonFactory;
+	private final Map<String, List<String>> headers;
 
 	JettyReactiveHttpResponse(Response clientResponse, Publisher<ContentChunk> contentChunks,
 							  Class returnPublisherType, Class returnActualClass,
@@ -42,6 +41,7 @@ class JettyReactiveHttpResponse implements ReactiveHttpResponse{
 		this.returnActualClass = returnActualClass;
 		this.objectReader = objectReader;
 		this.jsonFactory = jsonFactory;
+		this.headers = new HttpFieldsHeaders(clientResponse.getHeaders());
 	}
 
 	@Override
@@ -51,8 +51,7 @@ class JettyReactiveHttpResponse implements ReactiveHttpResponse{
 
 	@Override
 	public Map<String, List<String>> headers() {
-		return clientResponse.getHeaders().stream()
-				.collect(Collectors.toMap(HttpField::getName, field -> asList(field.getValues())));
+		return headers;
 	}
 
 	@Override
@@ -101,6 +100,11 @@ class JettyReactiveHttpResponse implements ReactiveHttpResponse{
 		return joinChunks();
 	}
 
+	@Override
+	public Mono<byte[]> bodyData(int maxBytes) {
+		return joinLimited(directContent(), byteBuffer -> byteBuffer, byteBuffer -> {}, maxBytes);
+	}
+
 	private Mono<byte[]> joinChunks() {
 		return directContent().reduce(new ByteArrayOutputStream(), (baos, byteBuffer) -> {
 			for(int i = byteBuffer.position(), limit = byteBuffer.limit(); i < limit; i++){
@@ -0,0 +1,50 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.jetty.client;
+
+import org.eclipse.jetty.http.HttpFields;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sergii Karpenko
+ */
+public class HttpFieldsHeadersTest {
+
+  @Test
+  public void shouldBeCaseInsensitiveAndKeepRepeatedHeaders() {
+    HttpFields fields = new HttpFields();
+    fields.add("Content-Type", "application/json");
+    fields.add("Set-Cookie", "a=1");
+    fields.add("set-cookie", "b=2");
+    fields.add("Date", "Wed, 21 Oct 2015 07:28:00 GMT");
+
+    Map<String, List<String>> headers = new HttpFieldsHeaders(fields);
+
+    assertThat(headers.get("content-type")).containsExactly("application/json");
+    assertThat(headers.get("SET-COOKIE")).containsExactly("a=1", "b=2");
+    assertThat(headers.get("date")).containsExactly("Wed, 21 Oct 2015 07:28:00 GMT");
+    assertThat(headers.containsKey("Accept")).isFalse();
+    assertThat(headers.get("Accept")).isNull();
+
+    assertThat(headers).hasSize(3);
+    assertThat(headers.get("Set-Cookie")).isEqualTo(asList("a=1", "b=2"));
+    assertThat(headers.keySet()).contains("Content-Type", "Set-Cookie", "Date");
+  }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.jetty.client;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.Request;
+import org.junit.Test;
+import reactivefeign.client.ReactiveHttpRequest;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Sergii Karpenko
+ */
+public class JettyRequestTest {
+
+  private final HttpClient httpClient = new HttpClient();
+
+  @Test
+  public void shouldUseDefaultPortOfHttpsScheme() {
+    Request jettyRequest = JettyReactiveHttpClient.newRequest(httpClient,
+        request("https://example.com/api"));
+
+    assertThat(jettyRequest.getScheme()).isEqualTo("https");
+    assertThat(jettyRequest.getHost()).isEqualTo("example.com");
+    assertThat(jettyRequest.getPort()).isEqualTo(443);
+    assertThat(jettyRequest.getPath()).isEqualTo("/api/orders/1");
+    assertThat(jettyRequest.getQuery()).isEqualTo("a=b");
+  }
+
+  @Test
+  public void shouldUseDefaultPortOfHttpScheme() {
+    Request jettyRequest = JettyReactiveHttpClient.newRequest(httpClient,
+        request("http://example.com"));
+
+    assertThat(jettyRequest.getScheme()).isEqualTo("http");
+    assertThat(jettyRequest.getPort()).isEqualTo(80);
+  }
+
+  @Test
+  public void shouldKeepExplicitPort() {
+    Request jettyRequest = JettyReactiveHttpClient.newRequest(httpClient,
+        request("https://example.com:8443"));
+
+    assertThat(jettyRequest.getPort()).isEqualTo(8443);
+  }
+
+  private static ReactiveHttpRequest request(String baseUri) {
+    return new ReactiveHttpRequest("GET", URI.create(baseUri), "/orders/1?a=b",
+        emptyMap(), Mono.empty());
+  }
+}
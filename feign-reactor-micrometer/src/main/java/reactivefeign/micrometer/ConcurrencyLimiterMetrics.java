@@ -0,0 +1,59 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.micrometer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactivefeign.limiter.AdaptiveConcurrencyLimiter;
+
+import static reactivefeign.micrometer.MicrometerReactiveMetrics.PREFIX;
+
+/**
+ * Binds state of {@link AdaptiveConcurrencyLimiter} of target: {@code reactive.feign.client.limiter.limit}
+ * and {@code reactive.feign.client.limiter.inflight} gauges
+ * and {@code reactive.feign.client.limiter.rejections} counter, all tagged by target.
+ *
+ * @author Sergii Karpenko
+ */
+public class ConcurrencyLimiterMetrics implements MeterBinder {
+
+  private final AdaptiveConcurrencyLimiter limiter;
+  private final Tags tags;
+
+  public ConcurrencyLimiterMetrics(AdaptiveConcurrencyLimiter limiter, String target) {
+    this(limiter, target, Tags.empty());
+  }
+
+  public ConcurrencyLimiterMetrics(AdaptiveConcurrencyLimiter limiter, String target, Iterable<Tag> tags) {
+    this.limiter = limiter;
+    this.tags = Tags.of(tags).and("target", target);
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder(PREFIX + "limiter.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+        .tags(tags)
+        .register(registry);
+    Gauge.builder(PREFIX + "limiter.inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+        .tags(tags)
+        .register(registry);
+    FunctionCounter.builder(PREFIX + "limiter.rejections", limiter, AdaptiveConcurrencyLimiter::rejected)
+        .tags(tags)
+        .register(registry);
+  }
+}
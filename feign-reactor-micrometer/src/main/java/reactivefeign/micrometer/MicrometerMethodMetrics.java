@@ -0,0 +1,187 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.micrometer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactivefeign.metrics.MethodMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static reactivefeign.micrometer.MicrometerReactiveMetrics.PREFIX;
+
+/**
+ * Meters of single method. All tags are resolved on creation,
+ * timer of each status is registered on first response with that status.
+ *
+ * @author Sergii Karpenko
+ */
+class MicrometerMethodMetrics implements MethodMetrics {
+
+  private static final int MAX_STATUS = 600;
+
+  private final MeterRegistry registry;
+  private final Tags tags;
+
+  private final AtomicReferenceArray<Timer> statusTimers = new AtomicReferenceArray<>(MAX_STATUS);
+  private final Timer errorTimer;
+  private final Timer bodyTimer;
+  private final Timer bodyFailedTimer;
+  private final DistributionSummary bufferedBodies;
+  private final AtomicInteger inFlight;
+  private final Counter retries;
+  private final Counter retriesSuppressed;
+  private final Counter outOfRetries;
+  private final Counter fallbacks;
+  private final Counter rejections;
+  private final Counter hedges;
+  private final Counter hedgesWon;
+  private final Map<String, Counter> loadBalancerPicks = new ConcurrentHashMap<>();
+
+  MicrometerMethodMetrics(MeterRegistry registry, Tags tags) {
+    this.registry = registry;
+    this.tags = tags;
+
+    errorTimer = registry.timer(PREFIX + "requests", tags.and("status", "IO_ERROR", "outcome", "ERROR"));
+    bodyTimer = registry.timer(PREFIX + "body", tags);
+    bodyFailedTimer = registry.timer(PREFIX + "body.failed", tags);
+    bufferedBodies = DistributionSummary.builder(PREFIX + "retries.body.buffered")
+        .baseUnit("bytes")
+        .tags(tags)
+        .register(registry);
+    inFlight = registry.gauge(PREFIX + "inflight", tags, new AtomicInteger());
+    retries = registry.counter(PREFIX + "retries", tags);
+    retriesSuppressed = registry.counter(PREFIX + "retries.suppressed", tags);
+    outOfRetries = registry.counter(PREFIX + "retries.exhausted", tags);
+    fallbacks = registry.counter(PREFIX + "fallbacks", tags);
+    rejections = registry.counter(PREFIX + "rejections", tags);
+    hedges = registry.counter(PREFIX + "hedges", tags);
+    hedgesWon = registry.counter(PREFIX + "hedges.won", tags);
+  }
+
+  @Override
+  public void requestStarted() {
+    inFlight.incrementAndGet();
+  }
+
+  @Override
+  public void requestFinished() {
+    inFlight.decrementAndGet();
+  }
+
+  @Override
+  public void responseReceived(int status, long nanos) {
+    statusTimer(status).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void bodyReceived(long nanos) {
+    bodyTimer.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void bodyFailed(long nanos) {
+    bodyFailedTimer.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void requestFailed(long nanos) {
+    errorTimer.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public void retried() {
+    retries.increment();
+  }
+
+  @Override
+  public void retrySuppressed() {
+    retriesSuppressed.increment();
+  }
+
+  @Override
+  public void bodyBuffered(long bytes) {
+    bufferedBodies.record(bytes);
+  }
+
+  @Override
+  public void outOfRetries() {
+    outOfRetries.increment();
+  }
+
+  @Override
+  public void fallback() {
+    fallbacks.increment();
+  }
+
+  @Override
+  public void requestRejected() {
+    rejections.increment();
+  }
+
+  @Override
+  public void hedgeSent() {
+    hedges.increment();
+  }
+
+  @Override
+  public void hedgeWon() {
+    hedgesWon.increment();
+  }
+
+  @Override
+  public void loadBalancerPick(String hostPort) {
+    Counter counter = loadBalancerPicks.get(hostPort);
+    if (counter == null) {
+      counter = loadBalancerPicks.computeIfAbsent(hostPort,
+          server -> registry.counter(PREFIX + "loadbalancer.picks", tags.and("server", server)));
+    }
+    counter.increment();
+  }
+
+  private Timer statusTimer(int status) {
+    int index = status > 0 && status < MAX_STATUS ? status : 0;
+    Timer timer = statusTimers.get(index);
+    if (timer == null) {
+      timer = registry.timer(PREFIX + "requests",
+          tags.and("status", Integer.toString(status), "outcome", outcome(status)));
+      statusTimers.compareAndSet(index, null, timer);
+    }
+    return timer;
+  }
+
+  static String outcome(int status) {
+    switch (status / 100) {
+      case 1:
+        return "INFORMATIONAL";
+      case 2:
+        return "SUCCESS";
+      case 3:
+        return "REDIRECTION";
+      case 4:
+        return "CLIENT_ERROR";
+      case 5:
+        return "SERVER_ERROR";
+      default:
+        return "UNKNOWN";
+    }
+  }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.micrometer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import reactivefeign.metrics.MethodMetrics;
+import reactivefeign.metrics.ReactiveMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Binds reactive feign client events to Micrometer meters:
+ * <ul>
+ *   <li>{@code reactive.feign.client.requests} timer of time to response headers
+ *   tagged by method, status and outcome</li>
+ *   <li>{@code reactive.feign.client.body} timer of time to last element of body</li>
+ *   <li>{@code reactive.feign.client.body.failed} timer of time to error or cancellation of body</li>
+ *   <li>{@code reactive.feign.client.inflight} gauge of requests waiting for response</li>
+ *   <li>{@code reactive.feign.client.retries}, {@code reactive.feign.client.retries.suppressed},
+ *   {@code reactive.feign.client.retries.exhausted},
+ *   {@code reactive.feign.client.fallbacks}, {@code reactive.feign.client.rejections},
+ *   {@code reactive.feign.client.hedges}, {@code reactive.feign.client.hedges.won} counters</li>
+ *   <li>{@code reactive.feign.client.retries.body.buffered} summary of request body bytes kept for retries</li>
+ *   <li>{@code reactive.feign.client.loadbalancer.picks} counter tagged by server</li>
+ * </ul>
+ *
+ * @author Sergii Karpenko
+ */
+public class MicrometerReactiveMetrics implements ReactiveMetrics {
+
+  static final String PREFIX = "reactive.feign.client.";
+
+  private final MeterRegistry registry;
+  private final Tags tags;
+  private final Map<String, MicrometerMethodMetrics> methods = new ConcurrentHashMap<>();
+
+  public MicrometerReactiveMetrics(MeterRegistry registry) {
+    this(registry, Tags.empty());
+  }
+
+  /**
+   * @param tags added to all meters, for example client name
+   */
+  public MicrometerReactiveMetrics(MeterRegistry registry, Iterable<Tag> tags) {
+    this.registry = registry;
+    this.tags = Tags.of(tags);
+  }
+
+  @Override
+  public MethodMetrics method(String methodTag) {
+    return methods.computeIfAbsent(methodTag,
+        tag -> new MicrometerMethodMetrics(registry, tags.and("method", tag)));
+  }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.micrometer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.tomakehurst.wiremock.junit.WireMockClassRule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Test;
+import reactivefeign.ReactiveRetryers;
+import reactivefeign.limiter.AdaptiveConcurrencyLimiter;
+import reactivefeign.limiter.AimdLimit;
+import reactivefeign.publisher.RetryPublisherHttpClient;
+import reactivefeign.resttemplate.client.RestTemplateFakeReactiveFeign;
+import reactivefeign.testcase.IcecreamServiceApi;
+import reactivefeign.testcase.domain.OrderGenerator;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static reactivefeign.micrometer.MicrometerReactiveMetrics.PREFIX;
+
+/**
+ * @author Sergii Karpenko
+ */
+public class MicrometerReactiveMetricsTest {
+
+  private static final String METHOD_TAG = "IcecreamServiceApi#findOrder";
+
+  @ClassRule
+  public static WireMockClassRule wireMockRule = new WireMockClassRule(
+      wireMockConfig().dynamicPort());
+
+  @Before
+  public void resetServers() {
+    wireMockRule.resetAll();
+  }
+
+  @Test
+  public void shouldRecordRequestsAndRetries() throws Exception {
+    ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/1"))
+        .willReturn(aResponse().withStatus(200)
+            .withHeader("Content-Type", "application/json")
+            .withBody(mapper.writeValueAsString(new OrderGenerator().generate(1)))));
+    wireMockRule.stubFor(get(urlEqualTo("/icecream/orders/2"))
+        .willReturn(aResponse().withStatus(503)));
+
+    MeterRegistry registry = new SimpleMeterRegistry();
+    IcecreamServiceApi client = RestTemplateFakeReactiveFeign.<IcecreamServiceApi>builder()
+        .metrics(new MicrometerReactiveMetrics(registry))
+        .retryWhen(ReactiveRetryers.retry(1))
+        .target(IcecreamServiceApi.class, "http://localhost:" + wireMockRule.port());
+
+    client.findOrder(1).block();
+    Throwable throwable = catchThrowable(() -> client.findOrder(2).block());
+
+    assertThat(throwable).hasCauseInstanceOf(RetryPublisherHttpClient.OutOfRetriesException.class);
+
+    assertThat(registry.get(PREFIX + "requests")
+        .tags("method", METHOD_TAG, "status", "200", "outcome", "SUCCESS").timer().count())
+        .isEqualTo(1);
+    assertThat(registry.get(PREFIX + "requests")
+        .tags("method", METHOD_TAG, "status", "503", "outcome", "SERVER_ERROR").timer().count())
+        .isEqualTo(2);
+    assertThat(registry.get(PREFIX + "body").tags("method", METHOD_TAG).timer().count())
+        .isEqualTo(1);
+    assertThat(registry.get(PREFIX + "retries").tags("method", METHOD_TAG).counter().count())
+        .isEqualTo(1);
+    assertThat(registry.get(PREFIX + "retries.exhausted").tags("method", METHOD_TAG).counter().count())
+        .isEqualTo(1);
+    assertThat(registry.get(PREFIX + "inflight").tags("method", METHOD_TAG).gauge().value())
+        .isZero();
+  }
+
+  @Test
+  public void shouldBindConcurrencyLimiter() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+        new AimdLimit(10, 100, Duration.ofSeconds(1)));
+
+    MeterRegistry registry = new SimpleMeterRegistry();
+    new ConcurrencyLimiterMetrics(limiter, "icecream").bindTo(registry);
+
+    assertThat(registry.get(PREFIX + "limiter.limit").tags("target", "icecream").gauge().value())
+        .isEqualTo(10);
+    assertThat(registry.get(PREFIX + "limiter.inflight").tags("target", "icecream").gauge().value())
+        .isZero();
+    assertThat(registry.get(PREFIX + "limiter.rejections").tags("target", "icecream")
+        .functionCounter().count())
+        .isZero();
+  }
+}
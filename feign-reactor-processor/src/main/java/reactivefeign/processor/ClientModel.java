@@ -0,0 +1,315 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import java.util.*;
+
+/**
+ * Feign interface as seen by annotation processor. Annotations are read via mirrors
+ * so processor doesn't depend on feign at compile time.
+ *
+ * @author Sergii Karpenko
+ */
+final class ClientModel {
+
+  static final String REQUEST_LINE = "feign.RequestLine";
+  static final String HEADERS = "feign.Headers";
+  static final String PARAM = "feign.Param";
+  static final String QUERY_MAP = "feign.QueryMap";
+  static final String HEADER_MAP = "feign.HeaderMap";
+  static final String BODY = "feign.Body";
+  static final String PARAM_TO_STRING_EXPANDER = "feign.Param.ToStringExpander";
+
+  static final String SUFFIX = "_ReactiveFeign";
+
+  private static final Set<String> REACTIVE_TYPES = new HashSet<>(Arrays.asList(
+      "reactor.core.publisher.Mono", "reactor.core.publisher.Flux"));
+
+  // names used by generated class and its base class
+  private static final Set<String> RESERVED_NAMES = new HashSet<>(Arrays.asList(
+      "metadata", "invoke", "method", "classHeaders", "methodHeaders", "requestLine",
+      "param", "queryMap", "headerMap", "body", "equals", "hashCode", "toString"));
+
+  final String packageName;
+  final String className;
+  final String apiTypeName;
+  final List<MethodModel> methods;
+
+  private ClientModel(String packageName, String className, String apiTypeName,
+                      List<MethodModel> methods) {
+    this.packageName = packageName;
+    this.className = className;
+    this.apiTypeName = apiTypeName;
+    this.methods = methods;
+  }
+
+  String qualifiedClassName() {
+    return packageName.isEmpty() ? className : packageName + "." + className;
+  }
+
+  static ClientModel parse(TypeElement apiType, ProcessingEnvironment env) {
+    checkSupported(apiType);
+
+    String packageName = env.getElementUtils().getPackageOf(apiType).getQualifiedName().toString();
+    String binaryName = env.getElementUtils().getBinaryName(apiType).toString();
+    String className = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+        .replace('$', '_') + SUFFIX;
+
+    String[] classHeaders = stringArrayValue(annotation(apiType, HEADERS), "value");
+
+    List<MethodModel> methods = new ArrayList<>();
+    for (Element element : apiType.getEnclosedElements()) {
+      if (element.getKind() != ElementKind.METHOD
+          || element.getModifiers().contains(Modifier.DEFAULT)
+          || element.getModifiers().contains(Modifier.STATIC)) {
+        continue;
+      }
+      methods.add(MethodModel.parse(apiType, (ExecutableElement) element, classHeaders, env));
+    }
+
+    return new ClientModel(packageName, className, apiType.getQualifiedName().toString(), methods);
+  }
+
+  private static void checkSupported(TypeElement apiType) {
+    if (!apiType.getTypeParameters().isEmpty()) {
+      throw new UnsupportedException("generic interface");
+    }
+    if (!apiType.getInterfaces().isEmpty()) {
+      throw new UnsupportedException("interface extends other interfaces");
+    }
+    for (Element element = apiType; element instanceof TypeElement; element = element.getEnclosingElement()) {
+      if (element.getModifiers().contains(Modifier.PRIVATE)) {
+        throw new UnsupportedException("private interface");
+      }
+    }
+  }
+
+  static final class MethodModel {
+    final String name;
+    final String returnType;
+    final List<String> parameterTypes;
+    final List<String> parameterClasses;
+    final String configKey;
+    final String[] classHeaders;
+    final String requestLine;
+    final boolean decodeSlash;
+    final String[] methodHeaders;
+    final List<ParameterModel> parameters;
+
+    private MethodModel(String name, String returnType,
+                        List<String> parameterTypes, List<String> parameterClasses, String configKey,
+                        String[] classHeaders, String requestLine, boolean decodeSlash,
+                        String[] methodHeaders, List<ParameterModel> parameters) {
+      this.name = name;
+      this.returnType = returnType;
+      this.parameterTypes = parameterTypes;
+      this.parameterClasses = parameterClasses;
+      this.configKey = configKey;
+      this.classHeaders = classHeaders;
+      this.requestLine = requestLine;
+      this.decodeSlash = decodeSlash;
+      this.methodHeaders = methodHeaders;
+      this.parameters = parameters;
+    }
+
+    private static MethodModel parse(TypeElement apiType, ExecutableElement method,
+                                     String[] classHeaders, ProcessingEnvironment env) {
+      String name = method.getSimpleName().toString();
+      if (RESERVED_NAMES.contains(name)) {
+        throw new UnsupportedException("method name " + name + " is reserved");
+      }
+      if (!method.getTypeParameters().isEmpty()) {
+        throw new UnsupportedException("generic method " + name);
+      }
+      if (annotation(method, BODY) != null) {
+        throw new UnsupportedException("@Body on method " + name);
+      }
+
+      AnnotationMirror requestLineAnnotation = annotation(method, REQUEST_LINE);
+      if (requestLineAnnotation == null) {
+        throw new UnsupportedException("method " + name + " is not annotated with @RequestLine");
+      }
+      String requestLine = (String) value(requestLineAnnotation, "value");
+      if (requestLine.isEmpty() || requestLine.indexOf(' ') == -1 && requestLine.indexOf('/') != -1) {
+        throw new UnsupportedException("invalid @RequestLine on method " + name);
+      }
+      Object decodeSlash = value(requestLineAnnotation, "decodeSlash");
+
+      String[] methodHeaders = stringArrayValue(annotation(method, HEADERS), "value");
+      checkHeaders(classHeaders, name);
+      checkHeaders(methodHeaders, name);
+
+      Types types = env.getTypeUtils();
+      TypeMirror returnType = method.getReturnType();
+      if (returnType.getKind() != TypeKind.DECLARED
+          || !REACTIVE_TYPES.contains(((TypeElement) ((DeclaredType) returnType).asElement())
+              .getQualifiedName().toString())) {
+        throw new UnsupportedException("method " + name + " doesn't return Mono or Flux");
+      }
+
+      List<String> parameterTypes = new ArrayList<>();
+      List<String> parameterClasses = new ArrayList<>();
+      List<String> simpleNames = new ArrayList<>();
+      List<ParameterModel> parameters = new ArrayList<>();
+      List<? extends VariableElement> parameterElements = method.getParameters();
+      for (int i = 0; i < parameterElements.size(); i++) {
+        VariableElement parameter = parameterElements.get(i);
+        TypeMirror erasure = types.erasure(parameter.asType());
+        parameterTypes.add(parameter.asType().toString());
+        parameterClasses.add(erasure.toString());
+        simpleNames.add(simpleName(erasure));
+        parameters.add(ParameterModel.parse(parameter, i, name));
+      }
+
+      String configKey = apiType.getSimpleName() + "#" + name
+          + "(" + String.join(",", simpleNames) + ")";
+
+      return new MethodModel(name, returnType.toString(), parameterTypes, parameterClasses,
+          configKey, classHeaders, requestLine, decodeSlash == null || (Boolean) decodeSlash,
+          methodHeaders, parameters);
+    }
+
+    private static void checkHeaders(String[] headers, String methodName) {
+      if (headers == null) {
+        return;
+      }
+      if (headers.length == 0) {
+        throw new UnsupportedException("empty @Headers for method " + methodName);
+      }
+      for (String header : headers) {
+        if (header.indexOf(':') <= 0) {
+          throw new UnsupportedException("invalid header " + header + " for method " + methodName);
+        }
+      }
+    }
+
+    /**
+     * Same as {@link Class#getSimpleName()} of erased type used by feign.Feign#configKey
+     */
+    private static String simpleName(TypeMirror erasure) {
+      switch (erasure.getKind()) {
+        case DECLARED:
+          return ((DeclaredType) erasure).asElement().getSimpleName().toString();
+        case ARRAY:
+          return simpleName(((ArrayType) erasure).getComponentType()) + "[]";
+        default:
+          return erasure.toString();
+      }
+    }
+  }
+
+  static final class ParameterModel {
+    enum Kind {PARAM, QUERY_MAP, HEADER_MAP, BODY}
+
+    final int index;
+    final Kind kind;
+    final String name;
+    final boolean encoded;
+
+    private ParameterModel(int index, Kind kind, String name, boolean encoded) {
+      this.index = index;
+      this.kind = kind;
+      this.name = name;
+      this.encoded = encoded;
+    }
+
+    private static ParameterModel parse(VariableElement parameter, int index, String methodName) {
+      AnnotationMirror param = annotation(parameter, PARAM);
+      AnnotationMirror queryMap = annotation(parameter, QUERY_MAP);
+      AnnotationMirror headerMap = annotation(parameter, HEADER_MAP);
+      if ((param != null ? 1 : 0) + (queryMap != null ? 1 : 0) + (headerMap != null ? 1 : 0) > 1) {
+        throw new UnsupportedException("parameter " + index + " of method " + methodName
+            + " has several feign annotations");
+      }
+
+      if (param != null) {
+        String name = (String) value(param, "value");
+        Object expander = value(param, "expander");
+        if (name.isEmpty()
+            || expander != null && !PARAM_TO_STRING_EXPANDER.equals(expander.toString())) {
+          throw new UnsupportedException("@Param expander or empty name on method " + methodName);
+        }
+        return new ParameterModel(index, Kind.PARAM, name, isTrue(value(param, "encoded")));
+      } else if (queryMap != null) {
+        return new ParameterModel(index, Kind.QUERY_MAP, null, isTrue(value(queryMap, "encoded")));
+      } else if (headerMap != null) {
+        return new ParameterModel(index, Kind.HEADER_MAP, null, false);
+      } else {
+        if ("java.net.URI".equals(parameter.asType().toString())) {
+          throw new UnsupportedException("URI parameter on method " + methodName);
+        }
+        return new ParameterModel(index, Kind.BODY, null, false);
+      }
+    }
+
+    private static boolean isTrue(Object value) {
+      return value != null && (Boolean) value;
+    }
+  }
+
+  private static AnnotationMirror annotation(Element element, String annotationType) {
+    for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+      if (type.getQualifiedName().contentEquals(annotationType)) {
+        return annotation;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return value of annotation attribute including default one, class attribute returned as type mirror
+   */
+  private static Object value(AnnotationMirror annotation, String name) {
+    for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+        : annotation.getElementValues().entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return entry.getValue().getValue();
+      }
+    }
+    for (Element element : annotation.getAnnotationType().asElement().getEnclosedElements()) {
+      if (element.getSimpleName().contentEquals(name)) {
+        AnnotationValue defaultValue = ((ExecutableElement) element).getDefaultValue();
+        return defaultValue != null ? defaultValue.getValue() : null;
+      }
+    }
+    return null;
+  }
+
+  private static String[] stringArrayValue(AnnotationMirror annotation, String name) {
+    if (annotation == null) {
+      return null;
+    }
+    @SuppressWarnings("unchecked")
+    List<? extends AnnotationValue> values = (List<? extends AnnotationValue>) value(annotation, name);
+    String[] strings = new String[values.size()];
+    for (int i = 0; i < strings.length; i++) {
+      strings[i] = (String) values.get(i).getValue();
+    }
+    return strings;
+  }
+
+  static class UnsupportedException extends RuntimeException {
+    UnsupportedException(String message) {
+      super(message);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.processor;
+
+import reactivefeign.processor.ClientModel.MethodModel;
+import reactivefeign.processor.ClientModel.ParameterModel;
+
+/**
+ * Writes source of generated client. All names are fully qualified to avoid clashes
+ * with types of api package.
+ *
+ * @author Sergii Karpenko
+ */
+final class ClientSourceWriter {
+
+  private static final String BASE_CLASS = "reactivefeign.generated.GeneratedReactiveClient";
+  private static final String METHOD_HANDLER = "feign.InvocationHandlerFactory.MethodHandler";
+  private static final String METADATA = "feign.MethodMetadata";
+
+  private final ClientModel model;
+  private final StringBuilder source = new StringBuilder(4096);
+
+  ClientSourceWriter(ClientModel model) {
+    this.model = model;
+  }
+
+  String write() {
+    if (!model.packageName.isEmpty()) {
+      line("package ", model.packageName, ";");
+      line();
+    }
+    line("/**");
+    line(" * Generated by ", ReactiveFeignProcessor.class.getName(), " for {@link ",
+        model.apiTypeName, "}, do not edit.");
+    line(" */");
+    line("@SuppressWarnings({\"unchecked\", \"rawtypes\"})");
+    line("public final class ", model.className, " extends ", BASE_CLASS,
+        " implements ", model.apiTypeName, " {");
+    line();
+
+    writeConfigKeys();
+    line("  public ", model.className, "(feign.Target<?> target, ", METHOD_HANDLER, "[] handlers) {");
+    line("    super(target, handlers);");
+    line("  }");
+    line();
+    writeMetadata();
+    for (int i = 0; i < model.methods.size(); i++) {
+      line();
+      writeMethod(model.methods.get(i), i);
+    }
+    line("}");
+    return source.toString();
+  }
+
+  private void writeConfigKeys() {
+    line("  public static final String[] CONFIG_KEYS = {");
+    for (MethodModel method : model.methods) {
+      line("      ", literal(method.configKey), ",");
+    }
+    line("  };");
+    line();
+  }
+
+  private void writeMetadata() {
+    line("  public static java.util.List<", METADATA, "> metadata() {");
+    line("    java.util.List<", METADATA, "> metadata = new java.util.ArrayList<>(",
+        String.valueOf(model.methods.size()), ");");
+    line("    java.lang.reflect.Method method;");
+    line("    ", METADATA, " md;");
+    for (MethodModel method : model.methods) {
+      line();
+      StringBuilder methodLookup = new StringBuilder()
+          .append("    method = method(").append(model.apiTypeName).append(".class, ")
+          .append(literal(method.name));
+      for (String parameterClass : method.parameterClasses) {
+        methodLookup.append(", ").append(parameterClass).append(".class");
+      }
+      line(methodLookup.append(");").toString());
+      line("    md = metadata(", literal(method.configKey), ", method);");
+      if (method.classHeaders != null) {
+        line("    classHeaders(md", literals(method.classHeaders), ");");
+      }
+      line("    requestLine(md, ", literal(method.requestLine), ", ",
+          String.valueOf(method.decodeSlash), ");");
+      if (method.methodHeaders != null) {
+        line("    methodHeaders(md", literals(method.methodHeaders), ");");
+      }
+      for (ParameterModel parameter : method.parameters) {
+        String index = String.valueOf(parameter.index);
+        switch (parameter.kind) {
+          case PARAM:
+            line("    param(md, ", index, ", ", literal(parameter.name), ", ",
+                String.valueOf(parameter.encoded), ");");
+            break;
+          case QUERY_MAP:
+            line("    queryMap(md, ", index, ", ", String.valueOf(parameter.encoded), ");");
+            break;
+          case HEADER_MAP:
+            line("    headerMap(md, ", index, ");");
+            break;
+          default:
+            line("    body(md, method, ", index, ");");
+        }
+      }
+      line("    metadata.add(md);");
+    }
+    line("    return metadata;");
+    line("  }");
+  }
+
+  private void writeMethod(MethodModel method, int index) {
+    StringBuilder parameters = new StringBuilder();
+    StringBuilder arguments = new StringBuilder();
+    for (int i = 0; i < method.parameterTypes.size(); i++) {
+      if (i > 0) {
+        parameters.append(", ");
+        arguments.append(", ");
+      }
+      parameters.append(method.parameterTypes.get(i)).append(" arg").append(i);
+      arguments.append("arg").append(i);
+    }
+
+    line("  @Override");
+    line("  public ", method.returnType, " ", method.name, "(", parameters.toString(), ") {");
+    line("    return (", method.returnType, ") invoke(", String.valueOf(index),
+        ", new Object[] {", arguments.toString(), "});");
+    line("  }");
+  }
+
+  private static String literals(String[] values) {
+    StringBuilder literals = new StringBuilder();
+    for (String value : values) {
+      literals.append(", ").append(literal(value));
+    }
+    return literals.toString();
+  }
+
+  private static String literal(String value) {
+    StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"':
+          literal.append("\\\"");
+          break;
+        case '\\':
+          literal.append("\\\\");
+          break;
+        case '\n':
+          literal.append("\\n");
+          break;
+        case '\r':
+          literal.append("\\r");
+          break;
+        case '\t':
+          literal.append("\\t");
+          break;
+        default:
+          if (c < 0x20 || c > 0x7e) {
+            literal.append(String.format("\\u%04x", (int) c));
+          } else {
+            literal.append(c);
+          }
+      }
+    }
+    return literal.append('"').toString();
+  }
+
+  private void line(String... parts) {
+    for (String part : parts) {
+      source.append(part);
+    }
+    source.append('\n');
+  }
+}
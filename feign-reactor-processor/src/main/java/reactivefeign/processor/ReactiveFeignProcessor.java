@@ -0,0 +1,86 @@
+/**
+ * Copyright 2018 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package reactivefeign.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Generates client implementation and metadata for every interface with methods
+ * annotated by feign.RequestLine. Generated class is picked up by ReactiveFeign.Builder at runtime,
+ * so contract is not parsed reflectively and no {@link java.lang.reflect.Proxy} is created.
+ * <p>
+ * Interfaces that use features not supported by generator are skipped with a note,
+ * they still work via reflection.
+ *
+ * @author Sergii Karpenko
+ */
+@SupportedAnnotationTypes(ClientModel.REQUEST_LINE)
+public class ReactiveFeignProcessor extends AbstractProcessor {
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    Set<TypeElement> apiTypes = new LinkedHashSet<>();
+    for (TypeElement annotation : annotations) {
+      for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+        Element enclosing = element.getEnclosingElement();
+        if (element.getKind() == ElementKind.METHOD && enclosing.getKind() == ElementKind.INTERFACE) {
+          apiTypes.add((TypeElement) enclosing);
+        }
+      }
+    }
+
+    for (TypeElement apiType : apiTypes) {
+      try {
+        ClientModel model = ClientModel.parse(apiType, processingEnv);
+        write(model, apiType);
+      } catch (ClientModel.UnsupportedException e) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+            "Reactive feign client is not generated, reflection will be used: " + e.getMessage(),
+            apiType);
+      }
+    }
+    // feign annotations are not claimed, other processors may use them
+    return false;
+  }
+
+  private void write(ClientModel model, TypeElement apiType) {
+    try {
+      JavaFileObject file = processingEnv.getFiler()
+          .createSourceFile(model.qualifiedClassName(), apiType);
+      try (Writer writer = file.openWriter()) {
+        writer.write(new ClientSourceWriter(model).write());
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Can't write reactive feign client: " + e.getMessage(), apiType);
+    }
+  }
+}
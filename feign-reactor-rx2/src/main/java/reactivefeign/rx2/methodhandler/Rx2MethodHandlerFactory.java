@@ -7,8 +7,12 @@ import reactivefeign.methodhandler.DefaultMethodHandler;
 import reactivefeign.methodhandler.MethodHandler;
 import reactivefeign.methodhandler.MethodHandlerFactory;
 import reactivefeign.publisher.PublisherClientFactory;
+import reactivefeign.publisher.PublisherHttpClient;
+import reactivefeign.template.CompiledRequestTemplate;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.function.Function;
 
 import static reactivefeign.utils.FeignUtils.returnPublisherType;
 
@@ -25,11 +29,19 @@ public class Rx2MethodHandlerFactory implements MethodHandlerFactory {
 
     @Override
     public MethodHandler create(final Target target, final MethodMetadata metadata) {
-        MethodHandler methodHandler = new Rx2PublisherClientMethodHandler(
-                target, metadata, publisherClientFactory.apply(metadata),
-                backpressureStrategy);
+        return compile(metadata).apply(target);
+    }
 
-        return new Rx2MethodHandler(methodHandler, returnPublisherType(metadata));
+    @Override
+    public Function<Target, MethodHandler> compile(final MethodMetadata metadata) {
+        CompiledRequestTemplate requestTemplate = CompiledRequestTemplate.compile(metadata);
+        PublisherHttpClient publisherClient = publisherClientFactory.apply(metadata);
+        Type returnPublisherType = returnPublisherType(metadata);
+
+        return target -> new Rx2MethodHandler(
+                new Rx2PublisherClientMethodHandler(
+                        target, requestTemplate, publisherClient, backpressureStrategy),
+                returnPublisherType);
     }
 
     @Override
@@ -6,6 +6,7 @@ import io.reactivex.*;
 import org.reactivestreams.Publisher;
 import reactivefeign.methodhandler.PublisherClientMethodHandler;
 import reactivefeign.publisher.PublisherHttpClient;
+import reactivefeign.template.CompiledRequestTemplate;
 import reactor.core.publisher.Mono;
 
 import static reactor.adapter.rxjava.RxJava2Adapter.*;
@@ -21,6 +22,13 @@ public class Rx2PublisherClientMethodHandler extends PublisherClientMethodHandle
         this.backpressureStrategy = backpressureStrategy;
     }
 
+    public Rx2PublisherClientMethodHandler(
+            Target target, CompiledRequestTemplate requestTemplate,
+            PublisherHttpClient publisherClient, BackpressureStrategy backpressureStrategy) {
+        super(target, requestTemplate, publisherClient);
+        this.backpressureStrategy = backpressureStrategy;
+    }
+
     @Override
     protected Publisher<Object> body(Object body) {
         if (body instanceof Flowable) {
@@ -91,8 +91,11 @@ public class WebReactiveHttpClient implements ReactiveHttpClient {
                 : BodyInserters.empty();
 	}
 
+	/**
+	 * Values are copied as header lists of request may be shared between requests and read only
+	 */
 	protected void setUpHeaders(ReactiveHttpRequest request, HttpHeaders httpHeaders) {
-		request.headers().forEach(httpHeaders::put);
+		request.headers().forEach(httpHeaders::addAll);
 	}
 
 }
@@ -3,6 +3,9 @@ package reactivefeign.webclient.client;
 import org.reactivestreams.Publisher;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.web.reactive.function.BodyExtractors;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import reactivefeign.client.ReactiveHttpResponse;
 import reactor.core.publisher.Flux;
@@ -12,6 +15,8 @@ import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 
+import static reactivefeign.utils.BodyUtils.joinLimited;
+
 class WebReactiveHttpResponse implements ReactiveHttpResponse{
 
 	private final ClientResponse clientResponse;
@@ -52,4 +57,10 @@ class WebReactiveHttpResponse implements ReactiveHttpResponse{
 				.map(ByteArrayResource::getByteArray)
 				.defaultIfEmpty(new byte[0]);
 	}
+
+	@Override
+	public Mono<byte[]> bodyData(int maxBytes) {
+		return joinLimited(clientResponse.body(BodyExtractors.toDataBuffers()),
+				DataBuffer::asByteBuffer, DataBufferUtils::release, maxBytes);
+	}
 }